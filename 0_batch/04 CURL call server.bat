@@ -15,6 +15,17 @@
 %CURL% "%SITE%/company/departments"
 @echo.
 
+%HR_YELLOW%
+@powershell -Command Write-Host "GET first page of departments" -foreground "Green"
+%CURL% "%SITE%/company/departments?count=10&cursor=0"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "GET department by name and departments by name prefix" -foreground "Green"
+%CURL% "%SITE%/company/departments?name=D-Name-1"
+%CURL% "%SITE%/company/departments?namePrefix=D-Name-&count=10"
+@echo.
+
 %HR_YELLOW%
 @powershell -Command Write-Host "GET department by department key" -foreground "Green"
 %CURL% "%SITE%/company/departments/K-DEP-1"
@@ -25,10 +36,29 @@
 %CURL% "%SITE%/company/departments/K-DEP-1/employees?firstName=EF-Name-101&lastName=EL-Name-101"
 @echo.
 
+%HR_YELLOW%
+@powershell -Command Write-Host "GET page of employees by department key" -foreground "Green"
+%CURL% "%SITE%/company/departments/K-DEP-1/employees?offset=0&limit=10"
+%CURL% "%SITE%/company/departments/K-DEP-1/employees?lastNamePrefix=EL-Name-10&limit=5"
+curl -g -i -N -H "Accept: application/x-ndjson" "%SITE%/company/departments/K-DEP-1/employees?firstNamePrefix=EF-Name-1"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "GET department cache and employee index statistics" -foreground "Green"
+%CURL% "%SITE%/company/cache/departments"
+%CURL% "%SITE%/company/cache/employees"
+@echo.
+
 %HR_YELLOW%
 @powershell -Command Write-Host "GET all teams" -foreground "Green"
 %CURL% "%SITE%/company/teams"
 @echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "GET all departments and all teams streamed as NDJSON" -foreground "Green"
+curl -g -i -N -H "Accept: application/x-ndjson" "%SITE%/company/departments"
+curl -g -i -N -H "Accept: application/x-ndjson" "%SITE%/company/teams"
+@echo.
 	
 %HR_YELLOW%
 @powershell -Command Write-Host "GET teams by ranges" -foreground "Green"
@@ -40,6 +70,28 @@
 %CURL% "%SITE%/company/teams/rank?id=1"
 @echo.
 
+%HR_YELLOW%
+@powershell -Command Write-Host "POST team ids and get their ranks and scores in one batch" -foreground "Green"
+%CURL% -X POST -d "[1,3,5]" "%SITE%/company/teams/rank"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "POST team score increments and GET the ingestion statistics" -foreground "Green"
+%CURL% -X POST -d "[{\"teamId\":1,\"delta\":2},{\"teamId\":1,\"delta\":3},{\"teamId\":2,\"delta\":1}]" "%SITE%/company/teams/scores"
+%CURL% "%SITE%/company/teams/scores/statistics"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "Stream the team leaderboard changes as SSE for 10 seconds" -foreground "Green"
+curl -g -i -N -m 10 -H "Accept: text/event-stream" "%SITE%/company/teams/changes"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "GET teams leaderboard: top 3 and the second page of 2" -foreground "Green"
+%CURL% "%SITE%/company/teams/leaderboard?limit=3"
+%CURL% "%SITE%/company/teams/leaderboard?offset=2&limit=2"
+@echo.
+
 %HR_YELLOW%
 @powershell -Command Write-Host "GET unknown department. Receiving error response [404 Not Found]" -foreground "Magenta"
 %CURL% "%SITE%/company/departments/K-DEP-12345"
@@ -71,6 +123,35 @@
 %CURL% "%SITE%/company/teams/rank?id=ABC"
 @echo.
 
+%HR_YELLOW%
+@powershell -Command Write-Host "GET teams leaderboard with bad limit. Receiving error response [400 Bad Request]" -foreground "Magenta"
+%CURL% "%SITE%/company/teams/leaderboard?limit=0"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "Load scaled synthetic dataset and restore sample dataset" -foreground "Green"
+%CURL% "%SITE%/loadSampleDataset?departments=100000&employeesPerDepartment=10&teams=1000000"
+%CURL% "%SITE%/loadSampleDataset"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "POST migration of departments to configured storage layout" -foreground "Green"
+%CURL% -X POST "%SITE%/company/storage/migration"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "GET teams with gzip and ETag ('prod' profile). Repeat with the received ETag for [304 Not Modified]" -foreground "Green"
+curl -s -i --compressed "%SITE%/company/teams" | findstr /B /I "HTTP ETag Content-Encoding"
+curl -s -i -H "If-None-Match: *" "%SITE%/company/teams" | findstr /B /I "HTTP ETag"
+@echo.
+
+%HR_YELLOW%
+@powershell -Command Write-Host "GET route timers and Redis command timers" -foreground "Green"
+%CURL% "%SITE%/actuator/metrics/company.route.requests"
+%CURL% "%SITE%/actuator/metrics/company.redis.commands"
+curl -s "%SITE%/actuator/prometheus" | findstr /B "company_"
+@echo.
+
 %HR_RED%
 @powershell -Command Write-Host "FINISH" -foreground "Red"
 pause
@@ -0,0 +1,8 @@
+@echo off
+set JAVA_HOME=C:\PROGRA~1\JAVA\JDK-25
+set M2_HOME=c:\tools\apache-maven
+pushd %cd%
+cd ..
+call %M2_HOME%\bin\mvn compile exec:java -Dclient.mode=load -Dload.rate=200 -Dload.warmup=PT10S -Dload.duration=PT30S -Dload.maxInFlight=512
+pause
+popd
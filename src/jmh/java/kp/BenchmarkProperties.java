@@ -0,0 +1,30 @@
+package kp;
+
+import kp.company.configuration.properties.CompanyProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+/**
+ * The {@link CompanyProperties} used by the benchmarks.
+ * <p>
+ * The properties are bound like in the application, so the absent entries get their default values.
+ * </p>
+ */
+public final class BenchmarkProperties {
+
+    private BenchmarkProperties() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates the {@link CompanyProperties}.
+     *
+     * @param entries the property entries, e.g. 'company.departments.batch-size'
+     * @return the {@link CompanyProperties}
+     */
+    public static CompanyProperties create(Map<String, Object> entries) {
+        return new Binder(new MapConfigurationPropertySource(entries)).bindOrCreate("company", CompanyProperties.class);
+    }
+}
@@ -0,0 +1,34 @@
+package kp;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * The local Redis used by the benchmarks.
+ * <p>
+ * The host and the port are taken from the system properties 'redis.host' and 'redis.port'.
+ * The benchmarks flush the database, so never point them at a shared Redis.
+ * </p>
+ */
+public final class LocalRedis {
+    private static final String HOST = System.getProperty("redis.host", "localhost");
+    private static final int PORT = Integer.getInteger("redis.port", 6379);
+
+    private LocalRedis() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates the started {@link LettuceConnectionFactory} for the local Redis.
+     *
+     * @return the {@link LettuceConnectionFactory}
+     */
+    public static LettuceConnectionFactory createConnectionFactory() {
+
+        final LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(HOST, PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        return connectionFactory;
+    }
+}
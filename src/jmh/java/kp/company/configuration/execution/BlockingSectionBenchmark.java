@@ -0,0 +1,152 @@
+package kp.company.configuration.execution;
+
+import kp.company.configuration.properties.CompanyProperties.BlockingScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The benchmark of the execution models of the section waiting for the I/O.
+ * <p>
+ * Runs the batch of the requests with the given number of the requests in flight. Every request waits
+ * for the I/O of the fixed latency and then does a small computation on the event loop:
+ * </p>
+ * <ul>
+ * <li>'EVENT_LOOP' - the reactive section, the wait is the non-blocking timer and the event loop is never blocked</li>
+ * <li>'BOUNDED_ELASTIC' - the blocking section subscribed on the bounded pool of the platform threads</li>
+ * <li>'VIRTUAL_THREADS' - the blocking section subscribed on the virtual threads</li>
+ * </ul>
+ * <p>
+ * The blocking schedulers are created by the {@link BlockingSchedulerConfiguration} like in the application.
+ * The time per operation is the time of the whole batch, the requests per second are the batch size divided by it.
+ * The bounded pool caps the requests in flight at ten times the number of the cores, so with the higher
+ * concurrency its time grows while the reactive and the virtual thread sections stay near the latency bound.
+ * The allocation per batch is reported by the 'gc' profiler.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingSectionBenchmark {
+
+    private static final int REQUEST_COUNT = 2_000;
+    private static final Duration IO_LATENCY = Duration.ofMillis(1);
+
+    @Param({"EVENT_LOOP", "BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    public ExecutionMode executionMode;
+
+    @Param({"16", "256", "1024"})
+    public int concurrency;
+
+    private Scheduler eventLoopScheduler;
+    private Scheduler blockingScheduler;
+
+    /**
+     * The execution model of the section.
+     */
+    public enum ExecutionMode {
+        /**
+         * The reactive section on the event loop only.
+         */
+        EVENT_LOOP,
+        /**
+         * The blocking section on the bounded elastic scheduler.
+         */
+        BOUNDED_ELASTIC,
+        /**
+         * The blocking section on the virtual threads.
+         */
+        VIRTUAL_THREADS
+    }
+
+    /**
+     * Creates the schedulers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        eventLoopScheduler = Schedulers.newParallel("event-loop", Runtime.getRuntime().availableProcessors());
+        blockingScheduler = switch (executionMode) {
+            case EVENT_LOOP -> null;
+            case BOUNDED_ELASTIC -> BlockingSchedulerConfiguration.createScheduler(BlockingScheduler.BOUNDED_ELASTIC);
+            case VIRTUAL_THREADS -> BlockingSchedulerConfiguration.createScheduler(BlockingScheduler.VIRTUAL_THREADS);
+        };
+    }
+
+    /**
+     * Disposes the schedulers.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        eventLoopScheduler.dispose();
+        if (blockingScheduler != null) {
+            blockingScheduler.dispose();
+        }
+    }
+
+    /**
+     * Runs the batch of the requests.
+     *
+     * @return the sum of the computed results
+     */
+    @Benchmark
+    public Long handleRequests() {
+
+        return Flux.range(0, REQUEST_COUNT)
+                .flatMap(this::handleRequest, concurrency)
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    /**
+     * Handles one request.
+     *
+     * @param index the request index
+     * @return the {@link Mono} with the computed result
+     */
+    private Mono<Long> handleRequest(int index) {
+
+        if (blockingScheduler == null) {
+            return Mono.delay(IO_LATENCY, eventLoopScheduler).map(_ -> compute(index));
+        }
+        return Mono.fromCallable(() -> {
+                    LockSupport.parkNanos(IO_LATENCY.toNanos());
+                    return index;
+                })
+                .subscribeOn(blockingScheduler)
+                .publishOn(eventLoopScheduler)
+                .map(BlockingSectionBenchmark::compute);
+    }
+
+    /**
+     * Computes the result of the request.
+     *
+     * @param index the request index
+     * @return the result
+     */
+    private static long compute(int index) {
+        return Long.rotateLeft(index * 0x9E3779B97F4A7C15L, index & 63);
+    }
+}
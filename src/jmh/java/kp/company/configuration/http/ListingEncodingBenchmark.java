@@ -0,0 +1,144 @@
+package kp.company.configuration.http;
+
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.Team;
+import kp.company.domain.TeamTuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static kp.Constants.*;
+
+/**
+ * The benchmark of the encoding of the {@link Department} and {@link Team} listings sent by the handlers.
+ * <p>
+ * Encodes the listing with the indented JSON (the default profile) and with the compact JSON (the 'prod' profile),
+ * without the compression and with the gzip compression (the default level, as the server compression).
+ * The time per operation is the CPU time spent on one listing response.
+ * The bytes on the wire of every setting are logged in the setup of every trial.
+ * The 'Not Modified' response of the {@link ListingETagFilter} skips this encoding entirely.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListingEncodingBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int EMPLOYEES_PER_DEPARTMENT = 2;
+    private static final int GZIP_BUFFER_SIZE = 8_192;
+
+    @Param({"100", "1000"})
+    public int recordCount;
+
+    @Param({"true", "false"})
+    public boolean indentOutput;
+
+    @Param({"NONE", "GZIP"})
+    public Compression compression;
+
+    private JsonMapper jsonMapper;
+    private List<Department> departments;
+    private List<TeamTuple> teamTuples;
+
+    /**
+     * The compression of the response body.
+     */
+    public enum Compression {
+        /**
+         * No compression.
+         */
+        NONE,
+        /**
+         * The gzip compression.
+         */
+        GZIP
+    }
+
+    /**
+     * Creates the listings and logs their encoded sizes.
+     *
+     * @throws IOException if the compression fails
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+
+        jsonMapper = JsonMapper.builder().configure(SerializationFeature.INDENT_OUTPUT, indentOutput).build();
+        departments = IntStream.rangeClosed(1, recordCount)
+                .mapToObj(depIndex -> new Department(DEP_NAME_FUN.apply(depIndex), IntStream
+                        .rangeClosed(EMP_INDEX_LOWER_BOUND, EMPLOYEES_PER_DEPARTMENT)
+                        .mapToObj(empIndex -> Employee.fromIndex(EMP_INDEX_FUN.applyAsInt(depIndex, empIndex)))
+                        .toList()))
+                .toList();
+        teamTuples = IntStream.rangeClosed(TEAM_ID_LOWER_BOUND, recordCount)
+                .mapToObj(id -> new TeamTuple(new Team(id), id)).toList();
+        logger.info("setup(): records[{}], indentOutput[{}], compression[{}], departments bytes[{}], teams bytes[{}]",
+                recordCount, indentOutput, compression, encodeDepartments().length, encodeTeams().length);
+    }
+
+    /**
+     * Encodes the {@link Department}s listing.
+     *
+     * @return the response body
+     * @throws IOException if the compression fails
+     */
+    @Benchmark
+    public byte[] encodeDepartments() throws IOException {
+        return compress(jsonMapper.writeValueAsBytes(departments));
+    }
+
+    /**
+     * Encodes the {@link Team}s listing.
+     *
+     * @return the response body
+     * @throws IOException if the compression fails
+     */
+    @Benchmark
+    public byte[] encodeTeams() throws IOException {
+        return compress(jsonMapper.writeValueAsBytes(teamTuples));
+    }
+
+    /**
+     * Compresses the encoded listing.
+     *
+     * @param json the encoded listing
+     * @return the response body
+     * @throws IOException if the compression fails
+     */
+    private byte[] compress(byte[] json) throws IOException {
+
+        if (compression == Compression.NONE) {
+            return json;
+        }
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE)) {
+            gzipOutputStream.write(json);
+        }
+        return outputStream.toByteArray();
+    }
+}
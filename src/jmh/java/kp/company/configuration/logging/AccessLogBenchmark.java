@@ -0,0 +1,81 @@
+package kp.company.configuration.logging;
+
+import kp.BenchmarkProperties;
+import org.jspecify.annotations.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link AccessLogFilter} benchmark.
+ * <p>
+ * Handles the request through the access log filter from several threads, with the access log disabled,
+ * sampled and written for every request. The handler returns the ready response, so only the cost of the
+ * filter and of the logging is measured. The access log goes through the asynchronous appender of 'logback.xml',
+ * so the written lines are printed among the benchmark results.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    @Param({"false", "true"})
+    public boolean accessLogEnabled;
+
+    @Param({"0.01", "1"})
+    public double sampleRate;
+
+    private AccessLogFilter accessLogFilter;
+    private ServerRequest request;
+    private HandlerFunction<@NonNull ServerResponse> handlerFunction;
+
+    /**
+     * Creates the {@link AccessLogFilter} and the request.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        accessLogFilter = new AccessLogFilter(BenchmarkProperties.create(Map.of(
+                "company.access-log.enabled", accessLogEnabled, "company.access-log.sample-rate", sampleRate)));
+        request = MockServerRequest.builder().method(HttpMethod.GET).uri(URI.create(GET_DEPARTMENTS_PATH)).build();
+        final Mono<ServerResponse> responseMono = ServerResponse.ok().build().cache();
+        handlerFunction = _ -> responseMono;
+    }
+
+    /**
+     * Handles the request through the {@link AccessLogFilter}.
+     *
+     * @return the {@link ServerResponse}
+     */
+    @Benchmark
+    public ServerResponse handle() {
+        return accessLogFilter.filter(request, handlerFunction).block();
+    }
+}
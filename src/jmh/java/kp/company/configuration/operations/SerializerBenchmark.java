@@ -0,0 +1,148 @@
+package kp.company.configuration.operations;
+
+import kp.company.configuration.properties.CompanyProperties.Serialization;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.Team;
+import org.jspecify.annotations.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static kp.Constants.DEP_NAME_FUN;
+
+/**
+ * The benchmark of the value serializers created by the {@link RedisOperationsCreator}.
+ * <p>
+ * Encodes and decodes the {@link Department} with a growing number of {@link Employee}s and the {@link Team},
+ * with the JSON serialization and with the compact binary serialization.
+ * The encoded size (the bytes per record) is logged in the setup of every trial.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /**
+     * The {@link Department} serializer state.
+     */
+    @State(Scope.Benchmark)
+    public static class DepartmentState {
+
+        @Param({"2", "100", "10000"})
+        public int employeeCount;
+
+        @Param({"JSON", "COMPACT"})
+        public Serialization serialization;
+
+        private SerializationPair<@NonNull Department> pair;
+        private Department department;
+        private ByteBuffer buffer;
+
+        /**
+         * Creates the serializer and the encoded {@link Department}.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+
+            pair = new RedisOperationsCreator().createDepartmentSerializationContext(serialization)
+                    .getValueSerializationPair();
+            department = new Department(DEP_NAME_FUN.apply(1),
+                    IntStream.rangeClosed(1, employeeCount).mapToObj(Employee::fromIndex).toList());
+            buffer = pair.write(department);
+            logger.info("setup(): department employees[{}], serialization[{}], bytes[{}]",
+                    employeeCount, serialization, buffer.remaining());
+        }
+    }
+
+    /**
+     * The {@link Team} serializer state.
+     */
+    @State(Scope.Benchmark)
+    public static class TeamState {
+
+        @Param({"JSON", "COMPACT"})
+        public Serialization serialization;
+
+        private SerializationPair<@NonNull Team> pair;
+        private final Team team = new Team(12_345);
+        private ByteBuffer buffer;
+
+        /**
+         * Creates the serializer and the encoded {@link Team}.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+
+            pair = new RedisOperationsCreator().createTeamSerializationContext(serialization)
+                    .getValueSerializationPair();
+            buffer = pair.write(team);
+            logger.info("setup(): team, serialization[{}], bytes[{}]", serialization, buffer.remaining());
+        }
+    }
+
+    /**
+     * Encodes the {@link Department}.
+     *
+     * @param state the {@link DepartmentState}
+     * @return the encoded {@link Department}
+     */
+    @Benchmark
+    public ByteBuffer encodeDepartment(DepartmentState state) {
+        return state.pair.write(state.department);
+    }
+
+    /**
+     * Decodes the {@link Department}.
+     *
+     * @param state the {@link DepartmentState}
+     * @return the decoded {@link Department}
+     */
+    @Benchmark
+    public Department decodeDepartment(DepartmentState state) {
+        return state.pair.read(state.buffer.duplicate());
+    }
+
+    /**
+     * Encodes the {@link Team}.
+     *
+     * @param state the {@link TeamState}
+     * @return the encoded {@link Team}
+     */
+    @Benchmark
+    public ByteBuffer encodeTeam(TeamState state) {
+        return state.pair.write(state.team);
+    }
+
+    /**
+     * Decodes the {@link Team}.
+     *
+     * @param state the {@link TeamState}
+     * @return the decoded {@link Team}
+     */
+    @Benchmark
+    public Team decodeTeam(TeamState state) {
+        return state.pair.read(state.buffer.duplicate());
+    }
+}
@@ -0,0 +1,116 @@
+package kp.company.handlers;
+
+import kp.BenchmarkProperties;
+import kp.LocalRedis;
+import kp.company.configuration.operations.KeyScanner;
+import kp.company.configuration.operations.RedisOperationsCreator;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.services.DepartmentCache;
+import kp.company.services.DepartmentPassThrough;
+import kp.company.services.DepartmentStore;
+import org.jspecify.annotations.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link DepartmentHandler} benchmark.
+ * <p>
+ * Lists all {@link Department}s from the local Redis with one GET per key (batch size 1)
+ * and with MGET windows of growing size. One operation lists the whole keyspace,
+ * so the departments per second are the score multiplied by the department count.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class DepartmentHandlerBenchmark {
+
+    private static final int LOADING_CHUNK_SIZE = 1_000;
+
+    @Param({"1000", "10000", "50000"})
+    public int departmentCount;
+
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private LettuceConnectionFactory connectionFactory;
+    private DepartmentHandler departmentHandler;
+
+    /**
+     * Loads the {@link Department}s into the local Redis.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        connectionFactory = LocalRedis.createConnectionFactory();
+        final CompanyProperties companyProperties =
+                BenchmarkProperties.create(Map.of("company.departments.batch-size", batchSize));
+        final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations =
+                new RedisOperationsCreator().createRedisOperationsForDepartment(connectionFactory, companyProperties);
+        reactiveRedisOperations.execute(connection -> connection.serverCommands().flushDb()).blockLast();
+        Flux.range(1, departmentCount)
+                .map(depIndex -> Map.entry(DEP_KEY_FUN.apply(depIndex), new Department(DEP_NAME_FUN.apply(depIndex),
+                        List.of(Employee.fromIndex(EMP_INDEX_FUN.applyAsInt(depIndex, EMP_INDEX_LOWER_BOUND))))))
+                .buffer(LOADING_CHUNK_SIZE)
+                .concatMap(chunk -> reactiveRedisOperations.opsForValue().multiSet(chunk.stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))))
+                .blockLast();
+        final RedisOperationsCreator redisOperationsCreator = new RedisOperationsCreator();
+        final DepartmentStore departmentStore = new DepartmentStore(reactiveRedisOperations,
+                redisOperationsCreator.createRedisOperationsForDepartmentNameIndex(connectionFactory),
+                redisOperationsCreator.createRedisOperationsForEmployeeList(connectionFactory, companyProperties),
+                companyProperties);
+        departmentHandler = new DepartmentHandler(departmentStore,
+                redisOperationsCreator.createRedisOperationsForDepartmentNameIndex(connectionFactory),
+                redisOperationsCreator.createRedisOperationsForDepartmentNameLexIndex(connectionFactory),
+                new KeyScanner(connectionFactory, Schedulers.boundedElastic(), companyProperties),
+                new DepartmentCache(departmentStore, connectionFactory, companyProperties),
+                new DepartmentPassThrough(redisOperationsCreator.createRedisOperationsForRawValues(connectionFactory),
+                        companyProperties), companyProperties);
+    }
+
+    /**
+     * Closes the connection to the local Redis.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * Lists all {@link Department}s.
+     *
+     * @return the number of listed {@link Department}s
+     */
+    @Benchmark
+    public Long findDepartments() {
+        return departmentHandler.findDepartments().count().block();
+    }
+}
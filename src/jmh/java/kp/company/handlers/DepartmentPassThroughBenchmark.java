@@ -0,0 +1,159 @@
+package kp.company.handlers;
+
+import kp.BenchmarkProperties;
+import kp.company.configuration.operations.KeyScanner;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.services.DepartmentCache;
+import kp.company.services.DepartmentPassThrough;
+import kp.company.services.DepartmentStore;
+import org.jspecify.annotations.NonNull;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The benchmark of the {@link DepartmentPassThrough} of the {@link DepartmentHandler}.
+ * <p>
+ * Handles the request for the {@link Department} by its key and writes the response body:
+ * </p>
+ * <ul>
+ * <li>without the pass-through and without the near cache, the stored JSON is decoded and the response encoded</li>
+ * <li>without the pass-through and with the near cache, the cached {@link Department} is encoded</li>
+ * <li>with the pass-through, the stored JSON bytes are wrapped in the response buffer</li>
+ * </ul>
+ * <p>
+ * The stubbed Redis operations return the stored JSON bytes without the Redis round trip,
+ * so the score covers the CPU of the handling. The allocation per request is reported by the 'gc' profiler.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentPassThroughBenchmark {
+
+    private static final int DEP_INDEX = 1;
+
+    @Param({"2", "100", "1000"})
+    public int employeeCount;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    @Param({"false", "true"})
+    public boolean passThrough;
+
+    private DepartmentHandler departmentHandler;
+    private List<HttpMessageReader<?>> messageReaders;
+    private ServerResponse.Context context;
+
+    /**
+     * Creates the {@link DepartmentHandler} with the stubbed Redis operations.
+     */
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        final JacksonJsonRedisSerializer<@NonNull Department> serializer =
+                new JacksonJsonRedisSerializer<>(Department.class);
+        final byte[] storedBytes = serializer.serialize(new Department(DEP_NAME_FUN.apply(DEP_INDEX),
+                IntStream.rangeClosed(1, employeeCount)
+                        .mapToObj(empIndex -> Employee.fromIndex(EMP_INDEX_FUN.applyAsInt(DEP_INDEX, empIndex)))
+                        .toList()));
+
+        final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations =
+                Mockito.mock(ReactiveRedisOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveValueOperations<@NonNull String, @NonNull Department> reactiveValueOperations =
+                Mockito.mock(ReactiveValueOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveValueOperations<String, byte[]> rawValueOperations =
+                Mockito.mock(ReactiveValueOperations.class, Mockito.withSettings().stubOnly());
+        Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(reactiveValueOperations);
+        Mockito.when(reactiveValueOperations.get(Mockito.anyString()))
+                .thenAnswer(_ -> Mono.fromSupplier(() -> serializer.deserialize(storedBytes)));
+        Mockito.when(rawValueOperations.get(Mockito.anyString())).thenAnswer(_ -> Mono.just(storedBytes));
+
+        final CompanyProperties companyProperties = BenchmarkProperties.create(Map.of(
+                "company.cache.enabled", cacheEnabled, "company.cache.listener-enabled", false,
+                "company.departments.pass-through", passThrough));
+        final ReactiveHashOperations<String, String, String> nameIndexOperations =
+                Mockito.mock(ReactiveHashOperations.class, Mockito.withSettings().stubOnly());
+        final DepartmentStore departmentStore = new DepartmentStore(reactiveRedisOperations, nameIndexOperations,
+                Mockito.mock(ReactiveListOperations.class, Mockito.withSettings().stubOnly()), companyProperties);
+        departmentHandler = new DepartmentHandler(departmentStore, nameIndexOperations,
+                Mockito.mock(ReactiveZSetOperations.class, Mockito.withSettings().stubOnly()),
+                Mockito.mock(KeyScanner.class), new DepartmentCache(departmentStore,
+                Mockito.mock(ReactiveRedisConnectionFactory.class), companyProperties),
+                new DepartmentPassThrough(rawValueOperations, companyProperties), companyProperties);
+        final HandlerStrategies strategies = HandlerStrategies.withDefaults();
+        messageReaders = strategies.messageReaders();
+        context = new ServerResponse.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return strategies.messageWriters();
+            }
+
+            @Override
+            public List<ViewResolver> viewResolvers() {
+                return strategies.viewResolvers();
+            }
+        };
+    }
+
+    /**
+     * Handles the request for the {@link Department} by its key and writes the response body.
+     *
+     * @return the written response
+     */
+    @Benchmark
+    public MockServerHttpResponse getDepartmentByKey() {
+
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(
+                GET_DEPARTMENT_PATH.replace("{%s}".formatted(DEPARTMENT_KEY_VAR), DEP_KEY_FUN.apply(DEP_INDEX))));
+        exchange.getAttributes().put(RouterFunctions.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                Map.of(DEPARTMENT_KEY_VAR, DEP_KEY_FUN.apply(DEP_INDEX)));
+        final ServerRequest request = ServerRequest.create(exchange, messageReaders);
+        departmentHandler.handleDepartmentByDepartmentKey(request)
+                .flatMap(response -> response.writeTo(exchange, context))
+                .block();
+        return exchange.getResponse();
+    }
+}
@@ -0,0 +1,71 @@
+package kp.company.handlers;
+
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The benchmark of the {@link EmployeeHandler} response mapper.
+ * <p>
+ * Filters the {@link Employee}s of the {@link Department} by the names of its last {@link Employee},
+ * which is the worst case of the linear search.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeHandlerBenchmark {
+
+    @Param({"2", "100", "10000"})
+    public int employeeCount;
+
+    private Department department;
+    private Function<Department, Mono<ServerResponse>> responseMapper;
+
+    /**
+     * Creates the {@link Department} and the response mapper.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        department = new Department(DEP_NAME_FUN.apply(1),
+                IntStream.rangeClosed(1, employeeCount).mapToObj(Employee::fromIndex).toList());
+        final Employee lastEmployee = department.employees().getLast();
+        responseMapper = EmployeeHandler.getResponseMapper(MockServerRequest.builder()
+                .queryParam(EMPLOYEE_FIRST_NAME_VAR, lastEmployee.firstName())
+                .queryParam(EMPLOYEE_LAST_NAME_VAR, lastEmployee.lastName()).build());
+    }
+
+    /**
+     * Finds the last {@link Employee}.
+     *
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    @Benchmark
+    public Mono<ServerResponse> findLastEmployee() {
+        return responseMapper.apply(department);
+    }
+}
@@ -0,0 +1,231 @@
+package kp.company.handlers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kp.BenchmarkProperties;
+import kp.company.configuration.http.ListingETagFilter;
+import kp.company.configuration.logging.AccessLogFilter;
+import kp.company.configuration.metrics.RouteMetricsFilter;
+import kp.company.configuration.operations.KeyScanner;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.configuration.routers.CompanyRouter;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.Team;
+import kp.company.services.DepartmentCache;
+import kp.company.services.DepartmentPassThrough;
+import kp.company.services.DepartmentStore;
+import kp.company.services.ListingVersions;
+import kp.company.services.TeamChangeFeed;
+import kp.company.services.TeamScoreCoalescer;
+import org.jspecify.annotations.NonNull;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The end-to-end throughput benchmark of the handlers.
+ * <p>
+ * The requests go through the router function and the handlers to the stubbed Redis operations,
+ * so the score covers the routing, the handling, and the JSON encoding without the Redis round trips.
+ * The stubs are 'stub only' mocks, they do not record the invocations.
+ * The {@link Employee} is found in the stubbed {@link Employee} index.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandlersThroughputBenchmark {
+
+    private static final int EMPLOYEES_PER_DEPARTMENT = 10;
+
+    @Param({"10", "1000"})
+    public int departmentCount;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private WebTestClient webTestClient;
+    private String departmentUri;
+    private String employeeUri;
+
+    /**
+     * Creates the handlers with the stubbed Redis operations.
+     */
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        final Map<String, Department> departmentMap = IntStream.rangeClosed(1, departmentCount).boxed()
+                .collect(Collectors.toMap(DEP_KEY_FUN::apply, depIndex -> new Department(DEP_NAME_FUN.apply(depIndex),
+                        IntStream.rangeClosed(1, EMPLOYEES_PER_DEPARTMENT)
+                                .mapToObj(empIndex -> Employee.fromIndex(EMP_INDEX_FUN.applyAsInt(depIndex, empIndex)))
+                                .toList())));
+        final List<String> keys = List.copyOf(departmentMap.keySet());
+        final Map<String, Map<String, Employee>> employeeIndexMap = departmentMap.entrySet().stream()
+                .collect(Collectors.toMap(entry -> EMP_INDEX_KEY_FUN.apply(entry.getKey()),
+                        entry -> entry.getValue().employees().stream().collect(Collectors.toMap(
+                                employee -> EMP_INDEX_FIELD_FUN.apply(employee.firstName(), employee.lastName()),
+                                employee -> employee))));
+        final List<TypedTuple<Team>> teamTuples = IntStream.rangeClosed(TEAM_ID_LOWER_BOUND, TEAMS_COUNT)
+                .mapToObj(id -> TypedTuple.of(new Team(id), (double) id)).toList();
+
+        final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations =
+                Mockito.mock(ReactiveRedisOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveValueOperations<@NonNull String, @NonNull Department> reactiveValueOperations =
+                Mockito.mock(ReactiveValueOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveZSetOperations<String, Team> reactiveZSetOperations =
+                Mockito.mock(ReactiveZSetOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveHashOperations<String, String, Employee> employeeIndexOperations =
+                Mockito.mock(ReactiveHashOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveHashOperations<String, String, String> nameIndexOperations =
+                Mockito.mock(ReactiveHashOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveZSetOperations<String, String> nameLexIndexOperations =
+                Mockito.mock(ReactiveZSetOperations.class, Mockito.withSettings().stubOnly());
+        final ReactiveHashOperations<String, String, String> listingVersionsOperations =
+                Mockito.mock(ReactiveHashOperations.class, Mockito.withSettings().stubOnly());
+        Mockito.when(listingVersionsOperations.get(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.empty());
+        Mockito.when(listingVersionsOperations.putAll(Mockito.anyString(), Mockito.anyMap()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(reactiveValueOperations);
+        Mockito.when(reactiveRedisOperations.scan(Mockito.any(ScanOptions.class)))
+                .thenAnswer(_ -> Flux.fromIterable(keys));
+        Mockito.when(reactiveValueOperations.get(Mockito.anyString()))
+                .thenAnswer(invocation -> Mono.justOrEmpty(departmentMap.get(invocation.<String>getArgument(0))));
+        Mockito.when(reactiveValueOperations.multiGet(Mockito.anyCollection()))
+                .thenAnswer(invocation -> Mono.just(invocation.<Collection<String>>getArgument(0).stream()
+                        .map(departmentMap::get).toList()));
+        Mockito.when(reactiveZSetOperations.scan(TEAMS_KEY)).thenAnswer(_ -> Flux.fromIterable(teamTuples));
+        Mockito.when(employeeIndexOperations.get(Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> Mono.justOrEmpty(employeeIndexMap
+                        .getOrDefault(invocation.<String>getArgument(0), Map.of())
+                        .get(invocation.<String>getArgument(1))));
+
+        final CompanyProperties companyProperties = BenchmarkProperties.create(Map.of(
+                "company.cache.enabled", cacheEnabled, "company.cache.listener-enabled", false));
+        final DepartmentStore departmentStore = new DepartmentStore(reactiveRedisOperations, nameIndexOperations,
+                Mockito.mock(ReactiveListOperations.class, Mockito.withSettings().stubOnly()), companyProperties);
+        final DepartmentCache departmentCache = new DepartmentCache(departmentStore,
+                Mockito.mock(ReactiveRedisConnectionFactory.class), companyProperties);
+        final TeamChangeFeed teamChangeFeed = new TeamChangeFeed(
+                Mockito.mock(ReactiveRedisOperations.class, Mockito.withSettings().stubOnly()),
+                reactiveZSetOperations, companyProperties);
+        final ListingVersions listingVersions = new ListingVersions(listingVersionsOperations);
+        webTestClient = WebTestClient.bindToRouterFunction(new CompanyRouter().createRouterFunction(
+                new SampleDatasetHandler(reactiveRedisOperations, departmentStore, reactiveZSetOperations,
+                        employeeIndexOperations, nameIndexOperations, nameLexIndexOperations, departmentCache,
+                        listingVersions, companyProperties),
+                new DepartmentHandler(departmentStore, nameIndexOperations, nameLexIndexOperations,
+                        Mockito.mock(KeyScanner.class), departmentCache, new DepartmentPassThrough(
+                        Mockito.mock(ReactiveValueOperations.class, Mockito.withSettings().stubOnly()),
+                        companyProperties), companyProperties),
+                new EmployeeHandler(departmentCache, employeeIndexOperations, departmentStore, companyProperties),
+                new TeamHandler(reactiveZSetOperations,
+                        new TeamScoreCoalescer(reactiveZSetOperations, teamChangeFeed, listingVersions,
+                                companyProperties), teamChangeFeed),
+                new RouteMetricsFilter(new SimpleMeterRegistry()), new AccessLogFilter(companyProperties),
+                new ListingETagFilter(listingVersions, companyProperties))).build();
+        departmentUri = GET_DEPARTMENT_PATH.replace("{%s}".formatted(DEPARTMENT_KEY_VAR), DEP_KEY_FUN.apply(1));
+        final Employee lastEmployee = departmentMap.get(DEP_KEY_FUN.apply(1)).employees().getLast();
+        employeeUri = "%s?%s=%s&%s=%s".formatted(GET_EMPLOYEE_PATH.replace("{%s}".formatted(DEPARTMENT_KEY_VAR),
+                        DEP_KEY_FUN.apply(1)), EMPLOYEE_FIRST_NAME_VAR, lastEmployee.firstName(),
+                EMPLOYEE_LAST_NAME_VAR, lastEmployee.lastName());
+    }
+
+    /**
+     * Gets all {@link Department}s as the JSON array.
+     *
+     * @return the response body
+     */
+    @Benchmark
+    public byte[] getDepartments() {
+        return exchange(GET_DEPARTMENTS_PATH, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Gets all {@link Department}s as the NDJSON stream.
+     *
+     * @return the response body
+     */
+    @Benchmark
+    public byte[] streamDepartments() {
+        return exchange(GET_DEPARTMENTS_PATH, MediaType.APPLICATION_NDJSON);
+    }
+
+    /**
+     * Gets the {@link Department} by the key, from the near cache when it is enabled.
+     *
+     * @return the response body
+     */
+    @Benchmark
+    public byte[] getDepartment() {
+        return exchange(departmentUri, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Gets the {@link Employee} by the {@link Department}'s key and the {@link Employee}'s names.
+     *
+     * @return the response body
+     */
+    @Benchmark
+    public byte[] getEmployee() {
+        return exchange(employeeUri, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Gets all {@link Team}s.
+     *
+     * @return the response body
+     */
+    @Benchmark
+    public byte[] getTeams() {
+        return exchange(GET_TEAMS_PATH, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Exchanges the request and expects the status 'OK'.
+     *
+     * @param uri       the URI
+     * @param mediaType the accepted {@link MediaType}
+     * @return the response body
+     */
+    private byte[] exchange(String uri, MediaType mediaType) {
+        return webTestClient.get().uri(uri).accept(mediaType).exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBodyContent();
+    }
+}
@@ -0,0 +1,72 @@
+package kp.company.handlers;
+
+import kp.company.domain.Team;
+import kp.company.domain.TeamTuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The benchmark of the {@link TeamHandler} tuple mapping.
+ * <p>
+ * Compares the synchronous 'map' with the former 'flatMap' to one-element {@link Mono}s.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamHandlerBenchmark {
+
+    @Param({"5", "1000", "100000"})
+    public int teamCount;
+
+    private List<TypedTuple<Team>> tuples;
+
+    /**
+     * Creates the Redis tuples.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        tuples = IntStream.rangeClosed(1, teamCount).mapToObj(id -> TypedTuple.of(new Team(id), (double) id)).toList();
+    }
+
+    /**
+     * Maps the tuples with 'map'.
+     *
+     * @return the list of {@link TeamTuple}s
+     */
+    @Benchmark
+    public List<TeamTuple> mapTuples() {
+        return Flux.fromIterable(tuples).map(TeamHandler.TEAM_TUPLE_FUN).collectList().block();
+    }
+
+    /**
+     * Maps the tuples with 'flatMap' to one-element {@link Mono}s.
+     *
+     * @return the list of {@link TeamTuple}s
+     */
+    @Benchmark
+    public List<TeamTuple> flatMapTuples() {
+        return Flux.fromIterable(tuples).flatMap(tuple -> Mono.just(TeamHandler.TEAM_TUPLE_FUN.apply(tuple)))
+                .collectList().block();
+    }
+}
@@ -0,0 +1,145 @@
+package kp.company.handlers;
+
+import kp.BenchmarkProperties;
+import kp.LocalRedis;
+import kp.company.configuration.operations.RedisOperationsCreator;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.RankedTeamTuple;
+import kp.company.domain.Team;
+import kp.company.domain.TeamTuple;
+import kp.company.services.ListingVersions;
+import kp.company.services.TeamChangeFeed;
+import kp.company.services.TeamScoreCoalescer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link Team} leaderboard benchmark.
+ * <p>
+ * Compares the leaderboard page read with ZREVRANGE WITHSCORES against the scan-and-collect path
+ * of the {@link TeamHandler#handleTeams} on the sorted set in the local Redis.
+ * The scan-and-collect path transfers the whole set; selecting the top N from it needs a sort in the application.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class TeamLeaderboardBenchmark {
+
+    private static final int LOADING_CHUNK_SIZE = 10_000;
+
+    @Param({"1000000"})
+    public int teamCount;
+
+    @Param({"100"})
+    public int limit;
+
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+    private TeamHandler teamHandler;
+
+    /**
+     * Loads the {@link Team}s into the local Redis.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        connectionFactory = LocalRedis.createConnectionFactory();
+        final CompanyProperties companyProperties = BenchmarkProperties.create(Map.of());
+        final RedisOperationsCreator redisOperationsCreator = new RedisOperationsCreator();
+        reactiveZSetOperations = redisOperationsCreator.createRedisOperationsForTeam(connectionFactory,
+                companyProperties);
+        connectionFactory.getReactiveConnection().serverCommands().flushDb().block();
+        Flux.range(TEAM_ID_LOWER_BOUND, teamCount)
+                .map(id -> TypedTuple.of(new Team(id), (double) id))
+                .buffer(LOADING_CHUNK_SIZE)
+                .concatMap(chunk -> reactiveZSetOperations.addAll(TEAMS_KEY, new HashSet<>(chunk)))
+                .blockLast();
+        final TeamChangeFeed teamChangeFeed = new TeamChangeFeed(
+                redisOperationsCreator.createRedisOperationsForTeamChanges(connectionFactory),
+                reactiveZSetOperations, companyProperties);
+        final ListingVersions listingVersions = new ListingVersions(
+                redisOperationsCreator.createRedisOperationsForListingVersions(connectionFactory));
+        teamHandler = new TeamHandler(reactiveZSetOperations, new TeamScoreCoalescer(reactiveZSetOperations,
+                teamChangeFeed, listingVersions, companyProperties), teamChangeFeed);
+    }
+
+    /**
+     * Closes the connection to the local Redis.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * Scans and collects all {@link Team}s like the {@link TeamHandler#handleTeams}.
+     *
+     * @return the list of {@link TeamTuple}s
+     */
+    @Benchmark
+    public List<TeamTuple> scanAndCollect() {
+        return reactiveZSetOperations.scan(TEAMS_KEY).map(TeamHandler.TEAM_TUPLE_FUN).collectList().block();
+    }
+
+    /**
+     * Scans all {@link Team}s and selects the top N in the application.
+     *
+     * @return the list of {@link TeamTuple}s
+     */
+    @Benchmark
+    public List<TeamTuple> scanAndSelectTop() {
+        return reactiveZSetOperations.scan(TEAMS_KEY).map(TeamHandler.TEAM_TUPLE_FUN)
+                .sort(Comparator.comparingDouble(TeamTuple::score).reversed())
+                .take(limit).collectList().block();
+    }
+
+    /**
+     * Reads the top N {@link Team}s from the leaderboard.
+     *
+     * @return the list of {@link RankedTeamTuple}s
+     */
+    @Benchmark
+    public List<RankedTeamTuple> leaderboardTop() {
+        return teamHandler.findTeamsLeaderboard(0, limit).collectList().block();
+    }
+
+    /**
+     * Reads the page from the middle of the leaderboard.
+     * <p>
+     * The ZREVRANGE cost is O(log(N) + M), so the middle page should cost about as much as the top page.
+     * </p>
+     *
+     * @return the list of {@link RankedTeamTuple}s
+     */
+    @Benchmark
+    public List<RankedTeamTuple> leaderboardMiddlePage() {
+        return teamHandler.findTeamsLeaderboard(teamCount / 2, limit).collectList().block();
+    }
+}
@@ -0,0 +1,109 @@
+package kp.company.services;
+
+import kp.BenchmarkProperties;
+import kp.LocalRedis;
+import kp.company.configuration.operations.RedisOperationsCreator;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import org.jspecify.annotations.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The hot key benchmark of the {@link DepartmentCache} single-flight.
+ * <p>
+ * Many threads read the same {@link Department} from the local Redis, with and without the single-flight.
+ * The listener of the keyspace notifications is enabled but never started, so the cache is bypassed
+ * and every read goes to Redis: only the coalescing is measured.
+ * The number of the coalesced calls is logged after the trial.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(16)
+@Fork(1)
+public class DepartmentCacheHotKeyBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int HOT_DEPARTMENT_INDEX = 1;
+    private static final int EMPLOYEE_COUNT = 1_000;
+
+    @Param({"false", "true"})
+    public boolean singleFlight;
+
+    private LettuceConnectionFactory connectionFactory;
+    private DepartmentCache departmentCache;
+    private String hotKey;
+
+    /**
+     * Writes the hot {@link Department} into the local Redis.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        connectionFactory = LocalRedis.createConnectionFactory();
+        final CompanyProperties companyProperties = BenchmarkProperties.create(Map.of(
+                "company.cache.listener-enabled", true, "company.cache.single-flight", singleFlight));
+        final RedisOperationsCreator redisOperationsCreator = new RedisOperationsCreator();
+        final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations =
+                redisOperationsCreator.createRedisOperationsForDepartment(connectionFactory, companyProperties);
+        reactiveRedisOperations.execute(connection -> connection.serverCommands().flushDb()).blockLast();
+        hotKey = DEP_KEY_FUN.apply(HOT_DEPARTMENT_INDEX);
+        reactiveRedisOperations.opsForValue().set(hotKey, new Department(DEP_NAME_FUN.apply(HOT_DEPARTMENT_INDEX),
+                IntStream.range(EMP_INDEX_LOWER_BOUND, EMP_INDEX_LOWER_BOUND + EMPLOYEE_COUNT)
+                        .mapToObj(Employee::fromIndex).toList())).block();
+        final DepartmentStore departmentStore = new DepartmentStore(reactiveRedisOperations,
+                redisOperationsCreator.createRedisOperationsForDepartmentNameIndex(connectionFactory),
+                redisOperationsCreator.createRedisOperationsForEmployeeList(connectionFactory, companyProperties),
+                companyProperties);
+        departmentCache = new DepartmentCache(departmentStore, connectionFactory, companyProperties);
+    }
+
+    /**
+     * Logs the single-flight statistics and closes the connection to the local Redis.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        logger.info("tearDown(): singleFlight[{}], statistics[{}]", singleFlight,
+                departmentCache.statistics().singleFlight());
+        connectionFactory.destroy();
+    }
+
+    /**
+     * Reads the hot {@link Department}.
+     *
+     * @return the {@link Department}
+     */
+    @Benchmark
+    public Department readHotKey() {
+        return departmentCache.get(hotKey).block();
+    }
+}
@@ -0,0 +1,168 @@
+package kp.company.services;
+
+import kp.BenchmarkProperties;
+import kp.LocalRedis;
+import kp.company.configuration.operations.RedisOperationsCreator;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.EmployeePage;
+import kp.company.services.DepartmentStore.EmployeeFilter;
+import org.jspecify.annotations.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The benchmark of the {@link DepartmentStore} layouts.
+ * <p>
+ * One {@link Department} with the given number of {@link Employee}s is written into the local Redis
+ * in the given layout. The whole {@link Department}, one page of {@link Employee}s from the middle
+ * and one {@link Employee} are read. The 'string' layout transfers and decodes the whole {@link Employee} list
+ * for every read, the 'hash' layout reads only the page.
+ * The {@link Employee}s filtered by the name prefix of the middle {@link Employee} are read too,
+ * the 'hash' layout reads them chunk by chunk.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class DepartmentStoreBenchmark {
+
+    private static final int DEPARTMENT_INDEX = 1;
+    private static final long PAGE_LIMIT = 10;
+
+    @Param({"string", "hash"})
+    public String layout;
+
+    @Param({"10", "1000", "100000"})
+    public int employeeCount;
+
+    private LettuceConnectionFactory connectionFactory;
+    private DepartmentStore departmentStore;
+    private String departmentKey;
+    private long middleOffset;
+    private EmployeeFilter middleFilter;
+
+    /**
+     * Writes the {@link Department} into the local Redis.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        connectionFactory = LocalRedis.createConnectionFactory();
+        final CompanyProperties companyProperties = BenchmarkProperties.create(Map.of("company.redis.layout", layout));
+        final RedisOperationsCreator redisOperationsCreator = new RedisOperationsCreator();
+        final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations =
+                redisOperationsCreator.createRedisOperationsForDepartment(connectionFactory, companyProperties);
+        reactiveRedisOperations.execute(connection -> connection.serverCommands().flushDb()).blockLast();
+        departmentStore = new DepartmentStore(reactiveRedisOperations,
+                redisOperationsCreator.createRedisOperationsForDepartmentNameIndex(connectionFactory),
+                redisOperationsCreator.createRedisOperationsForEmployeeList(connectionFactory, companyProperties),
+                companyProperties);
+        departmentKey = DEP_KEY_FUN.apply(DEPARTMENT_INDEX);
+        final List<Employee> employees = IntStream.range(EMP_INDEX_LOWER_BOUND, EMP_INDEX_LOWER_BOUND + employeeCount)
+                .mapToObj(empIndex -> Employee.fromIndex(EMP_INDEX_FUN.applyAsInt(DEPARTMENT_INDEX, empIndex)))
+                .toList();
+        departmentStore.putAll(List.of(Map.entry(departmentKey,
+                new Department(DEP_NAME_FUN.apply(DEPARTMENT_INDEX), employees)))).block();
+        middleOffset = employeeCount / 2;
+        middleFilter = new EmployeeFilter(employees.get((int) middleOffset).firstName(), "");
+    }
+
+    /**
+     * Closes the connection to the local Redis.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * Reads the whole {@link Department}.
+     *
+     * @return the {@link Department}
+     */
+    @Benchmark
+    public Department readDepartment() {
+        return departmentStore.get(departmentKey).block();
+    }
+
+    /**
+     * Reads one page of {@link Employee}s from the middle of the {@link Department}.
+     *
+     * @return the {@link EmployeePage}
+     */
+    @Benchmark
+    public EmployeePage readEmployeePage() {
+        return readEmployeePage(PAGE_LIMIT);
+    }
+
+    /**
+     * Reads one {@link Employee} from the middle of the {@link Department}.
+     *
+     * @return the {@link EmployeePage}
+     */
+    @Benchmark
+    public EmployeePage readOneEmployee() {
+        return readEmployeePage(1);
+    }
+
+    /**
+     * Reads the {@link Employee}s filtered by the name prefix of the middle {@link Employee}.
+     *
+     * @return the list of {@link Employee}s
+     */
+    @Benchmark
+    public List<Employee> readFilteredEmployees() {
+        return switch (departmentStore.layout()) {
+            case STRING -> departmentStore.get(departmentKey)
+                    .flatMapMany(department -> Flux.fromIterable(department.employees()))
+                    .filter(middleFilter).take(PAGE_LIMIT).collectList().block();
+            case HASH -> departmentStore.findEmployees(departmentKey, middleFilter, 0, PAGE_LIMIT)
+                    .collectList().block();
+        };
+    }
+
+    /**
+     * Reads one page of {@link Employee}s from the middle of the {@link Department}.
+     * <p>
+     * The 'string' layout reads the whole {@link Department} like the handler reading it through the cache.
+     * </p>
+     *
+     * @param limit the maximal number of {@link Employee}s
+     * @return the {@link EmployeePage}
+     */
+    private EmployeePage readEmployeePage(long limit) {
+
+        return switch (departmentStore.layout()) {
+            case STRING -> departmentStore.get(departmentKey).map(department -> DepartmentStore
+                    .createEmployeePage(department, EmployeeFilter.NONE, middleOffset, limit)).block();
+            case HASH -> departmentStore.getEmployeePage(departmentKey, EmployeeFilter.NONE, middleOffset, limit)
+                    .block();
+        };
+    }
+}
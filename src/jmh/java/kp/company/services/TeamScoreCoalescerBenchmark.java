@@ -0,0 +1,112 @@
+package kp.company.services;
+
+import kp.BenchmarkProperties;
+import kp.LocalRedis;
+import kp.company.configuration.operations.RedisOperationsCreator;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.ScoreIncrement;
+import kp.company.domain.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link TeamScoreCoalescer} benchmark.
+ * <p>
+ * Submits batches of random score increments from several threads while the coalescer flushes them
+ * into the local Redis. One operation submits one batch, so the increments per second are the score
+ * multiplied by the batch size. The flushes offer the changes to the {@link TeamChangeFeed} too,
+ * which publishes them on its own pipeline.
+ * The coalescing ratio and the latency are logged after the trial.
+ * The rejected batches are counted as operations too, so check the rejected count in the logged statistics.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class TeamScoreCoalescerBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"100", "100000"})
+    public int teamCount;
+
+    private LettuceConnectionFactory connectionFactory;
+    private TeamScoreCoalescer teamScoreCoalescer;
+
+    /**
+     * Creates and starts the {@link TeamScoreCoalescer}.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        connectionFactory = LocalRedis.createConnectionFactory();
+        final CompanyProperties companyProperties = BenchmarkProperties.create(Map.of());
+        final RedisOperationsCreator redisOperationsCreator = new RedisOperationsCreator();
+        final ReactiveZSetOperations<String, Team> reactiveZSetOperations =
+                redisOperationsCreator.createRedisOperationsForTeam(connectionFactory, companyProperties);
+        teamScoreCoalescer = new TeamScoreCoalescer(reactiveZSetOperations, new TeamChangeFeed(
+                redisOperationsCreator.createRedisOperationsForTeamChanges(connectionFactory),
+                reactiveZSetOperations, companyProperties), new ListingVersions(
+                redisOperationsCreator.createRedisOperationsForListingVersions(connectionFactory)),
+                companyProperties);
+        connectionFactory.getReactiveConnection().serverCommands().flushDb().block();
+        teamScoreCoalescer.startFlusher();
+    }
+
+    /**
+     * Stops the {@link TeamScoreCoalescer}, logs its statistics and closes the connection to the local Redis.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        teamScoreCoalescer.destroy();
+        logger.info("tearDown(): teamCount[{}], statistics[{}]", teamCount, teamScoreCoalescer.statistics());
+        connectionFactory.destroy();
+    }
+
+    /**
+     * Submits one batch of the score increments.
+     *
+     * @return true if the batch was accepted
+     */
+    @Benchmark
+    public boolean submit() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<ScoreIncrement> scoreIncrements = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(_ -> new ScoreIncrement(random.nextInt(TEAM_ID_LOWER_BOUND, TEAM_ID_LOWER_BOUND + teamCount),
+                        1d))
+                .toList();
+        return teamScoreCoalescer.submit(scoreIncrements);
+    }
+}
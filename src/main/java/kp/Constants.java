@@ -5,10 +5,15 @@ import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.Locale;
+import java.util.function.BinaryOperator;
 import java.util.function.DoubleFunction;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * The constants.
@@ -23,28 +28,89 @@ public final class Constants {
     public static final String GET_TEAMS_PATH = ROOT + "company/teams";
     public static final String GET_TEAMS_RANGE_PATH = GET_TEAMS_PATH + "/range";
     public static final String GET_TEAM_RANK_PATH = GET_TEAMS_PATH + "/rank";
+    public static final String GET_TEAMS_LEADERBOARD_PATH = GET_TEAMS_PATH + "/leaderboard";
+    public static final String POST_TEAM_RANKS_PATH = GET_TEAMS_PATH + "/rank";
+    public static final String POST_TEAM_SCORES_PATH = GET_TEAMS_PATH + "/scores";
+    public static final String GET_TEAM_SCORES_STATISTICS_PATH = POST_TEAM_SCORES_PATH + "/statistics";
+    public static final String GET_TEAM_CHANGES_PATH = GET_TEAMS_PATH + "/changes";
+    public static final String GET_DEPARTMENT_CACHE_PATH = ROOT + "company/cache/departments";
+    public static final String GET_EMPLOYEE_INDEX_CACHE_PATH = ROOT + "company/cache/employees";
+    public static final String POST_STORAGE_MIGRATION_PATH = ROOT + "company/storage/migration";
 
     public static final String DEPARTMENT_KEY_VAR = "departmentKey";
     public static final String EMPLOYEE_FIRST_NAME_VAR = "firstName";
     public static final String EMPLOYEE_LAST_NAME_VAR = "lastName";
+    public static final String EMPLOYEE_FIRST_NAME_PREFIX_VAR = "firstNamePrefix";
+    public static final String EMPLOYEE_LAST_NAME_PREFIX_VAR = "lastNamePrefix";
     public static final String TEAM_ID_VAR = "id";
     public static final String RANGE_FROM_VAR = "rangeFrom";
     public static final String RANGE_TO_VAR = "rangeTo";
+    public static final String COUNT_VAR = "count";
+    public static final String CURSOR_VAR = "cursor";
+    public static final String LIMIT_VAR = "limit";
+    public static final String OFFSET_VAR = "offset";
+    public static final String DEPARTMENTS_VAR = "departments";
+    public static final String EMPLOYEES_PER_DEPARTMENT_VAR = "employeesPerDepartment";
+    public static final String TEAMS_VAR = "teams";
+    public static final String DEPARTMENT_NAME_VAR = "name";
+    public static final String DEPARTMENT_NAME_PREFIX_VAR = "namePrefix";
 
-    public static final String LOAD_SAMPLE_DATASET_RESULT_JSON = "{\"result\":\"The sample dataset was loaded with success.\"}";
+    public static final String LOAD_SAMPLE_DATASET_RESULT = "The sample dataset was loaded with success.";
+    public static final int MAX_DEPARTMENTS = 10_000_000;
+    public static final int MAX_EMPLOYEES_PER_DEPARTMENT = 100_000;
+    public static final int MAX_TEAMS = 10_000_000;
+    public static final long MAX_DATASET_RECORDS = 20_000_000;
     public static final IntFunction<String> DEP_KEY_FUN = "K-DEP-%d"::formatted;
     public static final IntFunction<String> DEP_NAME_FUN = "D-Name-%d"::formatted;
-    public static final IntBinaryOperator EMP_INDEX_FUN = (depIndex, empIndex) -> 100 * depIndex + empIndex;
+    public static final String DEP_KEY_PATTERN = "K-DEP-*";
+    public static final String DEP_KEYSPACE_PATTERN = "__keyspace@*__:K-DEP-*";
+    public static final String DEP_NAME_FIELD = "name";
+    public static final UnaryOperator<String> DEP_EMPLOYEES_KEY_FUN = "K-EMP:%s"::formatted;
+    public static final UnaryOperator<String> DEP_MIGRATION_KEY_FUN = "{%s}-MIG"::formatted;
+    public static final String KEYSPACE_CHANNEL_SEPARATOR = "__:";
+    public static final String DEP_NAME_INDEX_KEY = "K-IDX-DEP-NAME";
+    public static final String DEP_NAME_LEX_INDEX_KEY = "K-IDX-DEP-NAME-LEX";
+    public static final String DEP_NAME_LEX_SEPARATOR = "\u0000";
+    public static final BinaryOperator<String> DEP_NAME_LEX_MEMBER_FUN = (name, key) -> String
+            .join(DEP_NAME_LEX_SEPARATOR, name, key);
+    public static final int EMP_INDEX_STRIDE = 100;
+    public static final IntBinaryOperator EMP_INDEX_FUN =
+            (depIndex, empIndex) -> EMP_INDEX_STRIDE * depIndex + empIndex;
+    public static final IntUnaryOperator EMP_INDEX_STRIDE_FUN = employeesPerDepartment -> {
+        int stride = EMP_INDEX_STRIDE;
+        while (stride <= employeesPerDepartment) {
+            stride *= 10;
+        }
+        return stride;
+    };
     public static final int DEP_KEY_INDEX_LOWER_BOUND = 1;
     public static final int DEP_KEY_INDEX_UPPER_BOUND = 2;
     public static final int EMP_INDEX_LOWER_BOUND = 1;
     public static final int EMP_INDEX_UPPER_BOUND = 2;
+    public static final UnaryOperator<String> EMP_INDEX_KEY_FUN = "K-IDX-EMP:%s"::formatted;
+    public static final BinaryOperator<String> EMP_INDEX_FIELD_FUN = (firstName, lastName) -> "%s|%s".formatted(
+            firstName.toLowerCase(Locale.ROOT), lastName.toLowerCase(Locale.ROOT));
     public static final Supplier<Mono<ServerResponse>> NOT_FOUND_SUPPLIER = () -> ServerResponse.notFound().build();
-    public static final ScanOptions VALUE_SCAN_OPTIONS = ScanOptions.scanOptions().type(DataType.STRING).build();
+    public static final LongFunction<ScanOptions> VALUE_SCAN_OPTIONS_FUN = count -> ScanOptions.scanOptions()
+            .type(DataType.STRING).count(count).build();
+    public static final long DEFAULT_SCAN_COUNT = 100;
+    public static final long MAX_SCAN_COUNT = 1_000;
+    public static final String SCAN_CURSOR_START = "0";
+    public static final long DEFAULT_EMPLOYEE_PAGE_LIMIT = 100;
+    public static final long MAX_EMPLOYEE_PAGE_LIMIT = 1_000;
+    public static final long EMPLOYEE_RANGE_CHUNK = 500;
 
     public static final String TEAMS_KEY = "K-TEAMS";
     public static final int TEAM_ID_LOWER_BOUND = 1;
     public static final int TEAMS_COUNT = 5;
+    public static final long DEFAULT_LEADERBOARD_LIMIT = 100;
+    public static final long MAX_LEADERBOARD_LIMIT = 1_000;
+    public static final int MAX_TEAM_RANK_BATCH_SIZE = 1_000;
+    public static final int MAX_SCORE_INCREMENT_BATCH_SIZE = 10_000;
+    public static final String TEAM_CHANGES_CHANNEL = "CH-TEAM-CHANGES";
+    public static final String TEAM_CHANGE_EVENT = "team-change";
+    public static final String LISTING_VERSIONS_KEY = "K-VERSIONS";
+    public static final String LISTING_VERSIONS_OPERATIONS_BEAN = "listingVersionsOperations";
     public static final DoubleFunction<String> DBL_FMT = "%.0f"::formatted;
 
     private Constants() {
@@ -0,0 +1,80 @@
+package kp.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * The connections of the {@link WebClient}s.
+ * <p>
+ * All {@link WebClient}s of one launcher share one Reactor Netty {@link ConnectionProvider}:
+ * </p>
+ * <ul>
+ * <li>the pool size bounds the number of the connections to the server</li>
+ * <li>the acquisitions wait in the unbounded queue with the timeout,
+ * so the burst of concurrent calls does not fail fast</li>
+ * <li>the idle connections are kept alive and evicted in background after the idle time</li>
+ * </ul>
+ * <p>
+ * The {@link HttpClient} speaks the cleartext HTTP/2 (h2c) with the prior knowledge, so the concurrent calls
+ * are multiplexed as streams over few connections. The server must accept h2c ('server.http2.enabled').
+ * </p>
+ */
+public final class ClientConnections {
+
+    private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+    private static final Duration MAX_LIFE_TIME = Duration.ofMinutes(5);
+    private static final Duration EVICTION_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration PENDING_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+
+    private ClientConnections() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates the {@link ConnectionProvider}.
+     * <p>
+     * The caller disposes the {@link ConnectionProvider} after the last call.
+     * </p>
+     *
+     * @param name           the name of the pool
+     * @param maxConnections the maximal number of the connections
+     * @return the {@link ConnectionProvider}
+     */
+    public static ConnectionProvider createConnectionProvider(String name, int maxConnections) {
+
+        return ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(PENDING_ACQUIRE_TIMEOUT)
+                .maxIdleTime(MAX_IDLE_TIME)
+                .maxLifeTime(MAX_LIFE_TIME)
+                .evictInBackground(EVICTION_INTERVAL)
+                .build();
+    }
+
+    /**
+     * Creates the {@link WebClient} with the shared {@link ConnectionProvider}.
+     *
+     * @param baseUrl            the base URL of the server
+     * @param connectionProvider the shared {@link ConnectionProvider}
+     * @return the {@link WebClient}
+     */
+    public static WebClient createWebClient(String baseUrl, ConnectionProvider connectionProvider) {
+
+        final HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(HttpProtocol.H2C)
+                .keepAlive(true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS);
+        return WebClient.builder().baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
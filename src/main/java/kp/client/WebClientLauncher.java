@@ -1,5 +1,7 @@
 package kp.client;
 
+import kp.client.load.LoadGenerator;
+import kp.client.load.LoadSettings;
 import kp.client.subscribers.DepartmentSubscriber;
 import kp.client.subscribers.EmployeeSubscriber;
 import kp.client.subscribers.TeamSubscriber;
@@ -9,8 +11,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static kp.Constants.*;
 
@@ -18,6 +23,9 @@ import static kp.Constants.*;
  * The {@link WebClient} launcher.<br/>
  * <p>
  * The {@link WebClient} is a non-blocking, reactive client.
+ * <p>
+ * With the system property 'client.mode=load' the {@link LoadGenerator} drives the load against the server
+ * with the {@link LoadSettings} read from the system properties.
  */
 public class WebClientLauncher {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -25,6 +33,7 @@ public class WebClientLauncher {
     private static final boolean VERBOSE = false;
 
     private static final String WEB_CLIENT_BASE_URL = "http://localhost:8280";
+    private static final int MAX_CONNECTIONS = 16;
     private static final String SUBSCRIBED_DEPARTMENT_KEY = DEP_KEY_FUN.apply(DEP_KEY_INDEX_LOWER_BOUND);
     private static final String SUBSCRIBED_EMPLOYEE_FIRST_NAME = Employee
             .fromIndex(EMP_INDEX_FUN.applyAsInt(DEP_KEY_INDEX_LOWER_BOUND, EMP_INDEX_LOWER_BOUND)).firstName();
@@ -43,7 +52,11 @@ public class WebClientLauncher {
     public static void main() {
 
         try {
-            new WebClientLauncher().performRequests();
+            if (LoadSettings.LOAD_MODE.equals(System.getProperty(LoadSettings.MODE_PROPERTY))) {
+                new LoadGenerator(WEB_CLIENT_BASE_URL, LoadSettings.fromSystemProperties()).run();
+            } else {
+                new WebClientLauncher().performRequests();
+            }
         } catch (WebClientResponseException e) {
             logger.error("main(): WebClientResponseException[{}]", e.getMessage());
         } catch (Exception e) {
@@ -53,40 +66,56 @@ public class WebClientLauncher {
 
     /**
      * Performs HTTP requests with the {@link WebClient}.
+     * <p>
+     * The sample dataset is loaded first, then all calls run concurrently over the shared connection pool.
+     * Only this method blocks, until the last call completes.
+     * </p>
      */
     private void performRequests() {
 
-        final WebClient client = WebClient.create(WEB_CLIENT_BASE_URL);
-        subscribeSampleDatasetLoading(client);
-
-        final DepartmentSubscriber departmentSubscriber = new DepartmentSubscriber(client);
-        departmentSubscriber.subscribeDepartments();
-        departmentSubscriber.subscribeDepartment(SUBSCRIBED_DEPARTMENT_KEY);
-
-        final EmployeeSubscriber employeeSubscriber = new EmployeeSubscriber(client);
-        employeeSubscriber.subscribeEmployee(SUBSCRIBED_DEPARTMENT_KEY, SUBSCRIBED_EMPLOYEE_FIRST_NAME,
-                SUBSCRIBED_EMPLOYEE_LAST_NAME);
-
-        final TeamSubscriber teamSubscriber = new TeamSubscriber(client);
-        teamSubscriber.subscribeTeams();
-        teamSubscriber.subscribeTeamsRangeByScore(SUBSCRIBED_TEAM_RANGE_FROM, SUBSCRIBED_TEAM_RANGE_TO);
-        teamSubscriber.subscribeZippedTeamRankById(SUBSCRIBED_TEAM_ID_1, SUBSCRIBED_TEAM_ID_2, SUBSCRIBED_TEAM_ID_3);
+        final ConnectionProvider connectionProvider = ClientConnections.createConnectionProvider(
+                "client", MAX_CONNECTIONS);
+        try {
+            final WebClient client = ClientConnections.createWebClient(WEB_CLIENT_BASE_URL, connectionProvider);
+            final DepartmentSubscriber departmentSubscriber = new DepartmentSubscriber(client);
+            final EmployeeSubscriber employeeSubscriber = new EmployeeSubscriber(client);
+            final TeamSubscriber teamSubscriber = new TeamSubscriber(client);
+
+            final long startNanos = System.nanoTime();
+            subscribeSampleDatasetLoading(client).then(Mono.when(
+                    departmentSubscriber.subscribeDepartments(),
+                    departmentSubscriber.subscribeDepartment(SUBSCRIBED_DEPARTMENT_KEY),
+                    employeeSubscriber.subscribeEmployee(SUBSCRIBED_DEPARTMENT_KEY, SUBSCRIBED_EMPLOYEE_FIRST_NAME,
+                            SUBSCRIBED_EMPLOYEE_LAST_NAME),
+                    teamSubscriber.subscribeTeams(),
+                    teamSubscriber.subscribeTeamsRangeByScore(SUBSCRIBED_TEAM_RANGE_FROM, SUBSCRIBED_TEAM_RANGE_TO),
+                    teamSubscriber.subscribeZippedTeamRankById(SUBSCRIBED_TEAM_ID_1, SUBSCRIBED_TEAM_ID_2,
+                            SUBSCRIBED_TEAM_ID_3),
+                    teamSubscriber.subscribeTeamRanksByIds(List.of(Integer.valueOf(SUBSCRIBED_TEAM_ID_1),
+                            Integer.valueOf(SUBSCRIBED_TEAM_ID_2), Integer.valueOf(SUBSCRIBED_TEAM_ID_3)))))
+                    .block();
+            logger.info("performRequests(): completed in [{} ms]",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } finally {
+            connectionProvider.dispose();
+        }
     }
 
     /**
      * Loads sample dataset.
      *
      * @param client the {@link WebClient}
+     * @return the {@link Mono} completing when the sample dataset is loaded
      */
-    private void subscribeSampleDatasetLoading(WebClient client) {
+    private Mono<Void> subscribeSampleDatasetLoading(WebClient client) {
 
-        final Mono<String> sampleDatasetLoadingMono = client.get().uri(LOAD_SAMPLE_DATASET_PATH).retrieve()
+        return client.get().uri(LOAD_SAMPLE_DATASET_PATH).retrieve()
                 .bodyToMono(String.class)
-                .transform(mono -> VERBOSE ? mono.log() : mono);
-
-        sampleDatasetLoadingMono.blockOptional().ifPresentOrElse(
-                result -> logger.info("subscribeSampleDatasetLoading(): {}", result),
-                () -> logger.info("subscribeSampleDatasetLoading(): mono completed empty"));
+                .transform(mono -> VERBOSE ? mono.log() : mono)
+                .doOnNext(result -> logger.info("subscribeSampleDatasetLoading(): {}", result))
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> logger.info("subscribeSampleDatasetLoading(): mono completed empty")))
+                .then();
     }
 
 }
@@ -0,0 +1,276 @@
+package kp.client.load;
+
+import kp.client.ClientConnections;
+import kp.company.domain.Employee;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static kp.Constants.*;
+
+/**
+ * The load generator of the load mode of the {@link kp.client.WebClientLauncher}.
+ * <p>
+ * Every endpoint gets the requests at the constant rate (the open-loop scheduling): the start time
+ * of every request is fixed in advance and does not wait for the previous responses.
+ * The latency is measured from this intended start time, so the requests delayed by a slow server
+ * or by the exhausted connections count their waiting (no coordinated omission).
+ * </p>
+ * <p>
+ * The latencies are recorded in the HDR histograms. The p50, p99, p999, the maximum and the achieved throughput
+ * of every endpoint are logged after the run.
+ * </p>
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int TEAM_RANGE_WIDTH = 10;
+
+    private final WebClient client;
+    private final ConnectionProvider connectionProvider;
+    private final LoadSettings settings;
+    private final List<Endpoint> endpoints;
+
+    /**
+     * The request scheduled at the intended start time.
+     *
+     * @param endpoint      the {@link Endpoint}
+     * @param intendedNanos the intended start time
+     * @param recorded      the flag whether the latency is recorded (false in the warmup)
+     */
+    private record ScheduledRequest(Endpoint endpoint, long intendedNanos, boolean recorded) {
+    }
+
+    /**
+     * The endpoint under load with its measurement.
+     */
+    private static final class Endpoint {
+        private final String name;
+        private final Function<WebClient, WebClient.RequestHeadersSpec<?>> requestFunction;
+        private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong measurementStartNanos = new AtomicLong();
+        private final AtomicLong lastCompletionNanos = new AtomicLong();
+
+        /**
+         * Constructor.
+         *
+         * @param name            the endpoint name
+         * @param requestFunction the function creating the request
+         */
+        Endpoint(String name, Function<WebClient, WebClient.RequestHeadersSpec<?>> requestFunction) {
+            this.name = name;
+            this.requestFunction = requestFunction;
+        }
+
+        /**
+         * Records the completed request.
+         *
+         * @param scheduledRequest the {@link ScheduledRequest}
+         * @param success          the flag whether the response status is successful
+         */
+        void record(ScheduledRequest scheduledRequest, boolean success) {
+
+            if (!scheduledRequest.recorded()) {
+                return;
+            }
+            final long nowNanos = System.nanoTime();
+            final long latencyNanos = nowNanos - scheduledRequest.intendedNanos();
+            histogram.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            lastCompletionNanos.accumulateAndGet(nowNanos, Math::max);
+        }
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * The connection pool of the {@link ClientConnections} is sized for the maximal number of requests in flight.
+     * </p>
+     *
+     * @param baseUrl  the base URL of the server
+     * @param settings the {@link LoadSettings}
+     */
+    public LoadGenerator(String baseUrl, LoadSettings settings) {
+
+        this.settings = settings;
+        this.connectionProvider = ClientConnections.createConnectionProvider("load", settings.maxInFlight());
+        this.client = ClientConnections.createWebClient(baseUrl, connectionProvider);
+        this.endpoints = createEndpoints();
+    }
+
+    /**
+     * Loads the sample dataset, drives the load against every endpoint and logs the report.
+     */
+    public void run() {
+
+        final String loadingReport = client.get().uri(uriBuilder -> uriBuilder.path(LOAD_SAMPLE_DATASET_PATH)
+                        .queryParam(DEPARTMENTS_VAR, settings.departments())
+                        .queryParam(TEAMS_VAR, settings.teams()).build())
+                .retrieve().bodyToMono(String.class).block();
+        logger.info("run(): sample dataset loaded[{}]", loadingReport);
+        logger.info("run(): endpoints[{}], rate per endpoint[{}/s], warmup[{}], duration[{}], maxInFlight[{}]",
+                endpoints.size(), settings.ratePerEndpoint(), settings.warmup(), settings.duration(),
+                settings.maxInFlight());
+        try {
+            Flux.merge(endpoints.stream().map(this::schedule).toList())
+                    .flatMap(this::execute, settings.maxInFlight())
+                    .blockLast();
+            endpoints.forEach(this::report);
+        } finally {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * Schedules the requests of the endpoint at the constant rate.
+     * <p>
+     * The ticks emitted while the requests in flight are at the maximum are buffered, their latency includes
+     * the time in the buffer.
+     * </p>
+     *
+     * @param endpoint the {@link Endpoint}
+     * @return the {@link ScheduledRequest}s {@link Flux}
+     */
+    private Flux<ScheduledRequest> schedule(Endpoint endpoint) {
+
+        final long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / settings.ratePerEndpoint());
+        final long warmupTicks = settings.warmup().toNanos() / intervalNanos;
+        final long totalTicks = warmupTicks + Math.max(1, settings.duration().toNanos() / intervalNanos);
+        return Flux.defer(() -> {
+            final long startNanos = System.nanoTime();
+            endpoint.measurementStartNanos.set(startNanos + warmupTicks * intervalNanos);
+            return Flux.interval(Duration.ZERO, Duration.ofNanos(intervalNanos))
+                    .onBackpressureBuffer()
+                    .take(totalTicks)
+                    .map(tick -> new ScheduledRequest(endpoint, startNanos + tick * intervalNanos,
+                            tick >= warmupTicks));
+        });
+    }
+
+    /**
+     * Executes the scheduled request and records its latency.
+     * <p>
+     * The response body is read and released. The error responses and the failed exchanges are counted as errors.
+     * </p>
+     *
+     * @param scheduledRequest the {@link ScheduledRequest}
+     * @return the {@link Mono} completing when the response is read
+     */
+    private Mono<Void> execute(ScheduledRequest scheduledRequest) {
+
+        final Endpoint endpoint = scheduledRequest.endpoint();
+        return endpoint.requestFunction.apply(client)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().is2xxSuccessful()))
+                .onErrorResume(exc -> {
+                    logger.debug("execute(): endpoint[{}], exception[{}]", endpoint.name, exc.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(success -> endpoint.record(scheduledRequest, success))
+                .then();
+    }
+
+    /**
+     * Logs the report of the endpoint.
+     * <p>
+     * The throughput is the number of the recorded requests divided by the time
+     * from the end of the warmup to the last recorded response.
+     * </p>
+     *
+     * @param endpoint the {@link Endpoint}
+     */
+    private void report(Endpoint endpoint) {
+
+        final Histogram histogram = endpoint.histogram;
+        final long elapsedNanos = endpoint.lastCompletionNanos.get() - endpoint.measurementStartNanos.get();
+        final double throughput = elapsedNanos > 0
+                ? histogram.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+        logger.info("report(): endpoint[{}], requests[{}], errors[{}], throughput[{} req/s], " +
+                    "p50[{} ms], p99[{} ms], p999[{} ms], max[{} ms]",
+                endpoint.name, histogram.getTotalCount(), endpoint.errors.get(), "%.1f".formatted(throughput),
+                toMillis(histogram.getValueAtPercentile(50.0)), toMillis(histogram.getValueAtPercentile(99.0)),
+                toMillis(histogram.getValueAtPercentile(99.9)), toMillis(histogram.getMaxValue()));
+    }
+
+    /**
+     * Creates the endpoints under load.
+     * <p>
+     * The {@link kp.company.domain.Department} keys and the {@link kp.company.domain.Team} ids are drawn
+     * at random from the loaded sample dataset.
+     * </p>
+     *
+     * @return the list of {@link Endpoint}s
+     */
+    private List<Endpoint> createEndpoints() {
+
+        return List.of(
+                new Endpoint("departments", webClient -> webClient.get().uri(uriBuilder -> uriBuilder
+                        .path(GET_DEPARTMENTS_PATH).queryParam(COUNT_VAR, DEFAULT_SCAN_COUNT).build())),
+                new Endpoint("department", webClient -> webClient.get()
+                        .uri(GET_DEPARTMENT_PATH, DEP_KEY_FUN.apply(randomDepartmentIndex()))),
+                new Endpoint("employee", webClient -> {
+                    final int depIndex = randomDepartmentIndex();
+                    final Employee employee = Employee.fromIndex(EMP_INDEX_FUN.applyAsInt(depIndex,
+                            EMP_INDEX_LOWER_BOUND));
+                    return webClient.get().uri(uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                            .queryParam(EMPLOYEE_FIRST_NAME_VAR, employee.firstName())
+                            .queryParam(EMPLOYEE_LAST_NAME_VAR, employee.lastName())
+                            .build(DEP_KEY_FUN.apply(depIndex)));
+                }),
+                new Endpoint("teams", webClient -> webClient.get().uri(GET_TEAMS_PATH)),
+                new Endpoint("range", webClient -> {
+                    final int rangeFrom = randomTeamId();
+                    return webClient.get().uri(uriBuilder -> uriBuilder.path(GET_TEAMS_RANGE_PATH)
+                            .queryParam(RANGE_FROM_VAR, rangeFrom)
+                            .queryParam(RANGE_TO_VAR, rangeFrom + TEAM_RANGE_WIDTH - 1).build());
+                }),
+                new Endpoint("rank", webClient -> webClient.get().uri(uriBuilder -> uriBuilder
+                        .path(GET_TEAM_RANK_PATH).queryParam(TEAM_ID_VAR, randomTeamId()).build())));
+    }
+
+    /**
+     * Draws the {@link kp.company.domain.Department} index.
+     *
+     * @return the {@link kp.company.domain.Department} index
+     */
+    private int randomDepartmentIndex() {
+        return ThreadLocalRandom.current().nextInt(DEP_KEY_INDEX_LOWER_BOUND,
+                DEP_KEY_INDEX_LOWER_BOUND + settings.departments());
+    }
+
+    /**
+     * Draws the {@link kp.company.domain.Team} id.
+     *
+     * @return the {@link kp.company.domain.Team} id
+     */
+    private int randomTeamId() {
+        return ThreadLocalRandom.current().nextInt(TEAM_ID_LOWER_BOUND, TEAM_ID_LOWER_BOUND + settings.teams());
+    }
+
+    /**
+     * Converts the microseconds to the formatted milliseconds.
+     *
+     * @param micros the microseconds
+     * @return the formatted milliseconds
+     */
+    private static String toMillis(long micros) {
+        return "%.3f".formatted(micros / 1_000.0);
+    }
+}
@@ -0,0 +1,71 @@
+package kp.client.load;
+
+import java.time.Duration;
+
+import static kp.Constants.DEP_KEY_INDEX_UPPER_BOUND;
+import static kp.Constants.TEAMS_COUNT;
+
+/**
+ * The settings of the load mode of the {@link kp.client.WebClientLauncher}.
+ * <p>
+ * The settings are read from the system properties, e.g.
+ * 'mvn exec:java -Dclient.mode=load -Dload.rate=500 -Dload.duration=PT60S'.
+ * </p>
+ *
+ * @param ratePerEndpoint the number of requests per second sent to every endpoint
+ * @param warmup          the warmup duration, the requests scheduled in the warmup are not recorded
+ * @param duration        the measured duration
+ * @param maxInFlight     the maximal number of requests in flight, the later requests wait for the connections
+ * @param departments     the number of the {@link kp.company.domain.Department}s in the loaded sample dataset
+ * @param teams           the number of the {@link kp.company.domain.Team}s in the loaded sample dataset
+ */
+public record LoadSettings(int ratePerEndpoint, Duration warmup, Duration duration, int maxInFlight,
+                           int departments, int teams) {
+
+    /**
+     * The system property selecting the mode of the {@link kp.client.WebClientLauncher}.
+     */
+    public static final String MODE_PROPERTY = "client.mode";
+    /**
+     * The value of the {@link #MODE_PROPERTY} selecting the load mode.
+     */
+    public static final String LOAD_MODE = "load";
+
+    /**
+     * Constructor with the validation.
+     *
+     * @param ratePerEndpoint the number of requests per second sent to every endpoint
+     * @param warmup          the warmup duration
+     * @param duration        the measured duration
+     * @param maxInFlight     the maximal number of requests in flight
+     * @param departments     the number of the {@link kp.company.domain.Department}s
+     * @param teams           the number of the {@link kp.company.domain.Team}s
+     */
+    public LoadSettings {
+
+        if (ratePerEndpoint < 1 || maxInFlight < 1 || departments < 1 || teams < 1) {
+            throw new IllegalArgumentException(
+                    "Bad load settings: rate[%d], maxInFlight[%d], departments[%d], teams[%d]"
+                    .formatted(ratePerEndpoint, maxInFlight, departments, teams));
+        }
+        if (warmup.isNegative() || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Bad load durations: warmup[%s], duration[%s]"
+                    .formatted(warmup, duration));
+        }
+    }
+
+    /**
+     * Reads the settings from the system properties.
+     *
+     * @return the {@link LoadSettings}
+     */
+    public static LoadSettings fromSystemProperties() {
+
+        return new LoadSettings(Integer.getInteger("load.rate", 200),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Integer.getInteger("load.maxInFlight", 512),
+                Integer.getInteger("load.departments", DEP_KEY_INDEX_UPPER_BOUND),
+                Integer.getInteger("load.teams", TEAMS_COUNT));
+    }
+}
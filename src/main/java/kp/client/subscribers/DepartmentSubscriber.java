@@ -3,19 +3,21 @@ package kp.client.subscribers;
 import kp.company.domain.Department;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
-import java.util.concurrent.Phaser;
-import java.util.function.Consumer;
 
 import static kp.Constants.GET_DEPARTMENTS_PATH;
 import static kp.Constants.GET_DEPARTMENT_PATH;
 
 /**
  * The subscriber for the {@link Department}s.
+ * <p>
+ * The methods do not block, the returned {@link Mono}s complete when the call completes.
+ * The failed call is logged and completes empty, so it does not cancel the composed calls.
+ * </p>
  */
 public class DepartmentSubscriber {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -35,44 +37,48 @@ public class DepartmentSubscriber {
 
     /**
      * Subscribes to all {@link Department}s.
+     * <p>
+     * The {@link Department}s are streamed as NDJSON and read incrementally.
+     * </p>
+     *
+     * @return the {@link Mono} completing when the stream completes
      */
-    public void subscribeDepartments() {
+    public Mono<Void> subscribeDepartments() {
 
-        final Flux<Department> departmentsFlux = client.get().uri(GET_DEPARTMENTS_PATH).retrieve()
+        return client.get().uri(GET_DEPARTMENTS_PATH)
+                .accept(MediaType.APPLICATION_NDJSON).retrieve()
                 .bodyToFlux(Department.class)
-                .transform(flux -> VERBOSE ? flux.log() : flux);
-
-        final Phaser phaser = new Phaser(1);
-        final Consumer<Department> nextConsumer = dep -> logger.info(
-                "subscribeDepartments(): department name[{}], employees size[{}]", dep.name(), dep.employees().size());
-        final Consumer<Throwable> errorConsumer = exc -> {
-            logger.error("subscribeDepartments(): exception[{}]", exc.getMessage());
-            phaser.forceTermination();
-        };
-        final Runnable completeConsumer = () -> {
-            logger.debug("subscribeDepartments(): completed");
-            phaser.arriveAndDeregister();
-        };
-        phaser.register();
-        departmentsFlux.subscribe(nextConsumer, errorConsumer, completeConsumer);
-        phaser.arriveAndAwaitAdvance();
+                .transform(flux -> StreamMeasurement.measure(flux, "departments"))
+                .transform(flux -> VERBOSE ? flux.log() : flux)
+                .doOnNext(dep -> logger.info("subscribeDepartments(): department name[{}], employees size[{}]",
+                        dep.name(), dep.employees().size()))
+                .doOnComplete(() -> logger.debug("subscribeDepartments(): completed"))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeDepartments(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
     }
 
     /**
      * Subscribes to a {@link Department} by the department key.
      *
      * @param departmentKey the key of the {@link Department}
+     * @return the {@link Mono} completing when the {@link Department} is received
      */
-    public void subscribeDepartment(String departmentKey) {
+    public Mono<Void> subscribeDepartment(String departmentKey) {
 
-        final Mono<Department> departmentMono = client.get().uri(GET_DEPARTMENT_PATH, departmentKey)
+        return client.get().uri(GET_DEPARTMENT_PATH, departmentKey)
                 .retrieve().bodyToMono(Department.class)
-                .transform(mono -> VERBOSE ? mono.log() : mono);
-
-        departmentMono.blockOptional().ifPresentOrElse(
-                dep -> logger.info("subscribeDepartment(): department key[{}], name[{}], employees size[{}]",
-                        departmentKey, dep.name(), dep.employees().size()),
-                () -> logger.info("subscribeDepartment(): mono completed empty"));
+                .transform(mono -> VERBOSE ? mono.log() : mono)
+                .doOnNext(dep -> logger.info("subscribeDepartment(): department key[{}], name[{}], employees size[{}]",
+                        departmentKey, dep.name(), dep.employees().size()))
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.info("subscribeDepartment(): mono completed empty")))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeDepartment(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
     }
 
 }
@@ -15,6 +15,10 @@ import static kp.Constants.*;
 
 /**
  * The subscriber for the {@link Employee}s.
+ * <p>
+ * The methods do not block, the returned {@link Mono}s complete when the call completes.
+ * The failed call is logged and completes empty, so it does not cancel the composed calls.
+ * </p>
  */
 public class EmployeeSubscriber {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -39,21 +43,25 @@ public class EmployeeSubscriber {
      * @param departmentKey {@link kp.company.domain.Department} key
      * @param firstName     first name
      * @param lastName      last name
+     * @return the {@link Mono} completing when the {@link Employee} is received
      */
-    public void subscribeEmployee(String departmentKey, String firstName, String lastName) {
+    public Mono<Void> subscribeEmployee(String departmentKey, String firstName, String lastName) {
 
         final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
                 .queryParam(EMPLOYEE_FIRST_NAME_VAR, firstName)
                 .queryParam(EMPLOYEE_LAST_NAME_VAR, lastName)
                 .build(departmentKey);
-        final Mono<Employee> employeeMono = client.get().uri(uriFunction).retrieve().bodyToMono(Employee.class)
-                .transform(mono -> VERBOSE ? mono.log() : mono);
-
-        employeeMono.blockOptional().ifPresentOrElse(
-                emp -> logger.info(
+        return client.get().uri(uriFunction).retrieve().bodyToMono(Employee.class)
+                .transform(mono -> VERBOSE ? mono.log() : mono)
+                .doOnNext(emp -> logger.info(
                         "subscribeEmployee(): department key[{}], employee firstName[{}], employee lastName[{}]",
-                        departmentKey, emp.firstName(), emp.lastName()),
-                () -> logger.info("subscribeEmployee(): mono completed empty"));
+                        departmentKey, emp.firstName(), emp.lastName()))
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.info("subscribeEmployee(): mono completed empty")))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeEmployee(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
     }
 
 }
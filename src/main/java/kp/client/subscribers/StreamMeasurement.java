@@ -0,0 +1,65 @@
+package kp.client.subscribers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The measurement of the streamed responses.
+ * <p>
+ * Measures the time to the first record, the total time, the record count,
+ * and the peak of the used heap memory sampled on every record.
+ * </p>
+ */
+final class StreamMeasurement {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private StreamMeasurement() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Measures the stream.
+     * <p>
+     * The measurement is logged when the stream completes.
+     * </p>
+     *
+     * @param flux the measured {@link Flux}
+     * @param name the name of the measured stream
+     * @param <T>  the record type
+     * @return the measured {@link Flux}
+     */
+    static <T> Flux<T> measure(Flux<T> flux, String name) {
+
+        return Flux.defer(() -> {
+            final long startNanos = System.nanoTime();
+            final AtomicLong firstRecordNanos = new AtomicLong();
+            final AtomicLong recordCount = new AtomicLong();
+            final AtomicLong peakUsedMemory = new AtomicLong(usedMemory());
+            return flux.doOnNext(_ -> {
+                if (recordCount.getAndIncrement() == 0) {
+                    firstRecordNanos.set(System.nanoTime() - startNanos);
+                }
+                peakUsedMemory.accumulateAndGet(usedMemory(), Math::max);
+            }).doOnComplete(() -> logger.info(
+                    "measure(): stream[{}], records[{}], first record[{} ms], total[{} ms], peak used heap[{} KiB]",
+                    name, recordCount.get(), TimeUnit.NANOSECONDS.toMillis(firstRecordNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), peakUsedMemory.get() / 1024));
+        });
+    }
+
+    /**
+     * Gets the used heap memory.
+     *
+     * @return the used heap memory in bytes
+     */
+    private static long usedMemory() {
+
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
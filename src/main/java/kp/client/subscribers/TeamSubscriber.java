@@ -1,24 +1,29 @@
 package kp.client.subscribers;
 
+import kp.company.domain.TeamRank;
 import kp.company.domain.TeamTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriBuilder;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple3;
 
 import java.lang.invoke.MethodHandles;
 import java.net.URI;
-import java.util.concurrent.Phaser;
-import java.util.function.Consumer;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import static kp.Constants.*;
 
 /**
  * The subscriber for the {@link kp.company.domain.Team}s.
+ * <p>
+ * The methods do not block, the returned {@link Mono}s complete when the call completes.
+ * The failed call is logged and completes empty, so it does not cancel the composed calls.
+ * </p>
  */
 public class TeamSubscriber {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -38,29 +43,30 @@ public class TeamSubscriber {
 
     /**
      * Subscribes to all {@link kp.company.domain.Team}s.
+     * <p>
+     * The {@link TeamTuple}s are streamed as NDJSON and read incrementally.
+     * </p>
+     *
+     * @return the {@link Mono} completing when the stream completes
      */
-    public void subscribeTeams() {
-
-        final Flux<TeamTuple> teamsFlux = client.get().uri(GET_TEAMS_PATH).retrieve().bodyToFlux(TeamTuple.class)
-                .transform(flux -> VERBOSE ? flux.log() : flux);
-
-        final Phaser phaser = new Phaser(1);
-        final Consumer<TeamTuple> nextConsumer = tuple -> {
-            if (logger.isInfoEnabled()) {
-                logger.info("subscribeTeams(): team id[{}], score[{}]", tuple.team().id(), DBL_FMT.apply(tuple.score()));
-            }
-        };
-        final Consumer<Throwable> errorConsumer = exc -> {
-            logger.error("subscribeTeams(): exception[{}]", exc.getMessage());
-            phaser.forceTermination();
-        };
-        final Runnable completeConsumer = () -> {
-            logger.debug("subscribeTeams(): completed");
-            phaser.arriveAndDeregister();
-        };
-        phaser.register();
-        teamsFlux.subscribe(nextConsumer, errorConsumer, completeConsumer);
-        phaser.arriveAndAwaitAdvance();
+    public Mono<Void> subscribeTeams() {
+
+        return client.get().uri(GET_TEAMS_PATH)
+                .accept(MediaType.APPLICATION_NDJSON).retrieve().bodyToFlux(TeamTuple.class)
+                .transform(flux -> StreamMeasurement.measure(flux, "teams"))
+                .transform(flux -> VERBOSE ? flux.log() : flux)
+                .doOnNext(tuple -> {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("subscribeTeams(): team id[{}], score[{}]",
+                                tuple.team().id(), DBL_FMT.apply(tuple.score()));
+                    }
+                })
+                .doOnComplete(() -> logger.debug("subscribeTeams(): completed"))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeTeams(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
     }
 
     /**
@@ -68,50 +74,82 @@ public class TeamSubscriber {
      *
      * @param rangeFrom the start range
      * @param rangeTo   the end range
+     * @return the {@link Mono} completing when the range is received
      */
-    public void subscribeTeamsRangeByScore(String rangeFrom, String rangeTo) {
+    public Mono<Void> subscribeTeamsRangeByScore(String rangeFrom, String rangeTo) {
 
         final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_TEAMS_RANGE_PATH)
                 .queryParam(RANGE_FROM_VAR, rangeFrom).queryParam(RANGE_TO_VAR, rangeTo).build();
 
-        final Flux<TeamTuple> teamsFlux = client.get().uri(uriFunction).retrieve().bodyToFlux(TeamTuple.class)
-                .transform(flux -> VERBOSE ? flux.log() : flux);
-
-        final Phaser phaser = new Phaser(1);
-        final Consumer<TeamTuple> nextConsumer = tuple -> {
-            if (logger.isInfoEnabled()) {
-                logger.info("subscribeTeamsRangeByScore(): team id[{}], score[{}]", tuple.team().id(), DBL_FMT.apply(tuple.score()));
-            }
-        };
-        final Consumer<Throwable> errorConsumer = exc -> {
-            logger.error("subscribeTeamsRangeByScore(): exception[{}]", exc.getMessage());
-            phaser.forceTermination();
-        };
-        final Runnable completeConsumer = () -> {
-            logger.info("subscribeTeamsRangeByScore(): completed, rangeFrom[{}], rangeTo[{}]", rangeFrom, rangeTo);
-            phaser.arriveAndDeregister();
-        };
-        phaser.register();
-        teamsFlux.subscribe(nextConsumer, errorConsumer, completeConsumer);
-        phaser.arriveAndAwaitAdvance();
+        return client.get().uri(uriFunction).retrieve().bodyToFlux(TeamTuple.class)
+                .transform(flux -> VERBOSE ? flux.log() : flux)
+                .doOnNext(tuple -> {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("subscribeTeamsRangeByScore(): team id[{}], score[{}]",
+                                tuple.team().id(), DBL_FMT.apply(tuple.score()));
+                    }
+                })
+                .doOnComplete(() -> logger.info("subscribeTeamsRangeByScore(): completed, rangeFrom[{}], rangeTo[{}]",
+                        rangeFrom, rangeTo))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeTeamsRangeByScore(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
     }
 
     /**
-     * Subscribes to {@link kp.company.domain.Team}s rank by id using merged {@link Mono}.
+     * Subscribes to {@link kp.company.domain.Team}s rank by id using zipped {@link Mono}s.
+     * <p>
+     * The three rank calls run concurrently.
+     * </p>
      *
      * @param teamId1 the first team id
      * @param teamId2 the second team id
      * @param teamId3 the third team id
+     * @return the {@link Mono} completing when all ranks are received
+     */
+    public Mono<Void> subscribeZippedTeamRankById(String teamId1, String teamId2, String teamId3) {
+
+        return Mono.zip(prepareRankMono(teamId1), prepareRankMono(teamId2), prepareRankMono(teamId3))
+                .doOnNext(tuple3 -> logger.info("subscribeZippedTeamRankById():\n"
+                                + "\tteam 1 -> id[{}], rank[{}]; team 2 -> id[{}], rank[{}]; team 3 -> id[{}], rank[{}]",
+                        teamId1, tuple3.getT1(), teamId2, tuple3.getT2(), teamId3, tuple3.getT3()))
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> logger.info("subscribeZippedTeamRankById(): mono completed empty")))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeZippedTeamRankById(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Subscribes to the ranks of many {@link kp.company.domain.Team}s by ids with one batch request.
+     * <p>
+     * One HTTP request replaces the request per {@link kp.company.domain.Team},
+     * and the server resolves all ranks in one pipelined Redis exchange.
+     * </p>
+     *
+     * @param teamIds the team ids
+     * @return the {@link Mono} completing when the ranks are received
      */
-    public void subscribeZippedTeamRankById(String teamId1, String teamId2, String teamId3) {
-
-        final Mono<Tuple3<Long, Long, Long>> tuple3Mono = Mono.zip(prepareRankMono(teamId1), prepareRankMono(teamId2),
-                prepareRankMono(teamId3));
-        tuple3Mono.blockOptional().ifPresentOrElse(
-                tuple3 -> logger.info("subscribeZippedTeamRankById():\n"
-                                      + "\tteam 1 -> id[{}], rank[{}]; team 2 -> id[{}], rank[{}]; team 3 -> id[{}], rank[{}]",
-                        teamId1, tuple3.getT1(), teamId2, tuple3.getT2(), teamId3, tuple3.getT3()),
-                () -> logger.info("subscribeZippedTeamRankById(): mono completed empty"));
+    public Mono<Void> subscribeTeamRanksByIds(List<Integer> teamIds) {
+
+        return client.post().uri(POST_TEAM_RANKS_PATH)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(teamIds).retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<Integer, TeamRank>>() {
+                })
+                .transform(mono -> VERBOSE ? mono.log() : mono)
+                .doOnNext(map -> map.forEach((teamId, teamRank) -> logger.info(
+                        "subscribeTeamRanksByIds(): team id[{}], rank[{}], score[{}]",
+                        teamId, teamRank.rank(), DBL_FMT.apply(teamRank.score()))))
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.info("subscribeTeamRanksByIds(): mono completed empty")))
+                .then()
+                .onErrorResume(exc -> {
+                    logger.error("subscribeTeamRanksByIds(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                });
     }
 
     /**
@@ -2,6 +2,7 @@ package kp.company;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * The Reactive REST Web Service server application with Redis.
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * </p>
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class Application {
     /**
      * The primary entry point for launching the application.
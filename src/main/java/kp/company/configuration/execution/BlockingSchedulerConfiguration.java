@@ -0,0 +1,68 @@
+package kp.company.configuration.execution;
+
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.configuration.properties.CompanyProperties.BlockingScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.Executors;
+
+/**
+ * Configures the {@link Scheduler} of the blocking sections.
+ * <p>
+ * The handlers run on the Netty event loops and must not block them. The blocking section (e.g. the native
+ * connect of the {@link kp.company.configuration.operations.KeyScanner}) is subscribed on this scheduler instead.
+ * </p>
+ * <p>
+ * The scheduler is selected with 'company.execution.blocking-scheduler':
+ * </p>
+ * <ul>
+ * <li>'bounded-elastic' - the bounded pool of the platform threads, the blocked tasks over its cap are queued</li>
+ * <li>'virtual-threads' - one new virtual thread per task, the blocked virtual thread releases its carrier</li>
+ * </ul>
+ */
+@Configuration
+public class BlockingSchedulerConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String BOUNDED_ELASTIC_NAME = "company-blocking";
+    private static final String VIRTUAL_THREADS_NAME = "company-virtual";
+
+    /**
+     * Creates the {@link Scheduler} of the blocking sections.
+     * <p>
+     * The scheduler is disposed when the application context is closed.
+     * </p>
+     *
+     * @param companyProperties the {@link CompanyProperties}
+     * @return the {@link Scheduler}
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler createBlockingScheduler(CompanyProperties companyProperties) {
+
+        final BlockingScheduler blockingScheduler = companyProperties.execution().blockingScheduler();
+        logger.info("createBlockingScheduler(): blockingScheduler[{}]", blockingScheduler);
+        return createScheduler(blockingScheduler);
+    }
+
+    /**
+     * Creates the {@link Scheduler} of the given kind.
+     *
+     * @param blockingScheduler the {@link BlockingScheduler}
+     * @return the {@link Scheduler}
+     */
+    public static Scheduler createScheduler(BlockingScheduler blockingScheduler) {
+
+        return switch (blockingScheduler) {
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, BOUNDED_ELASTIC_NAME);
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(VIRTUAL_THREADS_NAME + "-", 0).factory()), VIRTUAL_THREADS_NAME);
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package kp.company.configuration.http;
+
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.services.ListingVersions;
+import kp.company.services.ListingVersions.Listing;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static kp.Constants.GET_DEPARTMENTS_PATH;
+import static kp.Constants.GET_TEAMS_PATH;
+
+/**
+ * The filter answering the conditional requests of the {@link kp.company.domain.Department} and
+ * {@link kp.company.domain.Team} listings.
+ * <p>
+ * The ETag is derived from the {@link ListingVersions}, read with one HGET command before the handler.
+ * When the 'If-None-Match' header matches it, the status 'Not Modified' is sent without running the handler:
+ * the listing is neither read from Redis nor serialized. Otherwise, the successful response gets the ETag.
+ * </p>
+ * <p>
+ * The version is read before the listing, so the listing written meanwhile is tagged with the older version
+ * and the next conditional request gets it in full. The JSON and the streamed representations share the weak ETag,
+ * the 'Vary' header keeps them apart in the caches.
+ * </p>
+ * <p>
+ * The other routes and the disabled ETag are passed to the handler directly.
+ * </p>
+ */
+@Component
+public class ListingETagFilter implements HandlerFilterFunction<@NonNull ServerResponse, @NonNull ServerResponse> {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY_TAG = "*";
+
+    private final ListingVersions listingVersions;
+    private final boolean etagEnabled;
+
+    /**
+     * Constructor.
+     *
+     * @param listingVersions   the {@link ListingVersions}
+     * @param companyProperties the {@link CompanyProperties}
+     */
+    public ListingETagFilter(ListingVersions listingVersions, CompanyProperties companyProperties) {
+
+        this.listingVersions = listingVersions;
+        this.etagEnabled = companyProperties.http().etagEnabled();
+    }
+
+    /**
+     * Answers the conditional request of the listing.
+     *
+     * @param request the {@link ServerRequest}
+     * @param next    the next {@link HandlerFunction}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    @Override
+    public Mono<@NonNull ServerResponse> filter(ServerRequest request, HandlerFunction<@NonNull ServerResponse> next) {
+
+        final Optional<Listing> listing = resolveListing(request);
+        if (listing.isEmpty()) {
+            return next.handle(request);
+        }
+        return listingVersions.eTag(listing.get())
+                .flatMap(eTag -> isNotModified(request, eTag)
+                        ? ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build()
+                        : next.handle(request).doOnNext(response -> tag(request, response, eTag)))
+                .switchIfEmpty(Mono.defer(() -> next.handle(request)));
+    }
+
+    /**
+     * Resolves the versioned listing of the request.
+     *
+     * @param request the {@link ServerRequest}
+     * @return the optional {@link Listing}, empty for the disabled ETag or for the other routes
+     */
+    Optional<Listing> resolveListing(ServerRequest request) {
+
+        if (!etagEnabled || !HttpMethod.GET.equals(request.method())) {
+            return Optional.empty();
+        }
+        return switch (request.path()) {
+            case GET_DEPARTMENTS_PATH -> Optional.of(Listing.DEPARTMENTS);
+            case GET_TEAMS_PATH -> Optional.of(Listing.TEAMS);
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Checks whether the 'If-None-Match' header matches the ETag with the weak comparison.
+     *
+     * @param request the {@link ServerRequest}
+     * @param eTag    the current ETag
+     * @return true if the client has the current listing
+     */
+    static boolean isNotModified(ServerRequest request, String eTag) {
+
+        final String opaqueTag = eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+        return request.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> ANY_TAG.equals(tag) || opaqueTag.equals(tag));
+    }
+
+    /**
+     * Adds the ETag to the successful response.
+     * <p>
+     * The {@link ServerResponse} headers are read-only, so the ETag is added to the headers of the exchange,
+     * the {@link ServerResponse} adds its own headers to them when it is written.
+     * </p>
+     *
+     * @param request  the {@link ServerRequest}
+     * @param response the {@link ServerResponse}
+     * @param eTag     the ETag
+     */
+    private static void tag(ServerRequest request, ServerResponse response, String eTag) {
+
+        if (!response.statusCode().is2xxSuccessful()) {
+            return;
+        }
+        final HttpHeaders headers = request.exchange().getResponse().getHeaders();
+        headers.setETag(eTag);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+}
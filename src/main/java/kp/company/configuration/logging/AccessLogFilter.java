@@ -0,0 +1,92 @@
+package kp.company.configuration.logging;
+
+import kp.company.configuration.properties.CompanyProperties;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The filter writing the sampled requests to the access log.
+ * <p>
+ * The access log has its own logger, so it can be routed to its own appender, see 'logback.xml'.
+ * The request not sampled (or the disabled access log) is passed to the handler directly:
+ * nothing is allocated and nothing is formatted for it.
+ * </p>
+ */
+@Component
+public class AccessLogFilter implements HandlerFilterFunction<@NonNull ServerResponse, @NonNull ServerResponse> {
+
+    /**
+     * The name of the access logger.
+     */
+    public static final String ACCESS_LOGGER_NAME = "kp.company.access";
+
+    private static final Logger accessLogger = LoggerFactory.getLogger(ACCESS_LOGGER_NAME);
+
+    private final boolean enabled;
+    private final double sampleRate;
+
+    /**
+     * Constructor.
+     *
+     * @param companyProperties the {@link CompanyProperties}
+     */
+    public AccessLogFilter(CompanyProperties companyProperties) {
+
+        this.enabled = companyProperties.accessLog().enabled();
+        this.sampleRate = companyProperties.accessLog().sampleRate();
+    }
+
+    /**
+     * Writes the sampled request to the access log after its handling.
+     *
+     * @param request the {@link ServerRequest}
+     * @param next    the next {@link HandlerFunction}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    @Override
+    public Mono<@NonNull ServerResponse> filter(ServerRequest request, HandlerFunction<@NonNull ServerResponse> next) {
+
+        if (!isSampled()) {
+            return next.handle(request);
+        }
+        final long startNanos = System.nanoTime();
+        return next.handle(request)
+                .doOnNext(response -> accessLogger.info("{} {} {} {}us", request.method(), request.path(),
+                        response.statusCode().value(), elapsedMicros(startNanos)))
+                .doOnError(exc -> accessLogger.info("{} {} ERROR {}us exception[{}]", request.method(),
+                        request.path(), elapsedMicros(startNanos), exc.getMessage()));
+    }
+
+    /**
+     * Checks whether the request is sampled.
+     *
+     * @return true if the request is written to the access log
+     */
+    boolean isSampled() {
+
+        if (!enabled || sampleRate <= 0 || !accessLogger.isInfoEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Gets the elapsed time.
+     *
+     * @param startNanos the start in nanoseconds
+     * @return the elapsed time in microseconds
+     */
+    private static long elapsedMicros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+}
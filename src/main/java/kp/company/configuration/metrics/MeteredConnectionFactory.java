@@ -0,0 +1,188 @@
+package kp.company.configuration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReactivePubSubCommands;
+import org.springframework.data.redis.connection.ReactiveRedisClusterConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * The {@link ReactiveRedisConnectionFactory} timing the Redis commands.
+ * <p>
+ * The connections are wrapped, and so are the command interfaces they return (e.g. the string, the key,
+ * the hash and the sorted set commands). Every command returning a {@link Mono} or a {@link Flux} is timed
+ * from the subscription to the termination. The timer is tagged with the command method name
+ * (e.g. 'get', 'mSet', 'scan', 'zAdd', 'zRank', 'zRangeByScore') and with the outcome.
+ * </p>
+ * <p>
+ * The pub/sub commands are not wrapped: the subscriptions live as long as the listeners.
+ * </p>
+ */
+public class MeteredConnectionFactory implements ReactiveRedisConnectionFactory {
+
+    static final String COMMAND_TIMER = "company.redis.commands";
+    static final String COMMAND_TAG = "command";
+    static final String OUTCOME_TAG = "outcome";
+
+    private final ReactiveRedisConnectionFactory delegate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate      the wrapped {@link ReactiveRedisConnectionFactory}
+     * @param meterRegistry the {@link MeterRegistry}
+     */
+    public MeteredConnectionFactory(ReactiveRedisConnectionFactory delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Gets the metered {@link ReactiveRedisConnection}.
+     * <p>
+     * In the Redis Cluster the wrapped factory returns the cluster connection, it stays the cluster connection.
+     * </p>
+     *
+     * @return the {@link ReactiveRedisConnection}
+     */
+    @Override
+    public ReactiveRedisConnection getReactiveConnection() {
+
+        final ReactiveRedisConnection connection = delegate.getReactiveConnection();
+        return connection instanceof ReactiveRedisClusterConnection clusterConnection
+                ? wrapConnection(ReactiveRedisClusterConnection.class, clusterConnection)
+                : wrapConnection(ReactiveRedisConnection.class, connection);
+    }
+
+    /**
+     * Gets the metered {@link ReactiveRedisClusterConnection}.
+     *
+     * @return the {@link ReactiveRedisClusterConnection}
+     */
+    @Override
+    public ReactiveRedisClusterConnection getReactiveClusterConnection() {
+        return wrapConnection(ReactiveRedisClusterConnection.class, delegate.getReactiveClusterConnection());
+    }
+
+    /**
+     * Translates the exception with the wrapped {@link ReactiveRedisConnectionFactory}.
+     *
+     * @param exception the {@link RuntimeException}
+     * @return the {@link DataAccessException} or null if the exception is not translated
+     */
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException exception) {
+        return delegate.translateExceptionIfPossible(exception);
+    }
+
+    /**
+     * Wraps the connection, so the command interfaces it returns are wrapped too.
+     *
+     * @param type       the connection interface
+     * @param connection the connection
+     * @param <T>        the connection type
+     * @return the wrapped connection
+     */
+    private <T> T wrapConnection(Class<T> type, T connection) {
+
+        return createProxy(type, connection, (method, result) -> isCommandInterface(method.getReturnType())
+                ? createProxy(method.getReturnType(), result, this::timeCommand)
+                : result);
+    }
+
+    /**
+     * Times the command returning a {@link Mono} or a {@link Flux}.
+     *
+     * @param method the command method
+     * @param result the command result
+     * @return the timed command result
+     */
+    private Object timeCommand(Method method, Object result) {
+
+        final String command = method.getName();
+        return switch (result) {
+            case Mono<?> mono -> Mono.defer(() -> {
+                final Timer.Sample sample = Timer.start(meterRegistry);
+                return mono.doFinally(signalType -> record(sample, command, signalType));
+            });
+            case Flux<?> flux -> Flux.defer(() -> {
+                final Timer.Sample sample = Timer.start(meterRegistry);
+                return flux.doFinally(signalType -> record(sample, command, signalType));
+            });
+            case null, default -> result;
+        };
+    }
+
+    /**
+     * Records the command duration.
+     *
+     * @param sample     the {@link Timer.Sample} started on the subscription
+     * @param command    the command method name
+     * @param signalType the terminating {@link SignalType}
+     */
+    private void record(Timer.Sample sample, String command, SignalType signalType) {
+
+        final String outcome = switch (signalType) {
+            case ON_COMPLETE -> "SUCCESS";
+            case ON_ERROR -> "ERROR";
+            default -> "CANCELLED";
+        };
+        sample.stop(meterRegistry.timer(COMMAND_TIMER, COMMAND_TAG, command, OUTCOME_TAG, outcome));
+    }
+
+    /**
+     * Checks whether the type is the command interface to be wrapped.
+     *
+     * @param type the type
+     * @return true if it is the command interface
+     */
+    private static boolean isCommandInterface(Class<?> type) {
+        return type.isInterface() && type.getSimpleName().endsWith("Commands") && type != ReactivePubSubCommands.class;
+    }
+
+    /**
+     * Creates the proxy decorating the results of the target.
+     *
+     * @param type      the proxied interface
+     * @param target    the target
+     * @param decorator the decorator of the method results
+     * @param <T>       the proxied type
+     * @return the proxy
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T createProxy(Class<T> type, Object target, ResultDecorator decorator) {
+
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (_, method, args) -> {
+            try {
+                return decorator.decorate(method, method.invoke(target, args));
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        });
+    }
+
+    /**
+     * The decorator of the proxied method results.
+     */
+    @FunctionalInterface
+    private interface ResultDecorator {
+        /**
+         * Decorates the method result.
+         *
+         * @param method the invoked method
+         * @param result the method result
+         * @return the decorated result
+         */
+        Object decorate(Method method, Object result);
+    }
+}
@@ -0,0 +1,94 @@
+package kp.company.configuration.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kp.company.domain.SingleFlightStatistics;
+import kp.company.services.DepartmentCache;
+import kp.company.services.TeamScoreCoalescer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * Configures the metrics.
+ * <p>
+ * The meters are exposed with the actuator, e.g. on the Prometheus scrape endpoint '/actuator/prometheus'.
+ * </p>
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Creates the {@link MeteredConnectionFactory} used by all Redis operations.
+     * <p>
+     * The {@link LettuceConnectionFactory} created by Spring Boot stays available for the native connections.
+     * </p>
+     *
+     * @param lettuceConnectionFactory the {@link LettuceConnectionFactory}
+     * @param meterRegistry            the {@link MeterRegistry}
+     * @return the {@link ReactiveRedisConnectionFactory}
+     */
+    @Bean
+    @Primary
+    public ReactiveRedisConnectionFactory createMeteredConnectionFactory(
+            LettuceConnectionFactory lettuceConnectionFactory, MeterRegistry meterRegistry) {
+        return new MeteredConnectionFactory(lettuceConnectionFactory, meterRegistry);
+    }
+
+    /**
+     * Creates the {@link MeterBinder} for the statistics of the {@link DepartmentCache}
+     * and of the {@link TeamScoreCoalescer}.
+     * <p>
+     * The statistics are read on every scrape.
+     * </p>
+     *
+     * @param departmentCache    the {@link DepartmentCache}
+     * @param teamScoreCoalescer the {@link TeamScoreCoalescer}
+     * @return the {@link MeterBinder}
+     */
+    @Bean
+    public MeterBinder createStatisticsMeterBinder(DepartmentCache departmentCache,
+                                                   TeamScoreCoalescer teamScoreCoalescer) {
+
+        return meterRegistry -> {
+            Gauge.builder("company.cache.departments.size", departmentCache, cache -> cache.statistics().size())
+                    .register(meterRegistry);
+            FunctionCounter.builder("company.cache.departments.requests", departmentCache,
+                    cache -> cache.statistics().hitCount()).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("company.cache.departments.requests", departmentCache,
+                    cache -> cache.statistics().missCount()).tag("result", "miss").register(meterRegistry);
+            FunctionCounter.builder("company.cache.departments.invalidations", departmentCache,
+                    cache -> cache.statistics().invalidationCount()).register(meterRegistry);
+            FunctionCounter.builder("company.cache.departments.reads", departmentCache,
+                    cache -> cache.statistics().singleFlight().coalescedCount())
+                    .tag("result", "coalesced").register(meterRegistry);
+            FunctionCounter.builder("company.cache.departments.reads", departmentCache,
+                    cache -> startedReadCount(cache.statistics().singleFlight()))
+                    .tag("result", "started").register(meterRegistry);
+            Gauge.builder("company.scores.pending", teamScoreCoalescer,
+                    coalescer -> coalescer.statistics().pendingCount()).register(meterRegistry);
+            FunctionCounter.builder("company.scores.increments", teamScoreCoalescer,
+                    coalescer -> coalescer.statistics().acceptedCount()).tag("result", "accepted")
+                    .register(meterRegistry);
+            FunctionCounter.builder("company.scores.increments", teamScoreCoalescer,
+                    coalescer -> coalescer.statistics().rejectedCount()).tag("result", "rejected")
+                    .register(meterRegistry);
+            FunctionCounter.builder("company.scores.commands", teamScoreCoalescer,
+                    coalescer -> coalescer.statistics().commandCount()).register(meterRegistry);
+        };
+    }
+
+    /**
+     * Gets the number of the reads started by the single-flight, i.e. the calls which were not coalesced.
+     *
+     * @param statistics the {@link SingleFlightStatistics}
+     * @return the number of the started reads
+     */
+    private static long startedReadCount(SingleFlightStatistics statistics) {
+        return statistics.callCount() - statistics.coalescedCount();
+    }
+}
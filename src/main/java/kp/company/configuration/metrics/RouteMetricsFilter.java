@@ -0,0 +1,104 @@
+package kp.company.configuration.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The filter timing the routes of the router function.
+ * <p>
+ * The timer is tagged with the route pattern, the HTTP method, the status and the outcome.
+ * It measures the handler until the {@link ServerResponse} is created, so the streamed bodies
+ * (e.g. the server-sent events) are not included. The whole exchange with the written body is measured
+ * by the 'http.server.requests' timer of Spring Boot, tagged with the same route pattern.
+ * </p>
+ * <p>
+ * The gauge shows the number of the requests being handled.
+ * </p>
+ */
+@Component
+public class RouteMetricsFilter implements HandlerFilterFunction<@NonNull ServerResponse, @NonNull ServerResponse> {
+
+    static final String ROUTE_TIMER = "company.route.requests";
+    static final String ACTIVE_GAUGE = "company.route.requests.active";
+    static final String ROUTE_TAG = "route";
+    static final String OUTCOME_TAG = "outcome";
+    private static final String METHOD_TAG = "method";
+    private static final String STATUS_TAG = "status";
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry the {@link MeterRegistry}
+     */
+    public RouteMetricsFilter(MeterRegistry meterRegistry) {
+
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(ACTIVE_GAUGE, activeCount, AtomicInteger::get)
+                .description("The number of the requests being handled").register(meterRegistry);
+    }
+
+    /**
+     * Times the handler of the route.
+     *
+     * @param request the {@link ServerRequest}
+     * @param next    the next {@link HandlerFunction}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    @Override
+    public Mono<@NonNull ServerResponse> filter(ServerRequest request, HandlerFunction<@NonNull ServerResponse> next) {
+
+        return Mono.defer(() -> {
+            activeCount.incrementAndGet();
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            final AtomicReference<ServerResponse> responseReference = new AtomicReference<>();
+            return next.handle(request).doOnNext(responseReference::set)
+                    .doFinally(signalType -> {
+                        activeCount.decrementAndGet();
+                        sample.stop(timer(request, Optional.ofNullable(responseReference.get()), signalType));
+                    });
+        });
+    }
+
+    /**
+     * Gets the route {@link Timer}.
+     *
+     * @param request    the {@link ServerRequest}
+     * @param response   the optional {@link ServerResponse}
+     * @param signalType the terminating {@link SignalType}
+     * @return the {@link Timer}
+     */
+    private Timer timer(ServerRequest request, Optional<ServerResponse> response, SignalType signalType) {
+
+        final String route = request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE)
+                .map(PathPattern.class::cast).map(PathPattern::getPatternString).orElse(UNKNOWN);
+        final String status = response.map(value -> String.valueOf(value.statusCode().value())).orElse(UNKNOWN);
+        final String outcome = switch (signalType) {
+            case ON_ERROR -> "ERROR";
+            case CANCEL -> "CANCELLED";
+            default -> response.map(value -> HttpStatus.Series.resolve(value.statusCode().value()))
+                    .map(Enum::name).orElse(UNKNOWN);
+        };
+        return meterRegistry.timer(ROUTE_TIMER, ROUTE_TAG, route, METHOD_TAG, request.method().name(),
+                STATUS_TAG, status, OUTCOME_TAG, outcome);
+    }
+}
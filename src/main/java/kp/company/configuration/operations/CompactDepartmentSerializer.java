@@ -0,0 +1,95 @@
+package kp.company.configuration.operations;
+
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static kp.company.configuration.operations.CompactFormat.*;
+
+/**
+ * The compact binary {@link RedisSerializer} for the {@link Department}.
+ * <p>
+ * The layout: the format version, the name, the number of {@link Employee}s,
+ * and for every {@link Employee} the first name and the last name.
+ * </p>
+ * <p>
+ * The JSON values written before are still read with the {@link JacksonJsonRedisSerializer}.
+ * They are rewritten in the compact format on the next write.
+ * </p>
+ */
+public class CompactDepartmentSerializer implements RedisSerializer<@NonNull Department> {
+
+    private final RedisSerializer<@NonNull Department> jsonSerializer = new JacksonJsonRedisSerializer<>(Department.class);
+
+    /**
+     * Serializes the {@link Department}.
+     *
+     * @param department the {@link Department}
+     * @return the bytes
+     */
+    @Override
+    public byte @Nullable [] serialize(@Nullable Department department) {
+
+        if (department == null) {
+            return new byte[0];
+        }
+        final List<Employee> employees = department.employees() == null ? List.of() : department.employees();
+        final byte[] name = encode(department.name());
+        final byte[][] names = new byte[2 * employees.size()][];
+        int size = 1 + stringSize(name) + varIntSize(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            names[2 * i] = encode(employees.get(i).firstName());
+            names[2 * i + 1] = encode(employees.get(i).lastName());
+            size += stringSize(names[2 * i]) + stringSize(names[2 * i + 1]);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT_VERSION);
+        writeString(buffer, name);
+        writeVarInt(buffer, employees.size());
+        for (byte[] employeeName : names) {
+            writeString(buffer, employeeName);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Deserializes the {@link Department}.
+     *
+     * @param bytes the bytes in the compact format or in the JSON format
+     * @return the {@link Department}
+     */
+    @Override
+    public @Nullable Department deserialize(byte @Nullable [] bytes) {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (isJson(bytes)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        try {
+            final ByteBuffer buffer = open(bytes);
+            final String name = readString(buffer);
+            final int count = readVarInt(buffer);
+            if (count < 0 || 2L * count > buffer.remaining()) {
+                throw new SerializationException("Malformed employee count [%d]".formatted(count));
+            }
+            final List<Employee> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(new Employee(readString(buffer), readString(buffer)));
+            }
+            return new Department(name, employees);
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated department value", e);
+        }
+    }
+}
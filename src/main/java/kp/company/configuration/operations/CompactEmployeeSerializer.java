@@ -0,0 +1,69 @@
+package kp.company.configuration.operations;
+
+import kp.company.domain.Employee;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static kp.company.configuration.operations.CompactFormat.*;
+
+/**
+ * The compact binary {@link RedisSerializer} for the {@link Employee}.
+ * <p>
+ * The layout: the format version, the first name and the last name.
+ * The JSON values written before are still read with the {@link JacksonJsonRedisSerializer}.
+ * </p>
+ */
+public class CompactEmployeeSerializer implements RedisSerializer<@NonNull Employee> {
+
+    private final RedisSerializer<@NonNull Employee> jsonSerializer = new JacksonJsonRedisSerializer<>(Employee.class);
+
+    /**
+     * Serializes the {@link Employee}.
+     *
+     * @param employee the {@link Employee}
+     * @return the bytes
+     */
+    @Override
+    public byte @Nullable [] serialize(@Nullable Employee employee) {
+
+        if (employee == null) {
+            return new byte[0];
+        }
+        final byte[] firstName = encode(employee.firstName());
+        final byte[] lastName = encode(employee.lastName());
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + stringSize(firstName) + stringSize(lastName));
+        buffer.put(FORMAT_VERSION);
+        writeString(buffer, firstName);
+        writeString(buffer, lastName);
+        return buffer.array();
+    }
+
+    /**
+     * Deserializes the {@link Employee}.
+     *
+     * @param bytes the bytes in the compact format or in the JSON format
+     * @return the {@link Employee}
+     */
+    @Override
+    public @Nullable Employee deserialize(byte @Nullable [] bytes) {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (isJson(bytes)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        try {
+            final ByteBuffer buffer = open(bytes);
+            return new Employee(readString(buffer), readString(buffer));
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated employee value", e);
+        }
+    }
+}
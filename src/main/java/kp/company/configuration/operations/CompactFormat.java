@@ -0,0 +1,182 @@
+package kp.company.configuration.operations;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The compact binary format of the Redis values.
+ * <p>
+ * Every value starts with the format version byte. The integers are unsigned varints
+ * (7 bits per byte, the least significant group first), the strings are UTF-8 bytes
+ * prefixed with the varint of the length plus one (zero marks the null string).
+ * </p>
+ * <p>
+ * The value starting with the '{' byte is the JSON value written before the compact format was selected.
+ * </p>
+ */
+final class CompactFormat {
+
+    static final byte FORMAT_VERSION = 1;
+    private static final byte JSON_OBJECT_START = '{';
+    private static final int MAX_VARINT_SIZE = 5;
+
+    private CompactFormat() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks whether the bytes hold the JSON value.
+     *
+     * @param bytes the bytes
+     * @return true if the bytes hold the JSON value
+     */
+    static boolean isJson(byte[] bytes) {
+        return bytes[0] == JSON_OBJECT_START;
+    }
+
+    /**
+     * Wraps the bytes and checks the format version.
+     *
+     * @param bytes the bytes
+     * @return the {@link ByteBuffer} positioned after the format version byte
+     */
+    static ByteBuffer open(byte[] bytes) {
+
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new SerializationException("Unsupported compact format version [%d]".formatted(version));
+        }
+        return buffer;
+    }
+
+    /**
+     * Computes the size of the varint.
+     *
+     * @param value the value
+     * @return the size in bytes
+     */
+    static int varIntSize(int value) {
+
+        int size = 1;
+        for (int rest = value >>> 7; rest != 0; rest >>>= 7) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the varint.
+     *
+     * @param buffer the {@link ByteBuffer}
+     * @param value  the value
+     */
+    static void writeVarInt(ByteBuffer buffer, int value) {
+
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            buffer.put((byte) ((rest & 0x7F) | 0x80));
+            rest >>>= 7;
+        }
+        buffer.put((byte) rest);
+    }
+
+    /**
+     * Reads the varint.
+     *
+     * @param buffer the {@link ByteBuffer}
+     * @return the value
+     */
+    static int readVarInt(ByteBuffer buffer) {
+
+        int value = 0;
+        for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+            final byte current = buffer.get();
+            value |= (current & 0x7F) << (7 * i);
+            if (current >= 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+
+    /**
+     * Maps the signed integer to the unsigned integer, so the small negative values get short varints.
+     *
+     * @param value the signed value
+     * @return the zigzag value
+     */
+    static int zigZagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Maps the zigzag value back to the signed integer.
+     *
+     * @param value the zigzag value
+     * @return the signed value
+     */
+    static int zigZagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Encodes the string.
+     *
+     * @param value the string or null
+     * @return the UTF-8 bytes or null
+     */
+    static byte @Nullable [] encode(@Nullable String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes the size of the encoded string with its length prefix.
+     *
+     * @param encoded the UTF-8 bytes or null
+     * @return the size in bytes
+     */
+    static int stringSize(byte @Nullable [] encoded) {
+        return encoded == null ? 1 : varIntSize(encoded.length + 1) + encoded.length;
+    }
+
+    /**
+     * Writes the encoded string with its length prefix.
+     *
+     * @param buffer  the {@link ByteBuffer}
+     * @param encoded the UTF-8 bytes or null
+     */
+    static void writeString(ByteBuffer buffer, byte @Nullable [] encoded) {
+
+        if (encoded == null) {
+            writeVarInt(buffer, 0);
+            return;
+        }
+        writeVarInt(buffer, encoded.length + 1);
+        buffer.put(encoded);
+    }
+
+    /**
+     * Reads the string with its length prefix.
+     *
+     * @param buffer the {@link ByteBuffer}
+     * @return the string or null
+     */
+    static @Nullable String readString(ByteBuffer buffer) {
+
+        final int lengthPlusOne = readVarInt(buffer);
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        final int length = lengthPlusOne - 1;
+        if (length > buffer.remaining()) {
+            throw new SerializationException("Truncated string of length [%d]".formatted(length));
+        }
+        final String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
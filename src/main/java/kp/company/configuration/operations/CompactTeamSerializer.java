@@ -0,0 +1,71 @@
+package kp.company.configuration.operations;
+
+import kp.company.domain.Team;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static kp.company.configuration.operations.CompactFormat.*;
+
+/**
+ * The compact binary {@link RedisSerializer} for the {@link Team}.
+ * <p>
+ * The layout: the format version and the zigzag varint of the id.
+ * The team with the id below 64 takes two bytes instead of the JSON object.
+ * </p>
+ * <p>
+ * The {@link Team} is the member of the sorted set, and Redis compares the members byte by byte.
+ * The JSON members written before are read, but a lookup of the same {@link Team} encoded in the compact format
+ * does not match them, so the sorted set must be rewritten (e.g. the dataset reloaded) after switching the format.
+ * </p>
+ */
+public class CompactTeamSerializer implements RedisSerializer<@NonNull Team> {
+
+    private final RedisSerializer<@NonNull Team> jsonSerializer = new JacksonJsonRedisSerializer<>(Team.class);
+
+    /**
+     * Serializes the {@link Team}.
+     *
+     * @param team the {@link Team}
+     * @return the bytes
+     */
+    @Override
+    public byte @Nullable [] serialize(@Nullable Team team) {
+
+        if (team == null) {
+            return new byte[0];
+        }
+        final int id = zigZagEncode(team.id());
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + varIntSize(id));
+        buffer.put(FORMAT_VERSION);
+        writeVarInt(buffer, id);
+        return buffer.array();
+    }
+
+    /**
+     * Deserializes the {@link Team}.
+     *
+     * @param bytes the bytes in the compact format or in the JSON format
+     * @return the {@link Team}
+     */
+    @Override
+    public @Nullable Team deserialize(byte @Nullable [] bytes) {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (isJson(bytes)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        try {
+            return new Team(zigZagDecode(readVarInt(open(bytes))));
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated team value", e);
+        }
+    }
+}
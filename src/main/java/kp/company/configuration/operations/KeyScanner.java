@@ -0,0 +1,289 @@
+package kp.company.configuration.operations;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.masterreplica.MasterReplica;
+import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.configuration.properties.CompanyProperties.Topology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static kp.Constants.SCAN_CURSOR_START;
+
+/**
+ * Scans the keys page by page.
+ * <p>
+ * The {@link org.springframework.data.redis.core.ReactiveRedisOperations#scan(ScanOptions)} iterates
+ * the whole keyspace and does not expose the Redis SCAN cursor. This scanner issues single SCAN commands
+ * on a native Lettuce connection, so the cursor can be handed to the client as a continuation token.
+ * </p>
+ * <p>
+ * In the Redis Cluster every primary has its own keyspace and its own SCAN cursor. The primaries are scanned
+ * one after another, ordered by their node ids, and the continuation token is 'node index:node cursor'.
+ * The resharding or the failover during the scan may skip or repeat keys.
+ * </p>
+ */
+@Component
+public class KeyScanner implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final Pattern CURSOR_PATTERN = Pattern.compile("(?:(\\d{1,9}):)?(\\d+)");
+    private static final int NODE_INDEX_GROUP = 1;
+    private static final int NODE_CURSOR_GROUP = 2;
+    private static final Duration CONNECTION_TTL = Duration.ofMillis(Long.MAX_VALUE);
+    private static final String NODE_CURSOR_SEPARATOR = ":";
+
+    private final LettuceConnectionFactory lettuceConnectionFactory;
+    private final CompanyProperties.Redis redisProperties;
+    private final AtomicReference<StatefulConnection<String, String>> connectionReference = new AtomicReference<>();
+    private final Mono<StatefulConnection<String, String>> connectionMono;
+
+    /**
+     * The page of scanned keys.
+     *
+     * @param cursor the cursor for the next SCAN command ("0" after the last page)
+     * @param keys   the scanned keys
+     */
+    public record Page(String cursor, List<String> keys) {
+    }
+
+    /**
+     * The cursor of one primary in the Redis Cluster.
+     *
+     * @param nodeIndex the index of the primary
+     * @param cursor    the SCAN cursor of the primary
+     */
+    record NodeCursor(int nodeIndex, String cursor) {
+
+        /**
+         * Parses the continuation token, the plain cursor "0" starts with the first primary.
+         *
+         * @param token the continuation token
+         * @return the {@link NodeCursor}
+         */
+        static NodeCursor parse(String token) {
+
+            final int separatorIndex = token.indexOf(NODE_CURSOR_SEPARATOR);
+            return separatorIndex < 0
+                    ? new NodeCursor(0, token)
+                    : new NodeCursor(Integer.parseInt(token.substring(0, separatorIndex)),
+                    token.substring(separatorIndex + 1));
+        }
+
+        /**
+         * Gets the continuation token after the scanned page of this primary.
+         *
+         * @param nodeCount     the number of the primaries
+         * @param keyScanCursor the {@link KeyScanCursor} of the scanned page
+         * @return the continuation token, "0" after the last page of the last primary
+         */
+        String next(int nodeCount, KeyScanCursor<String> keyScanCursor) {
+
+            if (!keyScanCursor.isFinished()) {
+                return nodeIndex + NODE_CURSOR_SEPARATOR + keyScanCursor.getCursor();
+            }
+            return nodeIndex + 1 < nodeCount
+                    ? (nodeIndex + 1) + NODE_CURSOR_SEPARATOR + SCAN_CURSOR_START
+                    : SCAN_CURSOR_START;
+        }
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * The native connection is opened lazily on the first scan. The blocking connect runs on the blocking
+     * {@link Scheduler}, never on the Netty event loop. Only the opened connection is cached,
+     * after the failed connect the next scan connects again.
+     * </p>
+     *
+     * @param lettuceConnectionFactory the {@link LettuceConnectionFactory}
+     * @param blockingScheduler        the {@link Scheduler} of the blocking sections
+     * @param companyProperties        the {@link CompanyProperties}
+     */
+    public KeyScanner(LettuceConnectionFactory lettuceConnectionFactory, Scheduler blockingScheduler,
+                      CompanyProperties companyProperties) {
+
+        this.lettuceConnectionFactory = lettuceConnectionFactory;
+        this.redisProperties = companyProperties.redis();
+        this.connectionMono = Mono.fromCallable(this::connect).subscribeOn(blockingScheduler)
+                .cache(_ -> CONNECTION_TTL, _ -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * Checks whether the continuation token is valid.
+     * <p>
+     * The cursor is the unsigned 64-bit number. The node index is accepted only in the Redis Cluster.
+     * </p>
+     *
+     * @param cursor  the continuation token, the cursor or 'node index:node cursor' in the Redis Cluster
+     * @param cluster the flag of the Redis Cluster topology
+     * @return true if the continuation token is valid
+     */
+    public static boolean isValidCursor(String cursor, boolean cluster) {
+
+        final Matcher matcher = CURSOR_PATTERN.matcher(cursor);
+        if (!matcher.matches() || (!cluster && matcher.group(NODE_INDEX_GROUP) != null)) {
+            return false;
+        }
+        try {
+            Long.parseUnsignedLong(matcher.group(NODE_CURSOR_GROUP));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Scans one page of keys.
+     *
+     * @param cursor      the cursor returned with the previous page ("0" for the first page)
+     * @param scanOptions the {@link ScanOptions} with the count hint, the type and the pattern
+     * @return the {@link Page} {@link Mono}
+     */
+    public Mono<Page> scan(String cursor, ScanOptions scanOptions) {
+
+        final KeyScanArgs scanArgs = new KeyScanArgs();
+        Optional.ofNullable(scanOptions.getCount()).ifPresent(scanArgs::limit);
+        Optional.ofNullable(scanOptions.getType()).ifPresent(type -> scanArgs.type(type.code()));
+        Optional.ofNullable(scanOptions.getPattern()).ifPresent(scanArgs::match);
+        return connectionMono.flatMap(connection -> switch (connection) {
+            case StatefulRedisClusterConnection<String, String> clusterConnection ->
+                    scanClusterNode(clusterConnection, NodeCursor.parse(cursor), scanArgs);
+            case StatefulRedisConnection<String, String> redisConnection ->
+                    redisConnection.reactive().scan(ScanCursor.of(cursor), scanArgs).map(KeyScanner::toPage);
+            default -> Mono.error(new IllegalStateException(
+                    "Unsupported Redis connection[%s]".formatted(connection.getClass().getName())));
+        });
+    }
+
+    /**
+     * Closes the native connection.
+     */
+    @Override
+    public void destroy() {
+        Optional.ofNullable(connectionReference.getAndSet(null)).ifPresent(StatefulConnection::close);
+    }
+
+    /**
+     * Scans one page of keys on one primary of the Redis Cluster.
+     *
+     * @param connection the {@link StatefulRedisClusterConnection}
+     * @param nodeCursor the {@link NodeCursor}
+     * @param scanArgs   the {@link KeyScanArgs}
+     * @return the {@link Page} {@link Mono}
+     */
+    private static Mono<Page> scanClusterNode(StatefulRedisClusterConnection<String, String> connection,
+                                              NodeCursor nodeCursor, KeyScanArgs scanArgs) {
+
+        final List<String> nodeIds = connection.getPartitions().stream()
+                .filter(node -> node.is(RedisClusterNode.NodeFlag.UPSTREAM) && !node.getSlots().isEmpty())
+                .map(RedisClusterNode::getNodeId)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        if (nodeCursor.nodeIndex() >= nodeIds.size()) {
+            return Mono.just(new Page(SCAN_CURSOR_START, List.of()));
+        }
+        return Mono.fromFuture(() -> connection.getConnectionAsync(nodeIds.get(nodeCursor.nodeIndex())))
+                .flatMap(nodeConnection -> nodeConnection.reactive()
+                        .scan(ScanCursor.of(nodeCursor.cursor()), scanArgs))
+                .map(keyScanCursor -> new Page(nodeCursor.next(nodeIds.size(), keyScanCursor),
+                        keyScanCursor.getKeys()));
+    }
+
+    /**
+     * Connects with the native client of the {@link LettuceConnectionFactory}.
+     * <p>
+     * The master/replica connection reads from the same nodes as the Redis operations.
+     * It discovers the replicas from the primary, connected with the settings of the {@link LettuceConnectionFactory}.
+     * </p>
+     *
+     * @return the {@link StatefulConnection}
+     */
+    private StatefulConnection<String, String> connect() {
+
+        final AbstractRedisClient redisClient = lettuceConnectionFactory.getRequiredNativeClient();
+        final StatefulConnection<String, String> connection = switch (redisClient) {
+            case RedisClusterClient clusterClient -> clusterClient.connect(StringCodec.UTF8);
+            case RedisClient client when redisProperties.topology() == Topology.MASTER_REPLICA -> {
+                final StatefulRedisMasterReplicaConnection<String, String> masterReplicaConnection =
+                        MasterReplica.connect(client, StringCodec.UTF8, createPrimaryUri());
+                masterReplicaConnection.setReadFrom(ReadFrom.valueOf(redisProperties.readFrom()));
+                yield masterReplicaConnection;
+            }
+            case RedisClient client -> client.connect(StringCodec.UTF8);
+            default -> throw new IllegalStateException(
+                    "Unsupported Redis client[%s]".formatted(redisClient.getClass().getName()));
+        };
+        connectionReference.set(connection);
+        logger.debug("connect(): connected");
+        return connection;
+    }
+
+    /**
+     * Creates the {@link RedisURI} of the primary from the configuration of the {@link LettuceConnectionFactory},
+     * with its credentials, SSL, timeout and client name.
+     *
+     * @return the {@link RedisURI}
+     */
+    private RedisURI createPrimaryUri() {
+
+        final RedisStandaloneConfiguration standaloneConfiguration =
+                lettuceConnectionFactory.getStandaloneConfiguration();
+        final LettuceClientConfiguration clientConfiguration = lettuceConnectionFactory.getClientConfiguration();
+        final RedisURI.Builder builder = RedisURI.builder()
+                .withHost(standaloneConfiguration.getHostName())
+                .withPort(standaloneConfiguration.getPort())
+                .withDatabase(standaloneConfiguration.getDatabase())
+                .withSsl(clientConfiguration.isUseSsl())
+                .withVerifyPeer(clientConfiguration.getVerifyMode())
+                .withStartTls(clientConfiguration.isStartTls())
+                .withTimeout(clientConfiguration.getCommandTimeout());
+        standaloneConfiguration.getPassword().toOptional().ifPresent(password -> Optional
+                .ofNullable(standaloneConfiguration.getUsername())
+                .ifPresentOrElse(username -> builder.withAuthentication(username, password),
+                        () -> builder.withPassword(password)));
+        clientConfiguration.getClientName().ifPresent(builder::withClientName);
+        return builder.build();
+    }
+
+    /**
+     * Converts the {@link KeyScanCursor} to the {@link Page}.
+     *
+     * @param keyScanCursor the {@link KeyScanCursor}
+     * @return the {@link Page}
+     */
+    private static Page toPage(KeyScanCursor<String> keyScanCursor) {
+
+        final String cursor = keyScanCursor.isFinished() ? SCAN_CURSOR_START : keyScanCursor.getCursor();
+        return new Page(cursor, keyScanCursor.getKeys());
+    }
+}
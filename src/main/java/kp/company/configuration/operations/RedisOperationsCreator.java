@@ -1,14 +1,22 @@
 package kp.company.configuration.operations;
 
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.configuration.properties.CompanyProperties.Serialization;
 import kp.company.domain.Department;
 import kp.company.domain.Employee;
 import kp.company.domain.Team;
+import kp.company.domain.TeamChange;
 import org.jspecify.annotations.NonNull;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveListOperations;
 import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
 import org.springframework.data.redis.core.ReactiveZSetOperations;
 import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -16,12 +24,19 @@ import org.springframework.data.redis.serializer.RedisSerializationContext.Redis
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import static kp.Constants.LISTING_VERSIONS_OPERATIONS_BEAN;
+
 /**
  * Creates Redis operations:
  * <ul>
  * <li>{@link ReactiveRedisOperations}</li>
  * <li>{@link ReactiveZSetOperations}</li>
+ * <li>{@link ReactiveHashOperations}</li>
+ * <li>{@link ReactiveListOperations}</li>
  * </ul>
+ * <p>
+ * The values are serialized to JSON or to the compact binary format, selected by 'company.redis.serialization'.
+ * </p>
  */
 @Configuration
 public class RedisOperationsCreator {
@@ -32,53 +47,222 @@ public class RedisOperationsCreator {
      * Creates {@link ReactiveRedisOperations} for {@link Department} with {@link Employee}s.
      *
      * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @param companyProperties              the {@link CompanyProperties}
      * @return the {@link ReactiveRedisOperations} for {@link Department} with {@link Employee}s
      */
     @Bean
     public ReactiveRedisOperations<@NonNull String, @NonNull Department> createRedisOperationsForDepartment(
-            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, CompanyProperties companyProperties) {
 
-        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, createDepartmentSerializationContext());
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory,
+                createDepartmentSerializationContext(companyProperties.redis().serialization()));
     }
 
     /**
      * Creates {@link ReactiveZSetOperations} for {@link Team}.
      *
      * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @param companyProperties              the {@link CompanyProperties}
      * @return the {@link ReactiveZSetOperations} for {@link Team}
      */
     @Bean
     public ReactiveZSetOperations<String, Team> createRedisOperationsForTeam(
-            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, CompanyProperties companyProperties) {
 
-        final ReactiveRedisOperations<@NonNull String, @NonNull Team> reactiveRedisOperations = new ReactiveRedisTemplate<>(
-                reactiveRedisConnectionFactory, createTeamSerializationContext());
+        final ReactiveRedisOperations<@NonNull String, @NonNull Team> reactiveRedisOperations =
+                new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory,
+                        createTeamSerializationContext(companyProperties.redis().serialization()));
         return reactiveRedisOperations.opsForZSet();
     }
 
+    /**
+     * Creates {@link ReactiveHashOperations} for the {@link Employee} index.
+     * <p>
+     * The index of one {@link Department} is the hash with the normalized names as the fields
+     * and the {@link Employee}s as the values.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @param companyProperties              the {@link CompanyProperties}
+     * @return the {@link ReactiveHashOperations} for the {@link Employee} index
+     */
+    @Bean
+    public ReactiveHashOperations<String, String, Employee> createRedisOperationsForEmployeeIndex(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, CompanyProperties companyProperties) {
+
+        final ReactiveRedisOperations<@NonNull String, @NonNull Employee> reactiveRedisOperations =
+                new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory,
+                        createEmployeeSerializationContext(companyProperties.redis().serialization()));
+        return reactiveRedisOperations.opsForHash();
+    }
+
+    /**
+     * Creates {@link ReactiveListOperations} for the {@link Employee} lists.
+     * <p>
+     * In the 'hash' layout the {@link Employee}s of one {@link Department} are the list.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @param companyProperties              the {@link CompanyProperties}
+     * @return the {@link ReactiveListOperations} for the {@link Employee} lists
+     */
+    @Bean
+    public ReactiveListOperations<String, Employee> createRedisOperationsForEmployeeList(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, CompanyProperties companyProperties) {
+
+        final ReactiveRedisOperations<@NonNull String, @NonNull Employee> reactiveRedisOperations =
+                new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory,
+                        createEmployeeSerializationContext(companyProperties.redis().serialization()));
+        return reactiveRedisOperations.opsForList();
+    }
+
+    /**
+     * Creates {@link ReactiveHashOperations} for the {@link Department} name index.
+     * <p>
+     * The index is the hash with the {@link Department} names as the fields
+     * and the {@link Department} keys as the values.
+     * The same operations write and read the {@link Department} hashes of the 'hash' layout.
+     * They are the primary string hash operations, the listing versions have their own bean.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @return the {@link ReactiveHashOperations} for the {@link Department} name index
+     */
+    @Bean
+    @Primary
+    public ReactiveHashOperations<String, String, String> createRedisOperationsForDepartmentNameIndex(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+
+        return new ReactiveStringRedisTemplate(reactiveRedisConnectionFactory).opsForHash();
+    }
+
+    /**
+     * Creates {@link ReactiveHashOperations} for the listing versions.
+     * <p>
+     * The versions are the hash with the listing names as the fields and the version tokens as the values.
+     * The bean is injected by its name {@link kp.Constants#LISTING_VERSIONS_OPERATIONS_BEAN}.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @return the {@link ReactiveHashOperations} for the listing versions
+     */
+    @Bean(LISTING_VERSIONS_OPERATIONS_BEAN)
+    public ReactiveHashOperations<String, String, String> createRedisOperationsForListingVersions(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+
+        return new ReactiveStringRedisTemplate(reactiveRedisConnectionFactory).opsForHash();
+    }
+
+    /**
+     * Creates {@link ReactiveZSetOperations} for the {@link Department} name lexicographical index.
+     * <p>
+     * The index is the sorted set with all scores equal to zero, so the members are ordered lexicographically.
+     * The member is the {@link Department} name and the {@link Department} key joined with the NUL character.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @return the {@link ReactiveZSetOperations} for the {@link Department} name lexicographical index
+     */
+    @Bean
+    public ReactiveZSetOperations<String, String> createRedisOperationsForDepartmentNameLexIndex(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+
+        return new ReactiveStringRedisTemplate(reactiveRedisConnectionFactory).opsForZSet();
+    }
+
+    /**
+     * Creates {@link ReactiveValueOperations} for the raw value bytes.
+     * <p>
+     * The values are read as stored, without any decoding.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @return the {@link ReactiveValueOperations} for the raw value bytes
+     */
+    @Bean
+    public ReactiveValueOperations<String, byte[]> createRedisOperationsForRawValues(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+
+        final RedisSerializationContext<@NonNull String, byte @NonNull []> serializationContext =
+                RedisSerializationContext.<@NonNull String, byte @NonNull []>newSerializationContext(KEY_SERIALIZER)
+                        .value(RedisSerializer.byteArray()).build();
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext).opsForValue();
+    }
+
+    /**
+     * Creates {@link ReactiveRedisOperations} for the {@link TeamChange}s published on the change channel.
+     * <p>
+     * One message carries the {@link TeamChange}s of one flush of the score increments, serialized as the JSON array.
+     * </p>
+     *
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @return the {@link ReactiveRedisOperations} for the {@link TeamChange}s
+     */
+    @Bean
+    public ReactiveRedisOperations<@NonNull String, @NonNull TeamChange[]> createRedisOperationsForTeamChanges(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+
+        final RedisSerializationContextBuilder<@NonNull String, @NonNull TeamChange[]> serializationContextBuilder =
+                RedisSerializationContext.newSerializationContext(KEY_SERIALIZER);
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContextBuilder
+                .value(new JacksonJsonRedisSerializer<>(TeamChange[].class)).build());
+    }
+
     /**
      * Creates {@link RedisSerializationContext} for {@link Department}.
      *
+     * @param serialization the {@link Serialization}
      * @return the {@link RedisSerializationContext} for {@link Department}
      */
-    private RedisSerializationContext<@NonNull String, @NonNull Department> createDepartmentSerializationContext() {
+    RedisSerializationContext<@NonNull String, @NonNull Department> createDepartmentSerializationContext(
+            Serialization serialization) {
 
         final RedisSerializationContextBuilder<@NonNull String, @NonNull Department> serializationContextBuilder =
                 RedisSerializationContext.newSerializationContext(KEY_SERIALIZER);
-        final RedisSerializer<@NonNull Department> departmentSerializer = new JacksonJsonRedisSerializer<>(Department.class);
+        final RedisSerializer<@NonNull Department> departmentSerializer = switch (serialization) {
+            case JSON -> new JacksonJsonRedisSerializer<>(Department.class);
+            case COMPACT -> new CompactDepartmentSerializer();
+        };
         return serializationContextBuilder.value(departmentSerializer).build();
     }
 
     /**
      * Creates {@link RedisSerializationContext} for {@link Team}.
      *
+     * @param serialization the {@link Serialization}
      * @return the {@link RedisSerializationContext} for {@link Team}
      */
-    private RedisSerializationContext<@NonNull String, @NonNull Team> createTeamSerializationContext() {
+    RedisSerializationContext<@NonNull String, @NonNull Team> createTeamSerializationContext(
+            Serialization serialization) {
 
         final RedisSerializationContextBuilder<@NonNull String, @NonNull Team> serializationContextBuilder =
                 RedisSerializationContext.newSerializationContext(KEY_SERIALIZER);
-        final RedisSerializer<@NonNull Team> teamSerializer = new JacksonJsonRedisSerializer<>(Team.class);
+        final RedisSerializer<@NonNull Team> teamSerializer = switch (serialization) {
+            case JSON -> new JacksonJsonRedisSerializer<>(Team.class);
+            case COMPACT -> new CompactTeamSerializer();
+        };
         return serializationContextBuilder.value(teamSerializer).build();
     }
+
+    /**
+     * Creates {@link RedisSerializationContext} for {@link Employee}.
+     * <p>
+     * The {@link Employee} is the value and the hash value, the hash key is the string.
+     * </p>
+     *
+     * @param serialization the {@link Serialization}
+     * @return the {@link RedisSerializationContext} for {@link Employee}
+     */
+    RedisSerializationContext<@NonNull String, @NonNull Employee> createEmployeeSerializationContext(
+            Serialization serialization) {
+
+        final RedisSerializationContextBuilder<@NonNull String, @NonNull Employee> serializationContextBuilder =
+                RedisSerializationContext.newSerializationContext(KEY_SERIALIZER);
+        final RedisSerializer<@NonNull Employee> employeeSerializer = switch (serialization) {
+            case JSON -> new JacksonJsonRedisSerializer<>(Employee.class);
+            case COMPACT -> new CompactEmployeeSerializer();
+        };
+        return serializationContextBuilder.value(employeeSerializer)
+                .hashKey(KEY_SERIALIZER).hashValue(employeeSerializer).build();
+    }
 }
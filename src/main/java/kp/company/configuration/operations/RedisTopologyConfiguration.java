@@ -0,0 +1,57 @@
+package kp.company.configuration.operations;
+
+import io.lettuce.core.ReadFrom;
+import kp.company.configuration.properties.CompanyProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.data.redis.autoconfigure.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Configures the reads from the master/replica or from the cluster Redis topology.
+ * <p>
+ * It is active only for the topology other than standalone ('company.redis.topology').
+ * The connection itself is configured by Spring Boot ('spring.data.redis'), so the username, the password,
+ * the SSL, the timeouts and the client name apply to every topology:
+ * </p>
+ * <ul>
+ * <li>the cluster: the seed nodes in 'spring.data.redis.cluster.nodes'</li>
+ * <li>the master/replica: the primary in 'spring.data.redis.host', the replicas are discovered from it</li>
+ * </ul>
+ * <p>
+ * Lettuce routes the commands: the reads go to the nodes selected by 'company.redis.read-from'
+ * (the replicas by default) and the writes always go to the primary (in the cluster, to the primary of the slot).
+ * So the reads of the department, employee and team handlers are served by the replicas, and the writes
+ * of the dataset loading and of the score ingestion go to the primaries.
+ * The replicas lag behind the primary, so the value written a moment ago may be read stale.
+ * </p>
+ */
+@Configuration
+@ConditionalOnExpression("!'${company.redis.topology:standalone}'.equalsIgnoreCase('standalone')")
+public class RedisTopologyConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /**
+     * Creates the {@link LettuceClientConfigurationBuilderCustomizer} selecting the nodes for the reads.
+     * <p>
+     * With the 'ReadFrom' setting the standalone connection of Spring Boot becomes the master/replica connection
+     * discovering the replicas of the primary.
+     * </p>
+     *
+     * @param companyProperties the {@link CompanyProperties}
+     * @return the {@link LettuceClientConfigurationBuilderCustomizer}
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer createReadFromCustomizer(CompanyProperties companyProperties) {
+
+        final CompanyProperties.Redis redisProperties = companyProperties.redis();
+        final ReadFrom readFrom = ReadFrom.valueOf(redisProperties.readFrom());
+        logger.info("createReadFromCustomizer(): topology[{}], readFrom[{}]",
+                redisProperties.topology(), redisProperties.readFrom());
+        return builder -> builder.readFrom(readFrom);
+    }
+}
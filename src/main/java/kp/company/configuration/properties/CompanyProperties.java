@@ -0,0 +1,237 @@
+package kp.company.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The company application properties.
+ * <p>
+ * The properties are bound from the configuration entries with the 'company' prefix.
+ * </p>
+ *
+ * @param departments the {@link Departments} properties
+ * @param loading     the {@link Loading} properties
+ * @param redis       the {@link Redis} properties
+ * @param cache       the {@link Cache} properties
+ * @param scores      the {@link Scores} properties
+ * @param feed        the {@link Feed} properties
+ * @param accessLog   the {@link AccessLog} properties
+ * @param http        the {@link Http} properties
+ * @param execution   the {@link Execution} properties
+ */
+@ConfigurationProperties(prefix = "company")
+public record CompanyProperties(@DefaultValue Departments departments,
+                                @DefaultValue Loading loading,
+                                @DefaultValue Redis redis,
+                                @DefaultValue Cache cache,
+                                @DefaultValue Scores scores,
+                                @DefaultValue Feed feed,
+                                @DefaultValue AccessLog accessLog,
+                                @DefaultValue Http http,
+                                @DefaultValue Execution execution) {
+
+    /**
+     * The properties for reading the {@link kp.company.domain.Department}s.
+     *
+     * @param batchSize        the number of scanned keys resolved with one MGET command
+     *                         (the value 1 selects one GET command per key)
+     * @param batchConcurrency the maximum number of MGET commands in flight
+     * @param passThrough      the flag enabling the pass-through of the stored JSON value of the
+     *                         {@link kp.company.domain.Department} read by its key, it has effect only with
+     *                         the JSON serialization and the string layout
+     */
+    public record Departments(@DefaultValue("100") int batchSize,
+                              @DefaultValue("4") int batchConcurrency,
+                              @DefaultValue("false") boolean passThrough) {
+    }
+
+    /**
+     * The properties for the dataset loading.
+     *
+     * @param chunkRecords     the number of records (employees or teams) written with one MSET or ZADD command
+     * @param writeConcurrency the maximum number of write commands in flight
+     */
+    public record Loading(@DefaultValue("10000") int chunkRecords,
+                          @DefaultValue("4") int writeConcurrency) {
+    }
+
+    /**
+     * The properties for the Redis values and the Redis topology.
+     * <p>
+     * The connection of every topology is configured by Spring Boot ('spring.data.redis'): the cluster topology
+     * with the seed nodes in 'spring.data.redis.cluster.nodes', the master/replica topology with the primary
+     * in 'spring.data.redis.host'.
+     * </p>
+     *
+     * @param serialization the {@link Serialization} of the values
+     * @param layout        the {@link Layout} of the {@link kp.company.domain.Department}s
+     * @param topology      the {@link Topology}
+     * @param readFrom      the Lettuce 'ReadFrom' setting selecting the nodes for the reads, e.g. 'replicaPreferred'
+     *                      or 'upstream', the writes always go to the primary
+     */
+    public record Redis(@DefaultValue("json") Serialization serialization,
+                        @DefaultValue("string") Layout layout,
+                        @DefaultValue("standalone") Topology topology,
+                        @DefaultValue("replicaPreferred") String readFrom) {
+
+        private static final Set<String> UPSTREAM_READ_FROM = Set.of("upstream", "master");
+
+        /**
+         * Checks whether all reads go to one node, the primary.
+         *
+         * @return true for the standalone topology and for the master/replica topology reading from the primary
+         */
+        public boolean readsFromSingleNode() {
+            return topology == Topology.STANDALONE || (topology == Topology.MASTER_REPLICA
+                    && UPSTREAM_READ_FROM.contains(readFrom.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * The properties for the near cache of the {@link kp.company.domain.Department}s.
+     *
+     * @param enabled                the flag enabling the near cache
+     * @param maximumSize            the maximum number of cached {@link kp.company.domain.Department}s
+     * @param timeToLive             the time after which the cached {@link kp.company.domain.Department} expires
+     * @param listenerEnabled        the flag enabling the invalidation by the Redis keyspace notifications
+     * @param configureNotifications the flag enabling the keyspace notifications on the Redis server
+     *                               with the CONFIG SET command
+     * @param minBackoff             the first delay before resubscribing the failed listener
+     * @param maxBackoff             the maximum delay before resubscribing the failed listener
+     * @param singleFlight           the flag enabling the single-flight: the concurrent reads of the same key
+     *                               share one Redis command
+     */
+    public record Cache(@DefaultValue("true") boolean enabled,
+                        @DefaultValue("10000") long maximumSize,
+                        @DefaultValue("60s") Duration timeToLive,
+                        @DefaultValue("true") boolean listenerEnabled,
+                        @DefaultValue("false") boolean configureNotifications,
+                        @DefaultValue("1s") Duration minBackoff,
+                        @DefaultValue("30s") Duration maxBackoff,
+                        @DefaultValue("true") boolean singleFlight) {
+    }
+
+    /**
+     * The properties for the ingestion of the {@link kp.company.domain.Team} score increments.
+     *
+     * @param flushInterval        the window in which the increments of the same team are coalesced
+     * @param flushConcurrency     the maximum number of ZINCRBY commands in flight during one flush
+     * @param maxPendingIncrements the maximum number of accepted increments not yet acknowledged by Redis,
+     *                             above it the new increments are rejected
+     */
+    public record Scores(@DefaultValue("50ms") Duration flushInterval,
+                         @DefaultValue("256") int flushConcurrency,
+                         @DefaultValue("100000") long maxPendingIncrements) {
+    }
+
+    /**
+     * The properties for the change feed of the {@link kp.company.domain.Team} leaderboard.
+     *
+     * @param enabled           the flag enabling the publishing and the streaming of the changes
+     * @param heartbeatInterval the interval of the heartbeat comments keeping the idle event streams open
+     * @param maxConflatedTeams the maximum number of conflated changes waiting for one slow subscriber,
+     *                          above it the event stream of the subscriber is completed
+     * @param minBackoff        the first delay before resubscribing the failed channel subscription
+     * @param maxBackoff        the maximum delay before resubscribing the failed channel subscription
+     */
+    public record Feed(@DefaultValue("true") boolean enabled,
+                       @DefaultValue("15s") Duration heartbeatInterval,
+                       @DefaultValue("10000") int maxConflatedTeams,
+                       @DefaultValue("1s") Duration minBackoff,
+                       @DefaultValue("30s") Duration maxBackoff) {
+    }
+
+    /**
+     * The properties for the access log.
+     *
+     * @param enabled    the flag enabling the access log
+     * @param sampleRate the fraction of the requests written to the access log, from 0 to 1
+     */
+    public record AccessLog(@DefaultValue("true") boolean enabled,
+                            @DefaultValue("0.01") double sampleRate) {
+    }
+
+    /**
+     * The properties for the HTTP responses of the {@link kp.company.domain.Department} and
+     * {@link kp.company.domain.Team} listings.
+     * <p>
+     * The response compression is configured by Spring Boot ('server.compression').
+     * </p>
+     *
+     * @param etagEnabled the flag enabling the ETag of the listings and the 'Not Modified' responses
+     */
+    public record Http(@DefaultValue("false") boolean etagEnabled) {
+    }
+
+    /**
+     * The properties for the execution of the blocking sections.
+     *
+     * @param blockingScheduler the {@link BlockingScheduler} running the blocking sections
+     */
+    public record Execution(@DefaultValue("bounded-elastic") BlockingScheduler blockingScheduler) {
+    }
+
+    /**
+     * The Redis topology.
+     */
+    public enum Topology {
+        /**
+         * One Redis node.
+         */
+        STANDALONE,
+        /**
+         * The primary with its replicas.
+         */
+        MASTER_REPLICA,
+        /**
+         * The Redis Cluster.
+         */
+        CLUSTER
+    }
+
+    /**
+     * The layout of the {@link kp.company.domain.Department}s in Redis.
+     */
+    public enum Layout {
+        /**
+         * One string value per {@link kp.company.domain.Department}, with all its employees.
+         */
+        STRING,
+        /**
+         * The hash with the {@link kp.company.domain.Department} fields and the list of its employees.
+         */
+        HASH
+    }
+
+    /**
+     * The scheduler of the blocking sections, they never run on the Netty event loops.
+     */
+    public enum BlockingScheduler {
+        /**
+         * The bounded pool of the platform threads, created on demand and evicted when idle.
+         */
+        BOUNDED_ELASTIC,
+        /**
+         * One new virtual thread per task.
+         */
+        VIRTUAL_THREADS
+    }
+
+    /**
+     * The serialization of the Redis values.
+     */
+    public enum Serialization {
+        /**
+         * The JSON serialization.
+         */
+        JSON,
+        /**
+         * The compact binary serialization, it reads the JSON values too.
+         */
+        COMPACT
+    }
+}
@@ -1,5 +1,8 @@
 package kp.company.configuration.routers;
 
+import kp.company.configuration.http.ListingETagFilter;
+import kp.company.configuration.logging.AccessLogFilter;
+import kp.company.configuration.metrics.RouteMetricsFilter;
 import kp.company.handlers.DepartmentHandler;
 import kp.company.handlers.EmployeeHandler;
 import kp.company.handlers.SampleDatasetHandler;
@@ -9,6 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -55,27 +60,63 @@ public class CompanyRouter {
 
     /**
      * Creates the router function.
+     * <p>
+     * All routes are timed by the {@link RouteMetricsFilter} and sampled by the {@link AccessLogFilter}.
+     * The conditional requests of the listings are answered by the {@link ListingETagFilter}.
+     * The first registered filter is the outermost, so the {@link ListingETagFilter} is registered last
+     * and its 'Not Modified' responses are timed and sampled too.
+     * </p>
      *
      * @param sampleDatasetHandler the {@link SampleDatasetHandler}
      * @param departmentHandler    the {@link DepartmentHandler}
      * @param employeeHandler      the {@link EmployeeHandler}
      * @param teamHandler          the {@link TeamHandler}
+     * @param routeMetricsFilter   the {@link RouteMetricsFilter}
+     * @param accessLogFilter      the {@link AccessLogFilter}
+     * @param listingETagFilter    the {@link ListingETagFilter}
      * @return the router function
      */
     @Bean
     public RouterFunction<@NonNull ServerResponse> createRouterFunction(SampleDatasetHandler sampleDatasetHandler,
                                                                         DepartmentHandler departmentHandler,
                                                                         EmployeeHandler employeeHandler,
-                                                                        TeamHandler teamHandler) {
+                                                                        TeamHandler teamHandler,
+                                                                        RouteMetricsFilter routeMetricsFilter,
+                                                                        AccessLogFilter accessLogFilter,
+                                                                        ListingETagFilter listingETagFilter) {
 
+        final RequestPredicate namePredicate = RequestPredicates.queryParam(DEPARTMENT_NAME_VAR, _ -> true);
+        final RequestPredicate namePrefixPredicate = RequestPredicates
+                .queryParam(DEPARTMENT_NAME_PREFIX_VAR, _ -> true);
+        final RequestPredicate pagePredicate = RequestPredicates.queryParam(CURSOR_VAR, _ -> true)
+                .or(RequestPredicates.queryParam(COUNT_VAR, _ -> true));
+        final RequestPredicate employeePagePredicate = RequestPredicates.queryParam(OFFSET_VAR, _ -> true)
+                .or(RequestPredicates.queryParam(LIMIT_VAR, _ -> true))
+                .or(RequestPredicates.queryParam(EMPLOYEE_FIRST_NAME_PREFIX_VAR, _ -> true))
+                .or(RequestPredicates.queryParam(EMPLOYEE_LAST_NAME_PREFIX_VAR, _ -> true));
         final RouterFunction<@NonNull ServerResponse> routerFunction = RouterFunctions.route()
                 .GET(LOAD_SAMPLE_DATASET_PATH, sampleDatasetHandler::handleSampleDatasetLoading)
+                .POST(POST_STORAGE_MIGRATION_PATH, sampleDatasetHandler::handleStorageMigration)
+                .GET(GET_EMPLOYEE_PATH, employeePagePredicate, employeeHandler::handleEmployeesPage)
                 .GET(GET_EMPLOYEE_PATH, employeeHandler::handleEmployeeByDepartmentKeyAndNames)
                 .GET(GET_DEPARTMENT_PATH, departmentHandler::handleDepartmentByDepartmentKey)
+                .GET(GET_DEPARTMENTS_PATH, namePredicate, departmentHandler::handleDepartmentByName)
+                .GET(GET_DEPARTMENTS_PATH, namePrefixPredicate, departmentHandler::handleDepartmentsByNamePrefix)
+                .GET(GET_DEPARTMENTS_PATH, pagePredicate, departmentHandler::handleDepartmentsPage)
                 .GET(GET_DEPARTMENTS_PATH, departmentHandler::handleDepartments)
+                .GET(GET_DEPARTMENT_CACHE_PATH, departmentHandler::handleDepartmentCacheStatistics)
+                .GET(GET_EMPLOYEE_INDEX_CACHE_PATH, employeeHandler::handleEmployeeIndexStatistics)
                 .GET(GET_TEAMS_PATH, teamHandler::handleTeams)
                 .GET(GET_TEAMS_RANGE_PATH, teamHandler::handleTeamsRangeByScore)
                 .GET(GET_TEAM_RANK_PATH, teamHandler::handleTeamRankById)
+                .GET(GET_TEAMS_LEADERBOARD_PATH, teamHandler::handleTeamsLeaderboard)
+                .POST(POST_TEAM_RANKS_PATH, teamHandler::handleTeamRanksByIds)
+                .POST(POST_TEAM_SCORES_PATH, teamHandler::handleTeamScoreIncrements)
+                .GET(GET_TEAM_SCORES_STATISTICS_PATH, teamHandler::handleTeamScoreIngestionStatistics)
+                .GET(GET_TEAM_CHANGES_PATH, teamHandler::handleTeamChanges)
+                .filter(routeMetricsFilter)
+                .filter(accessLogFilter)
+                .filter(listingETagFilter)
                 .build();
         logger.debug("route(): Router function created");
         return routerFunction;
@@ -0,0 +1,20 @@
+package kp.company.domain;
+
+/**
+ * The statistics of the near cache.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param hitCount          the number of lookups served from the cache
+ * @param missCount         the number of lookups forwarded to Redis
+ * @param evictionCount     the number of entries evicted by the size bound or by the expiration
+ * @param invalidationCount the number of entries invalidated by the keyspace notifications
+ * @param size              the estimated number of cached entries
+ * @param hitRate           the ratio of hits to lookups
+ * @param coherent          the flag telling whether the cache is kept coherent by the keyspace notifications
+ * @param singleFlight      the {@link SingleFlightStatistics} of the reads from Redis
+ */
+public record CacheStatistics(long hitCount, long missCount, long evictionCount, long invalidationCount,
+                              long size, double hitRate, boolean coherent, SingleFlightStatistics singleFlight) {
+}
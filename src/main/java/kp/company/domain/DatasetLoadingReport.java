@@ -0,0 +1,18 @@
+package kp.company.domain;
+
+/**
+ * The report of the dataset loading.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param result           the result message
+ * @param departments      the number of loaded {@link Department}s
+ * @param employees        the number of loaded {@link Employee}s
+ * @param teams            the number of loaded {@link Team}s
+ * @param elapsedMillis    the loading time in milliseconds
+ * @param recordsPerSecond the achieved rate of the loaded records (departments, employees and teams)
+ */
+public record DatasetLoadingReport(String result, long departments, long employees, long teams,
+                                   long elapsedMillis, double recordsPerSecond) {
+}
@@ -0,0 +1,15 @@
+package kp.company.domain;
+
+import java.util.List;
+
+/**
+ * One page of the {@link Department}s listing.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param cursor      the continuation token for the next page ("0" after the last page)
+ * @param departments the list of {@link Department} objects
+ */
+public record DepartmentPage(String cursor, List<Department> departments) {
+}
@@ -0,0 +1,17 @@
+package kp.company.domain;
+
+import java.util.List;
+
+/**
+ * One page of the {@link Employee}s of the {@link Department}.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param offset    the offset of the first {@link Employee} on the page
+ * @param total     the number of all {@link Employee}s in the {@link Department},
+ *                  null for the page filtered by the name prefixes (the matching {@link Employee}s are not counted)
+ * @param employees the list of {@link Employee} objects
+ */
+public record EmployeePage(long offset, Long total, List<Employee> employees) {
+}
@@ -0,0 +1,14 @@
+package kp.company.domain;
+
+/**
+ * A wrapper for the {@link Team}, its score and its rank on the leaderboard.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param rank  the zero-based rank of the team by descending score (the rank of the ZREVRANK command)
+ * @param team  the {@link Team}
+ * @param score the score of the team
+ */
+public record RankedTeamTuple(long rank, Team team, double score) {
+}
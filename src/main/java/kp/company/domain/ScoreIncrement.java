@@ -0,0 +1,13 @@
+package kp.company.domain;
+
+/**
+ * The increment of the {@link Team} score, e.g. the points of one match result.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param teamId the id of the {@link Team}
+ * @param delta  the score increment, it may be negative
+ */
+public record ScoreIncrement(int teamId, double delta) {
+}
@@ -0,0 +1,22 @@
+package kp.company.domain;
+
+/**
+ * The statistics of the {@link Team} score increments ingestion.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param acceptedCount     the number of accepted increments
+ * @param rejectedCount     the number of increments rejected because Redis fell behind
+ * @param appliedCount      the number of increments applied in Redis
+ * @param pendingCount      the number of accepted increments not yet applied in Redis
+ * @param commandCount      the number of ZINCRBY commands acknowledged by Redis
+ * @param failedCount       the number of failed ZINCRBY commands (their increments were requeued)
+ * @param coalescingRatio   the ratio of applied increments to ZINCRBY commands
+ * @param meanLatencyMillis the mean time from the acceptance of the increment to its application in Redis
+ * @param maxLatencyMillis  the maximum time from the acceptance of the increment to its application in Redis
+ */
+public record ScoreIngestionStatistics(long acceptedCount, long rejectedCount, long appliedCount,
+                                       long pendingCount, long commandCount, long failedCount,
+                                       double coalescingRatio, double meanLatencyMillis, double maxLatencyMillis) {
+}
@@ -0,0 +1,14 @@
+package kp.company.domain;
+
+/**
+ * The statistics of the single-flight of the reads.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param callCount      the number of the reads requested by the callers
+ * @param coalescedCount the number of the reads which joined the in-flight read of the same key
+ * @param inFlightCount  the number of the reads in flight
+ */
+public record SingleFlightStatistics(long callCount, long coalescedCount, long inFlightCount) {
+}
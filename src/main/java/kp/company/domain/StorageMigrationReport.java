@@ -0,0 +1,14 @@
+package kp.company.domain;
+
+/**
+ * The report of the {@link Department} storage migration.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param layout        the layout the {@link Department}s were migrated to
+ * @param departments   the number of migrated {@link Department}s
+ * @param elapsedMillis the migration time in milliseconds
+ */
+public record StorageMigrationReport(String layout, long departments, long elapsedMillis) {
+}
@@ -0,0 +1,15 @@
+package kp.company.domain;
+
+/**
+ * The change of the {@link Team} on the leaderboard, pushed to the subscribers of the change feed.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param teamId the id of the {@link Team}
+ * @param rank   the zero-based rank of the team by descending score after the change
+ * @param score  the score of the team after the change
+ * @param delta  the score increment since the previous change pushed to the subscriber
+ */
+public record TeamChange(int teamId, long rank, double score, double delta) {
+}
@@ -0,0 +1,13 @@
+package kp.company.domain;
+
+/**
+ * The rank and the score of the {@link Team}.
+ * <p>
+ * This object is <b>NOT</b> persisted in Redis.
+ * </p>
+ *
+ * @param rank  the zero-based rank of the team by ascending score (the rank of the ZRANK command)
+ * @param score the score of the team
+ */
+public record TeamRank(long rank, double score) {
+}
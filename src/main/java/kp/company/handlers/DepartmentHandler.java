@@ -1,12 +1,22 @@
 package kp.company.handlers;
 
+import kp.company.configuration.operations.KeyScanner;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.CacheStatistics;
 import kp.company.domain.Department;
-import org.jspecify.annotations.NonNull;
+import kp.company.domain.DepartmentPage;
+import kp.company.services.DepartmentCache;
+import kp.company.services.DepartmentPassThrough;
+import kp.company.services.DepartmentStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
@@ -21,7 +31,16 @@ import static kp.Constants.*;
 /**
  * The WebFlux handler for the {@link Department}.
  * <p>
- * Uses reactive Redis operations for 'string' values.
+ * The {@link Department}s are read from the {@link DepartmentStore} in the configured layout.
+ * </p>
+ * <p>
+ * The {@link Department}s are found by the name with the name index (the hash of names to keys)
+ * and by the name prefix with the lexicographical name index (the sorted set of names joined with keys).
+ * </p>
+ * <p>
+ * The single {@link Department}s are read through the {@link DepartmentCache}.
+ * With the enabled {@link DepartmentPassThrough}, the {@link Department} read by its key is sent
+ * as the stored JSON bytes instead.
  * </p>
  */
 @Component
@@ -30,19 +49,47 @@ public class DepartmentHandler {
 
     private static final boolean VERBOSE = false;
 
-    private final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations;
+    private final DepartmentStore departmentStore;
+    private final ReactiveHashOperations<String, String, String> nameIndexOperations;
+    private final ReactiveZSetOperations<String, String> nameLexIndexOperations;
+    private final KeyScanner keyScanner;
+    private final DepartmentCache departmentCache;
+    private final DepartmentPassThrough departmentPassThrough;
+    private final CompanyProperties.Departments departmentsProperties;
+    private final boolean clusterTopology;
 
     /**
      * Constructor.
      *
-     * @param reactiveRedisOperations the {@link ReactiveRedisOperations} for the {@link Department}.
+     * @param departmentStore         the {@link DepartmentStore}
+     * @param nameIndexOperations     the {@link ReactiveHashOperations} for the {@link Department} name index
+     * @param nameLexIndexOperations  the {@link ReactiveZSetOperations} for the {@link Department} name
+     *                                lexicographical index
+     * @param keyScanner              the {@link KeyScanner}
+     * @param departmentCache         the {@link DepartmentCache}
+     * @param departmentPassThrough   the {@link DepartmentPassThrough}
+     * @param companyProperties       the {@link CompanyProperties}
      */
-    public DepartmentHandler(ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations) {
-        this.reactiveRedisOperations = reactiveRedisOperations;
+    public DepartmentHandler(DepartmentStore departmentStore,
+                             ReactiveHashOperations<String, String, String> nameIndexOperations,
+                             ReactiveZSetOperations<String, String> nameLexIndexOperations,
+                             KeyScanner keyScanner, DepartmentCache departmentCache,
+                             DepartmentPassThrough departmentPassThrough, CompanyProperties companyProperties) {
+        this.departmentStore = departmentStore;
+        this.nameIndexOperations = nameIndexOperations;
+        this.nameLexIndexOperations = nameLexIndexOperations;
+        this.keyScanner = keyScanner;
+        this.departmentCache = departmentCache;
+        this.departmentPassThrough = departmentPassThrough;
+        this.departmentsProperties = companyProperties.departments();
+        this.clusterTopology = companyProperties.redis().topology() == CompanyProperties.Topology.CLUSTER;
     }
 
     /**
      * Finds the list of {@link Department}s.
+     * <p>
+     * The {@link Department}s are streamed when the client accepts 'application/x-ndjson' or 'text/event-stream'.
+     * </p>
      *
      * @param request the {@link ServerRequest}
      * @return the {@link ServerResponse} {@link Mono} with the {@link Department}s
@@ -50,29 +97,112 @@ public class DepartmentHandler {
     public Mono<ServerResponse> handleDepartments(ServerRequest request) {
 
         logger.debug("handleDepartments(): request without query parameters[{}]", request.queryParams().isEmpty());
-        final Flux<Department> departmentFlux = reactiveRedisOperations.scan(VALUE_SCAN_OPTIONS)
-                .flatMap(reactiveRedisOperations.opsForValue()::get);
+        final Flux<Department> departmentFlux = findDepartments();
 
         final Function<List<Department>, Mono<ServerResponse>> responseMapper = list -> list.isEmpty()
                 ? NOT_FOUND_SUPPLIER.get()
                 : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(list);
 
-        final Mono<ServerResponse> serverResponseMono = departmentFlux.collectList().flatMap(responseMapper)
+        final Mono<ServerResponse> serverResponseMono = StreamingResponses.selectStreamingMediaType(request)
+                .map(mediaType -> StreamingResponses.stream(departmentFlux, mediaType, Department.class))
+                .orElseGet(() -> departmentFlux.collectList().flatMap(responseMapper))
                 .transform(mono -> VERBOSE ? mono.log() : mono);
-        logger.info("handleDepartments():");
+        logger.debug("handleDepartments():");
+        return serverResponseMono;
+    }
+
+    /**
+     * Finds one page of {@link Department}s.
+     * <p>
+     * The query parameter 'count' is the SCAN count hint and the query parameter 'cursor'
+     * is the continuation token returned with the previous page.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link DepartmentPage}
+     */
+    public Mono<ServerResponse> handleDepartmentsPage(ServerRequest request) {
+
+        final long count;
+        try {
+            count = request.queryParam(COUNT_VAR).map(Long::parseLong).orElse(DEFAULT_SCAN_COUNT);
+        } catch (Exception e) {
+            logger.error("handleDepartmentsPage(): exception[{}]", e.getMessage());
+            return ServerResponse.badRequest().build();
+        }
+        final String cursor = request.queryParam(CURSOR_VAR).orElse(SCAN_CURSOR_START);
+        if (count < 1 || count > MAX_SCAN_COUNT || !KeyScanner.isValidCursor(cursor, clusterTopology)) {
+            logger.error("handleDepartmentsPage(): bad page request, count[{}], cursor[{}]", count, cursor);
+            return ServerResponse.badRequest().build();
+        }
+        final Mono<DepartmentPage> departmentPageMono = keyScanner.scan(cursor, departmentStore.scanOptions(count))
+                .flatMap(page -> departmentStore.getAll(page.keys())
+                        .map(departments -> new DepartmentPage(page.cursor(), departments)));
+
+        final Mono<ServerResponse> serverResponseMono = departmentPageMono.flatMap(departmentPage -> ServerResponse
+                        .ok().contentType(MediaType.APPLICATION_JSON).bodyValue(departmentPage))
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+        if (logger.isDebugEnabled()) {
+            logger.debug("handleDepartmentsPage(): count[{}], cursor[{}]", count, cursor);
+        }
         return serverResponseMono;
     }
 
     /**
      * Finds the {@link Department} by {@link Department} key.
+     * <p>
+     * With the enabled {@link DepartmentPassThrough}, the stored JSON bytes are wrapped in the
+     * {@link org.springframework.core.io.buffer.DataBuffer} of the response without copying them,
+     * nothing is decoded nor encoded.
+     * The stored value which is not JSON is decoded through the {@link DepartmentCache}.
+     * The {@link Department} not yet migrated from the 'hash' layout answers GET with WRONGTYPE,
+     * then it is read through the {@link DepartmentCache} too.
+     * </p>
      *
      * @param request the {@link ServerRequest}
      * @return the {@link ServerResponse} {@link Mono} with the {@link Department}
      */
     public Mono<ServerResponse> handleDepartmentByDepartmentKey(ServerRequest request) {
 
-        final Mono<Department> departmentMono = Mono.just(DEPARTMENT_KEY_VAR).map(request::pathVariable)
-                .flatMap(reactiveRedisOperations.opsForValue()::get);
+        final String departmentKey = request.pathVariable(DEPARTMENT_KEY_VAR);
+        final Function<Department, Mono<ServerResponse>> responseMapper = department -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(department);
+
+        final Mono<ServerResponse> serverResponseMono;
+        if (departmentPassThrough.isEnabled()) {
+            final Function<byte[], Mono<ServerResponse>> bytesMapper = bytes -> ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromDataBuffers(Mono.fromSupplier(
+                            () -> request.exchange().getResponse().bufferFactory().wrap(bytes))));
+            serverResponseMono = departmentPassThrough.get(departmentKey)
+                    .flatMap(bytes -> DepartmentPassThrough.isJsonObject(bytes) ? bytesMapper.apply(bytes)
+                            : departmentCache.get(departmentKey).flatMap(responseMapper))
+                    .onErrorResume(DepartmentStore::isWrongType,
+                            _ -> departmentCache.get(departmentKey).flatMap(responseMapper));
+        } else {
+            serverResponseMono = departmentCache.get(departmentKey).flatMap(responseMapper);
+        }
+        logger.debug("handleDepartmentByDepartmentKey():");
+        return serverResponseMono.switchIfEmpty(NOT_FOUND_SUPPLIER.get())
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+    }
+
+    /**
+     * Finds the {@link Department} by the name.
+     * <p>
+     * One HGET command resolves the key and one GET command reads the {@link Department}.
+     * The stale index entry (the {@link Department} with another name) gives the status 'Not Found'.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link Department}
+     */
+    public Mono<ServerResponse> handleDepartmentByName(ServerRequest request) {
+
+        final String name = request.queryParam(DEPARTMENT_NAME_VAR).orElse("");
+        final Mono<Department> departmentMono = nameIndexOperations.get(DEP_NAME_INDEX_KEY, name)
+                .flatMap(departmentCache::get)
+                .filter(department -> name.equals(department.name()));
 
         final Function<Department, Mono<ServerResponse>> responseMapper = department -> ServerResponse.ok()
                 .contentType(MediaType.APPLICATION_JSON).bodyValue(department);
@@ -80,8 +210,111 @@ public class DepartmentHandler {
         final Mono<ServerResponse> serverResponseMono = departmentMono.flatMap(responseMapper)
                 .switchIfEmpty(NOT_FOUND_SUPPLIER.get())
                 .transform(mono -> VERBOSE ? mono.log() : mono);
-        logger.info("handleDepartmentByDepartmentKey():");
+        logger.debug("handleDepartmentByName(): name[{}]", name);
+        return serverResponseMono;
+    }
+
+    /**
+     * Finds the {@link Department}s by the name prefix.
+     * <p>
+     * One ZRANGEBYLEX command resolves the keys of the names in the range [prefix, successor of prefix)
+     * and one MGET command reads the {@link Department}s. The {@link Department}s are ordered by the name.
+     * The query parameter 'count' limits the number of {@link Department}s.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link Department}s
+     */
+    public Mono<ServerResponse> handleDepartmentsByNamePrefix(ServerRequest request) {
+
+        final long count;
+        try {
+            count = request.queryParam(COUNT_VAR).map(Long::parseLong).orElse(DEFAULT_SCAN_COUNT);
+        } catch (Exception e) {
+            logger.error("handleDepartmentsByNamePrefix(): exception[{}]", e.getMessage());
+            return ServerResponse.badRequest().build();
+        }
+        final String namePrefix = request.queryParam(DEPARTMENT_NAME_PREFIX_VAR).orElse("");
+        if (count < 1 || count > MAX_SCAN_COUNT || namePrefix.isEmpty()) {
+            logger.error("handleDepartmentsByNamePrefix(): bad request, count[{}], namePrefix[{}]", count, namePrefix);
+            return ServerResponse.badRequest().build();
+        }
+        final Mono<List<Department>> departmentsMono = nameLexIndexOperations
+                .rangeByLex(DEP_NAME_LEX_INDEX_KEY, createPrefixRange(namePrefix), Limit.limit().count((int) count))
+                .filter(member -> member.startsWith(namePrefix))
+                .map(member -> member.substring(member.lastIndexOf(DEP_NAME_LEX_SEPARATOR) + 1))
+                .collectList()
+                .flatMap(departmentStore::getAll);
+
+        final Function<List<Department>, Mono<ServerResponse>> responseMapper = list -> list.isEmpty()
+                ? NOT_FOUND_SUPPLIER.get()
+                : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(list);
+
+        final Mono<ServerResponse> serverResponseMono = departmentsMono.flatMap(responseMapper)
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+        if (logger.isDebugEnabled()) {
+            logger.debug("handleDepartmentsByNamePrefix(): count[{}], namePrefix[{}]", count, namePrefix);
+        }
         return serverResponseMono;
     }
 
+    /**
+     * Gets the statistics of the {@link DepartmentCache}.
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link CacheStatistics}
+     */
+    public Mono<ServerResponse> handleDepartmentCacheStatistics(ServerRequest request) {
+
+        logger.debug("handleDepartmentCacheStatistics(): request without query parameters[{}]",
+                request.queryParams().isEmpty());
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(departmentCache.statistics());
+    }
+
+    /**
+     * Finds all {@link Department}s.
+     * <p>
+     * The scanned keys are buffered into windows and each window is resolved with one MGET command
+     * (in the 'string' layout). The windows are fetched concurrently, but no more than the configured number
+     * at a time.
+     * </p>
+     *
+     * @return the {@link Department}s {@link Flux}
+     */
+    Flux<Department> findDepartments() {
+
+        final Flux<String> keyFlux = departmentStore.scan(DEFAULT_SCAN_COUNT);
+        if (departmentsProperties.batchSize() <= 1) {
+            return keyFlux.flatMap(departmentStore::get);
+        }
+        return keyFlux.buffer(departmentsProperties.batchSize())
+                .flatMap(departmentStore::getAll, departmentsProperties.batchConcurrency())
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Creates the lexicographical range of the strings starting with the prefix.
+     * <p>
+     * The exclusive upper bound is the prefix with its last code point incremented.
+     * The UTF-8 byte order is the code point order, so the range matches the Redis byte comparison.
+     * The prefix ending with the maximal code point gives the range without the upper bound.
+     * </p>
+     *
+     * @param prefix the prefix
+     * @return the {@link Range}
+     */
+    static Range<String> createPrefixRange(String prefix) {
+
+        final int lastCodePoint = prefix.codePointBefore(prefix.length());
+        if (lastCodePoint == Character.MAX_CODE_POINT) {
+            return Range.rightUnbounded(Range.Bound.inclusive(prefix));
+        }
+        final int nextCodePoint = lastCodePoint + 1 == Character.MIN_SURROGATE
+                ? Character.MAX_SURROGATE + 1 : lastCodePoint + 1;
+        final String successor = prefix.substring(0, prefix.length() - Character.charCount(lastCodePoint))
+                                 + Character.toString(nextCodePoint);
+        return Range.of(Range.Bound.inclusive(prefix), Range.Bound.exclusive(successor));
+    }
+
 }
\ No newline at end of file
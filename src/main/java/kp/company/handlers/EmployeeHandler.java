@@ -1,18 +1,27 @@
 package kp.company.handlers;
 
+import kp.company.configuration.properties.CompanyProperties;
 import kp.company.domain.Department;
 import kp.company.domain.Employee;
-import org.jspecify.annotations.NonNull;
+import kp.company.domain.EmployeePage;
+import kp.company.domain.SingleFlightStatistics;
+import kp.company.services.DepartmentCache;
+import kp.company.services.DepartmentStore;
+import kp.company.services.DepartmentStore.EmployeeFilter;
+import kp.company.services.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -23,6 +32,20 @@ import static kp.Constants.*;
  * <p>
  * Uses reactive Redis operations for 'string' values.
  * </p>
+ * <p>
+ * The {@link Employee} with both names given is resolved with one HGET command on the {@link Employee} index
+ * of the {@link Department}. The index fields are the names in lower case.
+ * Without the index (e.g. the data written before the index was introduced)
+ * the whole {@link Department} is read through the {@link DepartmentCache} and its {@link Employee}s are searched.
+ * </p>
+ * <p>
+ * The concurrent HGET commands for the same index field are coalesced by the {@link SingleFlight}.
+ * </p>
+ * <p>
+ * The pages of {@link Employee}s are read with LRANGE in the 'hash' layout of the {@link DepartmentStore},
+ * in the 'string' layout they are cut from the whole {@link Department} read through the {@link DepartmentCache}.
+ * The pages filtered by the name prefixes are read chunk by chunk in the 'hash' layout.
+ * </p>
  */
 @Component
 public class EmployeeHandler {
@@ -30,15 +53,29 @@ public class EmployeeHandler {
 
     private static final boolean VERBOSE = false;
 
-    private final ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations;
+    private static final Function<Employee, Mono<ServerResponse>> OK_MAPPER = employee -> ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_JSON).bodyValue(employee);
+
+    private final DepartmentCache departmentCache;
+    private final ReactiveHashOperations<String, String, Employee> employeeIndexOperations;
+    private final DepartmentStore departmentStore;
+    private final SingleFlight<Map.Entry<String, String>, Employee> singleFlight;
 
     /**
      * Constructor.
      *
-     * @param reactiveRedisOperations the {@link ReactiveRedisOperations} for the {@link Department}s
+     * @param departmentCache         the {@link DepartmentCache}
+     * @param employeeIndexOperations the {@link ReactiveHashOperations} for the {@link Employee} index
+     * @param departmentStore         the {@link DepartmentStore}
+     * @param companyProperties       the {@link CompanyProperties}
      */
-    public EmployeeHandler(ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations) {
-        this.reactiveRedisOperations = reactiveRedisOperations;
+    public EmployeeHandler(DepartmentCache departmentCache,
+                           ReactiveHashOperations<String, String, Employee> employeeIndexOperations,
+                           DepartmentStore departmentStore, CompanyProperties companyProperties) {
+        this.departmentCache = departmentCache;
+        this.employeeIndexOperations = employeeIndexOperations;
+        this.departmentStore = departmentStore;
+        this.singleFlight = new SingleFlight<>(companyProperties.cache().singleFlight());
     }
 
     /**
@@ -50,33 +87,172 @@ public class EmployeeHandler {
      */
     public Mono<ServerResponse> handleEmployeeByDepartmentKeyAndNames(ServerRequest request) {
 
-        final Mono<Department> departmentMono = Mono.just(DEPARTMENT_KEY_VAR).map(request::pathVariable)
-                .flatMap(reactiveRedisOperations.opsForValue()::get);
+        final String departmentKey = request.pathVariable(DEPARTMENT_KEY_VAR);
+        final Optional<String> firstName = request.queryParam(EMPLOYEE_FIRST_NAME_VAR);
+        final Optional<String> lastName = request.queryParam(EMPLOYEE_LAST_NAME_VAR);
+
+        final Mono<ServerResponse> serverResponseMono = (firstName.isPresent() && lastName.isPresent()
+                ? findIndexedEmployee(departmentKey,
+                        EMP_INDEX_FIELD_FUN.apply(firstName.get(), lastName.get()), request)
+                : searchDepartment(departmentKey, request))
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+        logger.debug("handleEmployeeByDepartmentKeyAndNames():");
+        return serverResponseMono;
+    }
+
+    /**
+     * Finds one page of the {@link Employee}s of the {@link Department}.
+     * <p>
+     * The query parameter 'offset' is the offset of the first {@link Employee}
+     * and the query parameter 'limit' is the maximal number of {@link Employee}s on the page.
+     * The query parameters 'firstNamePrefix' and 'lastNamePrefix' filter the {@link Employee}s,
+     * then the offset counts the matching {@link Employee}s and the filtered page has no total.
+     * </p>
+     * <p>
+     * The client accepting 'application/x-ndjson' or 'text/event-stream' gets the streamed {@link Employee}s
+     * instead of the {@link EmployeePage}.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link EmployeePage} or the {@link Employee}s
+     */
+    public Mono<ServerResponse> handleEmployeesPage(ServerRequest request) {
 
-        final Mono<ServerResponse> serverResponseMono = departmentMono.flatMap(getResponseMapper(request))
-                .switchIfEmpty(NOT_FOUND_SUPPLIER.get())
+        final long offset;
+        final long limit;
+        try {
+            offset = request.queryParam(OFFSET_VAR).map(Long::parseLong).orElse(0L);
+            limit = request.queryParam(LIMIT_VAR).map(Long::parseLong).orElse(DEFAULT_EMPLOYEE_PAGE_LIMIT);
+            // the end of the page must not overflow
+            Math.addExact(offset, limit);
+        } catch (Exception e) {
+            logger.error("handleEmployeesPage(): exception[{}]", e.getMessage());
+            return ServerResponse.badRequest().build();
+        }
+        if (offset < 0 || limit < 1 || limit > MAX_EMPLOYEE_PAGE_LIMIT) {
+            logger.error("handleEmployeesPage(): bad page request, offset[{}], limit[{}]", offset, limit);
+            return ServerResponse.badRequest().build();
+        }
+        final String departmentKey = request.pathVariable(DEPARTMENT_KEY_VAR);
+        final EmployeeFilter filter = new EmployeeFilter(
+                request.queryParam(EMPLOYEE_FIRST_NAME_PREFIX_VAR).orElse(""),
+                request.queryParam(EMPLOYEE_LAST_NAME_PREFIX_VAR).orElse(""));
+        final Mono<ServerResponse> serverResponseMono = StreamingResponses.selectStreamingMediaType(request)
+                .map(mediaType -> StreamingResponses.stream(
+                        findEmployees(departmentKey, filter, offset, limit), mediaType, Employee.class))
+                .orElseGet(() -> getEmployeePage(departmentKey, filter, offset, limit)
+                        .flatMap(employeePage -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(employeePage))
+                        .switchIfEmpty(NOT_FOUND_SUPPLIER.get()))
                 .transform(mono -> VERBOSE ? mono.log() : mono);
-        logger.info("handleEmployeeByDepartmentKeyAndNames():");
+        if (logger.isDebugEnabled()) {
+            logger.debug("handleEmployeesPage(): offset[{}], limit[{}], filter[{}]", offset, limit, filter);
+        }
         return serverResponseMono;
     }
 
+    /**
+     * Gets one page of the {@link Employee}s of the {@link Department}.
+     *
+     * @param departmentKey the {@link Department} key
+     * @param filter        the {@link EmployeeFilter}
+     * @param offset        the offset of the first {@link Employee}
+     * @param limit         the maximal number of {@link Employee}s
+     * @return the {@link EmployeePage} {@link Mono}, empty for the absent {@link Department}
+     */
+    private Mono<EmployeePage> getEmployeePage(String departmentKey, EmployeeFilter filter, long offset, long limit) {
+
+        return switch (departmentStore.layout()) {
+            case STRING -> departmentCache.get(departmentKey)
+                    .map(department -> DepartmentStore.createEmployeePage(department, filter, offset, limit));
+            case HASH -> departmentStore.getEmployeePage(departmentKey, filter, offset, limit);
+        };
+    }
+
+    /**
+     * Finds the {@link Employee}s of the {@link Department} for streaming.
+     *
+     * @param departmentKey the {@link Department} key
+     * @param filter        the {@link EmployeeFilter}
+     * @param offset        the offset of the first {@link Employee}
+     * @param limit         the maximal number of {@link Employee}s
+     * @return the {@link Employee}s {@link Flux}, empty for the absent {@link Department}
+     */
+    private Flux<Employee> findEmployees(String departmentKey, EmployeeFilter filter, long offset, long limit) {
+
+        return switch (departmentStore.layout()) {
+            case STRING -> departmentCache.get(departmentKey)
+                    .flatMapMany(department -> Flux.fromIterable(department.employees())
+                            .filter(filter).skip(offset).take(limit));
+            case HASH -> departmentStore.findEmployees(departmentKey, filter, offset, limit);
+        };
+    }
+
+    /**
+     * Finds the {@link Employee} in the {@link Employee} index.
+     * <p>
+     * The absent field in the existing index means that there is no such {@link Employee}.
+     * The absent index falls back to the search in the {@link Department}.
+     * </p>
+     *
+     * @param departmentKey the {@link Department} key
+     * @param indexField    the index field
+     * @param request       the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    private Mono<ServerResponse> findIndexedEmployee(String departmentKey, String indexField, ServerRequest request) {
+
+        final String indexKey = EMP_INDEX_KEY_FUN.apply(departmentKey);
+        return singleFlight.execute(Map.entry(indexKey, indexField),
+                        entry -> employeeIndexOperations.get(entry.getKey(), entry.getValue()))
+                .flatMap(OK_MAPPER)
+                .switchIfEmpty(Mono.defer(() -> employeeIndexOperations.size(indexKey).flatMap(size -> size > 0
+                        ? NOT_FOUND_SUPPLIER.get()
+                        : searchDepartment(departmentKey, request))));
+    }
+
+    /**
+     * Searches the {@link Employee} in the {@link Department}.
+     *
+     * @param departmentKey the {@link Department} key
+     * @param request       the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    private Mono<ServerResponse> searchDepartment(String departmentKey, ServerRequest request) {
+
+        return departmentCache.get(departmentKey).flatMap(getResponseMapper(request))
+                .switchIfEmpty(NOT_FOUND_SUPPLIER.get());
+    }
+
+    /**
+     * Gets the statistics of the single-flight of the {@link Employee} index reads.
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link SingleFlightStatistics}
+     */
+    public Mono<ServerResponse> handleEmployeeIndexStatistics(ServerRequest request) {
+
+        logger.debug("handleEmployeeIndexStatistics(): request without query parameters[{}]",
+                request.queryParams().isEmpty());
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(singleFlight.statistics());
+    }
+
     /**
      * Gets the response mapper.
      *
      * @param request the {@link ServerRequest}
      * @return the response mapper
      */
-    private static Function<Department, Mono<ServerResponse>> getResponseMapper(ServerRequest request) {
+    static Function<Department, Mono<ServerResponse>> getResponseMapper(ServerRequest request) {
 
         final Predicate<Employee> lastNamePredicate = emp -> request.queryParam(EMPLOYEE_LAST_NAME_VAR)
                 .map(param -> emp.lastName().equalsIgnoreCase(param)).orElse(true);
         final Predicate<Employee> firstNamePredicate = emp -> request.queryParam(EMPLOYEE_FIRST_NAME_VAR)
                 .map(param -> emp.firstName().equalsIgnoreCase(param)).orElse(true);
 
-        final Function<Employee, Mono<ServerResponse>> okMapper = employee -> ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON).bodyValue(employee);
         return department -> department.employees().stream()
-                .filter(firstNamePredicate.and(lastNamePredicate)).findFirst().map(okMapper)
+                .filter(firstNamePredicate.and(lastNamePredicate)).findFirst().map(OK_MAPPER)
                 .orElseGet(NOT_FOUND_SUPPLIER);
     }
 
@@ -1,14 +1,23 @@
 package kp.company.handlers;
 
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.DatasetLoadingReport;
 import kp.company.domain.Department;
 import kp.company.domain.Employee;
+import kp.company.domain.StorageMigrationReport;
 import kp.company.domain.Team;
+import kp.company.services.DepartmentCache;
+import kp.company.services.DepartmentStore;
+import kp.company.services.ListingVersions;
+import kp.company.services.ListingVersions.Listing;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -17,12 +26,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Phaser;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
-import java.util.function.IntFunction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -31,7 +39,7 @@ import static kp.Constants.*;
 /**
  * The WebFlux handler for the sample dataset loading.
  * <p>
- * The sample dataset for two {@link Department}s and four {@link Employee}s:
+ * The default sample dataset for two {@link Department}s and four {@link Employee}s:
  * </p>
  * <ol>
  *  <li>{@link Department}
@@ -48,7 +56,7 @@ import static kp.Constants.*;
  *  </li>
  * </ol>
  * <p>
- * The sample dataset for five {@link Team}s:
+ * The default sample dataset for five {@link Team}s:
  * </p>
  * <ol>
  *  <li>{@link Team}</li>
@@ -57,125 +65,397 @@ import static kp.Constants.*;
  *  <li>{@link Team}</li>
  *  <li>{@link Team}</li>
  * </ol>
+ * <p>
+ * The query parameters 'departments', 'employeesPerDepartment' and 'teams' scale the generated dataset.
+ * The whole dataset is limited to {@link kp.Constants#MAX_DATASET_RECORDS} records
+ * (the {@link Department}s, their {@link Employee}s and the {@link Team}s).
+ * The records are generated as a stream and written in chunks, with a bounded number of write
+ * commands in flight, so the whole dataset is never held in memory.
+ * </p>
+ * <p>
+ * The loading is one non-blocking reactive chain: the flush completes first,
+ * then the {@link Department}s and the {@link Team}s are written concurrently.
+ * </p>
+ * <p>
+ * The {@link Employee} index of every {@link Department} and the {@link Department} name indexes
+ * are written together with the {@link Department}.
+ * </p>
+ * <p>
+ * The {@link DepartmentCache} is cleared after the flush and after the loading.
+ * The {@link ListingVersions} are replaced after the loading, the flush has removed the previous ones.
+ * </p>
+ * <p>
+ * The storage migration converts the stored {@link Department}s to the layout of the {@link DepartmentStore}.
+ * </p>
  */
 @Component
 public class SampleDatasetHandler {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private final ReactiveRedisConnectionFactory reactiveRedisConnectionFactory;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final ReactiveRedisOperations<@NonNull String, @NonNull Department> departmentRedisOperations;
+    private final DepartmentStore departmentStore;
     private final ReactiveZSetOperations<String, Team> teamRedisOperations;
+    private final ReactiveHashOperations<String, String, Employee> employeeIndexOperations;
+    private final ReactiveHashOperations<String, String, String> nameIndexOperations;
+    private final ReactiveZSetOperations<String, String> nameLexIndexOperations;
+    private final DepartmentCache departmentCache;
+    private final ListingVersions listingVersions;
+    private final CompanyProperties.Loading loadingProperties;
 
-    private static final IntFunction<List<Employee>> EMP_LIST_FUN = depIndex -> IntStream
-            .rangeClosed(EMP_INDEX_LOWER_BOUND, EMP_INDEX_UPPER_BOUND).boxed()
-            .map(empIndex -> EMP_INDEX_FUN.applyAsInt(depIndex, empIndex)).map(Employee::fromIndex).toList();
+    /**
+     * The dataset scale.
+     *
+     * @param departments            the number of {@link Department}s
+     * @param employeesPerDepartment the number of {@link Employee}s in one {@link Department}
+     * @param teams                  the number of {@link Team}s
+     */
+    private record DatasetScale(int departments, int employeesPerDepartment, int teams) {
 
-    private static final IntFunction<Map.Entry<String, Department>> MAP_ENTRY_FUN = depIndex -> Map.entry(
-            DEP_KEY_FUN.apply(depIndex), new Department(DEP_NAME_FUN.apply(depIndex), EMP_LIST_FUN.apply(depIndex)));
+        /**
+         * Constructor.
+         *
+         * @param departments            the number of {@link Department}s
+         * @param employeesPerDepartment the number of {@link Employee}s in one {@link Department}
+         * @param teams                  the number of {@link Team}s
+         */
+        private DatasetScale {
+            final long records = (long) departments * (1 + employeesPerDepartment) + teams;
+            if (records > MAX_DATASET_RECORDS) {
+                throw new IllegalArgumentException("The dataset records[%d] exceed the maximum[%d]"
+                        .formatted(records, MAX_DATASET_RECORDS));
+            }
+        }
+    }
 
     /**
-     * The dataset map.
+     * The loading progress.
+     *
+     * @param scale        the {@link DatasetScale}
+     * @param startNanos   the start time
+     * @param departments  the number of written {@link Department}s
+     * @param teams        the number of written {@link Team}s
+     * @param lastLogNanos the time of the last progress log
      */
-    private static final Map<String, Department> DATASET_MAP = IntStream
-            .rangeClosed(DEP_KEY_INDEX_LOWER_BOUND, DEP_KEY_INDEX_UPPER_BOUND).boxed().map(MAP_ENTRY_FUN::apply)
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private record Progress(DatasetScale scale, long startNanos, AtomicLong departments, AtomicLong teams,
+                            AtomicLong lastLogNanos) {
+    }
 
     /**
      * Constructor.
      *
-     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
-     * @param departmentRedisOperations      the {@link ReactiveRedisOperations} for the {@link Department}s
-     * @param teamRedisOperations            the {@link ReactiveZSetOperations} for the {@link Team}s
+     * @param departmentRedisOperations the {@link ReactiveRedisOperations} for the {@link Department}s
+     * @param departmentStore           the {@link DepartmentStore}
+     * @param teamRedisOperations       the {@link ReactiveZSetOperations} for the {@link Team}s
+     * @param employeeIndexOperations   the {@link ReactiveHashOperations} for the {@link Employee} index
+     * @param nameIndexOperations       the {@link ReactiveHashOperations} for the {@link Department} name index
+     * @param nameLexIndexOperations    the {@link ReactiveZSetOperations} for the {@link Department} name
+     *                                  lexicographical index
+     * @param departmentCache           the {@link DepartmentCache}
+     * @param listingVersions           the {@link ListingVersions}
+     * @param companyProperties         the {@link CompanyProperties}
      */
-    public SampleDatasetHandler(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
-                                ReactiveRedisOperations<@NonNull String, @NonNull Department> departmentRedisOperations,
-                                ReactiveZSetOperations<String, Team> teamRedisOperations) {
+    public SampleDatasetHandler(ReactiveRedisOperations<@NonNull String, @NonNull Department> departmentRedisOperations,
+                                DepartmentStore departmentStore,
+                                ReactiveZSetOperations<String, Team> teamRedisOperations,
+                                ReactiveHashOperations<String, String, Employee> employeeIndexOperations,
+                                ReactiveHashOperations<String, String, String> nameIndexOperations,
+                                ReactiveZSetOperations<String, String> nameLexIndexOperations,
+                                DepartmentCache departmentCache, ListingVersions listingVersions,
+                                CompanyProperties companyProperties) {
 
-        this.reactiveRedisConnectionFactory = reactiveRedisConnectionFactory;
         this.departmentRedisOperations = departmentRedisOperations;
+        this.departmentStore = departmentStore;
         this.teamRedisOperations = teamRedisOperations;
+        this.employeeIndexOperations = employeeIndexOperations;
+        this.nameIndexOperations = nameIndexOperations;
+        this.nameLexIndexOperations = nameLexIndexOperations;
+        this.departmentCache = departmentCache;
+        this.listingVersions = listingVersions;
+        this.loadingProperties = companyProperties.loading();
     }
 
     /**
      * Handles the sample dataset loading.
+     * <p>
+     * The response with the {@link DatasetLoadingReport} is emitted when the loading completes.
+     * A failed Redis command gives the status 'Internal Server Error'.
+     * </p>
      *
      * @param request the {@link ServerRequest}
      * @return the {@link ServerResponse} {@link Mono}
      */
     public Mono<ServerResponse> handleSampleDatasetLoading(ServerRequest request) {
 
-        logger.debug("handleSampleDatasetLoading(): request without query parameters[{}]", request.queryParams().isEmpty());
-        deleteAllKeysInDatabase();
-        loadDepartmentData();
-        loadTeamData();
-        final Mono<ServerResponse> serverResponseMono = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(Mono.just(LOAD_SAMPLE_DATASET_RESULT_JSON), String.class);
-        logger.info("handleSampleDatasetLoading():");
+        final DatasetScale scale;
+        try {
+            scale = new DatasetScale(
+                    parseCount(request, DEPARTMENTS_VAR, DEP_KEY_INDEX_UPPER_BOUND, MAX_DEPARTMENTS),
+                    parseCount(request, EMPLOYEES_PER_DEPARTMENT_VAR, EMP_INDEX_UPPER_BOUND,
+                            MAX_EMPLOYEES_PER_DEPARTMENT),
+                    parseCount(request, TEAMS_VAR, TEAMS_COUNT, MAX_TEAMS));
+        } catch (Exception e) {
+            logger.error("handleSampleDatasetLoading(): exception[{}]", e.getMessage());
+            return ServerResponse.badRequest().build();
+        }
+        final Mono<ServerResponse> serverResponseMono = Mono.fromSupplier(() -> new Progress(scale, System.nanoTime(),
+                        new AtomicLong(), new AtomicLong(), new AtomicLong(System.nanoTime())))
+                .flatMap(progress -> deleteAllKeysInDatabase()
+                        .then(Mono.when(loadDepartmentData(progress), loadTeamData(progress)))
+                        .doFinally(_ -> departmentCache.invalidateAll())
+                        .then(listingVersions.bump(Listing.DEPARTMENTS, Listing.TEAMS))
+                        .then(Mono.fromSupplier(() -> createReport(progress))))
+                .flatMap(report -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(report))
+                .onErrorResume(exc -> {
+                    logger.error("handleSampleDatasetLoading(): exception[{}]", exc.getMessage());
+                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
+        logger.info("handleSampleDatasetLoading(): departments[{}], employeesPerDepartment[{}], teams[{}]",
+                scale.departments(), scale.employeesPerDepartment(), scale.teams());
         return serverResponseMono;
     }
 
+    /**
+     * Handles the migration of the {@link Department}s to the configured layout of the {@link DepartmentStore}.
+     * <p>
+     * The {@link Department}s stored in the other layout are converted one by one, while the application serves
+     * the reads. The response with the {@link StorageMigrationReport} is emitted when the migration completes.
+     * The migration is idempotent, the failed migration can be repeated.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    public Mono<ServerResponse> handleStorageMigration(ServerRequest request) {
+
+        logger.info("handleStorageMigration(): layout[{}], request without query parameters[{}]",
+                departmentStore.layout(), request.queryParams().isEmpty());
+        return Mono.fromSupplier(System::nanoTime)
+                .flatMap(startNanos -> departmentStore.migrate()
+                        .map(count -> new StorageMigrationReport(departmentStore.layout().name(), count,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))))
+                .flatMap(report -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(report))
+                .onErrorResume(exc -> {
+                    logger.error("handleStorageMigration(): exception[{}]", exc.getMessage());
+                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
+    }
+
     /**
      * Deletes all keys in database.
+     *
+     * @return the {@link Mono} completing when the keys are deleted
      */
-    private void deleteAllKeysInDatabase() {
+    private Mono<Void> deleteAllKeysInDatabase() {
 
-        final Phaser phaser = new Phaser(1);
-        phaser.register();
-        final Consumer<Throwable> errorConsumer = exc -> {
-            logger.error("deleteAllKeysInDatabase(): deleting keys exception[{}]", exc.getMessage());
-            phaser.forceTermination();
-        };
-        final Runnable completeConsumer = () -> {
-            logger.debug("deleteAllKeysInDatabase(): deleting completed");
-            phaser.arriveAndDeregister();
-        };
-        reactiveRedisConnectionFactory.getReactiveConnection().serverCommands().flushAll()
-                .subscribe(null, errorConsumer, completeConsumer);
-        phaser.arriveAndAwaitAdvance();
+        return departmentRedisOperations.execute(connection -> connection.serverCommands().flushAll())
+                .doOnComplete(() -> {
+                    departmentCache.invalidateAll();
+                    logger.debug("deleteAllKeysInDatabase(): deleting completed");
+                })
+                .then();
     }
 
     /**
-     * Generates the data for {@link Department}s with {@link Employee}s
+     * Generates the data for {@link Department}s with {@link Employee}s.
+     * <p>
+     * One chunk holds about the configured number of {@link Employee}s and is written with one MSET command
+     * (in the 'string' layout of the {@link DepartmentStore}).
+     * The {@link Employee} indexes of the chunk are written with one HSET command per {@link Department}.
+     * The name indexes of the chunk are written with one HSET command and one ZADD command.
+     * </p>
+     *
+     * @param progress the {@link Progress}
+     * @return the {@link Mono} completing when the {@link Department}s are written
      */
-    private void loadDepartmentData() {
+    private Mono<Void> loadDepartmentData(Progress progress) {
 
-        final Phaser phaser = new Phaser(1);
-        final Consumer<Boolean> nextConsumer = result -> logger.debug("loadDepartmentData(): result[{}]", result);
-        final Consumer<Throwable> errorConsumer = exc -> {
-            logger.error("loadDepartmentData(): exception[{}]", exc.getMessage());
-            phaser.forceTermination();
-        };
-        final Runnable completeConsumer = () -> {
-            logger.debug("loadDepartmentData(): loading completed");
-            phaser.arriveAndDeregister();
-        };
-        phaser.register();
-        departmentRedisOperations.opsForValue().multiSet(DATASET_MAP).subscribe(nextConsumer, errorConsumer,
-                completeConsumer);
-        phaser.arriveAndAwaitAdvance();
+        final int employeesPerDepartment = progress.scale().employeesPerDepartment();
+        final int departmentsPerChunk = Math.max(1,
+                loadingProperties.chunkRecords() / Math.max(1, employeesPerDepartment));
+        return Flux.range(DEP_KEY_INDEX_LOWER_BOUND, progress.scale().departments())
+                .map(depIndex -> Map.entry(DEP_KEY_FUN.apply(depIndex),
+                        new Department(DEP_NAME_FUN.apply(depIndex),
+                                createEmployees(depIndex, employeesPerDepartment))))
+                .buffer(departmentsPerChunk)
+                .flatMap(chunk -> Mono.when(writeDepartments(chunk), writeEmployeeIndexes(chunk),
+                                writeNameIndexes(chunk))
+                        .doOnSuccess(_ -> {
+                            progress.departments().addAndGet(chunk.size());
+                            logProgress(progress);
+                        }), loadingProperties.writeConcurrency())
+                .then();
     }
 
     /**
      * Generates the data for {@link Team}s.
+     * <p>
+     * The first {@link Team} gets the highest score. One chunk is written with one ZADD command.
+     * </p>
+     *
+     * @param progress the {@link Progress}
+     * @return the {@link Mono} completing when the {@link Team}s are written
+     */
+    private Mono<Void> loadTeamData(Progress progress) {
+
+        final int teams = progress.scale().teams();
+        return Flux.range(TEAM_ID_LOWER_BOUND, teams)
+                .map(id -> TypedTuple.of(new Team(id), (double) teams - (id - TEAM_ID_LOWER_BOUND)))
+                .buffer(loadingProperties.chunkRecords())
+                .flatMap(chunk -> teamRedisOperations.addAll(TEAMS_KEY, chunk)
+                        .doOnNext(_ -> {
+                            progress.teams().addAndGet(chunk.size());
+                            logProgress(progress);
+                        }), loadingProperties.writeConcurrency())
+                .then();
+    }
+
+    /**
+     * Writes the {@link Department}s.
+     *
+     * @param chunk the chunk of the {@link Department} entries
+     * @return the {@link Mono} completing when the {@link Department}s are written
+     */
+    private Mono<Void> writeDepartments(List<Map.Entry<String, Department>> chunk) {
+        return departmentStore.putAll(chunk);
+    }
+
+    /**
+     * Writes the {@link Employee} indexes of the {@link Department}s.
+     * <p>
+     * The {@link Department} without {@link Employee}s gets no index.
+     * For the {@link Employee}s with the same names the first one is indexed, like the search finds it.
+     * </p>
+     *
+     * @param chunk the chunk of the {@link Department} entries
+     * @return the {@link Mono} completing when the indexes are written
+     */
+    private Mono<Void> writeEmployeeIndexes(List<Map.Entry<String, Department>> chunk) {
+
+        return Flux.fromIterable(chunk)
+                .filter(entry -> !entry.getValue().employees().isEmpty())
+                .flatMap(entry -> employeeIndexOperations.putAll(EMP_INDEX_KEY_FUN.apply(entry.getKey()),
+                        entry.getValue().employees().stream().collect(Collectors.toMap(
+                                employee -> EMP_INDEX_FIELD_FUN.apply(employee.firstName(), employee.lastName()),
+                                employee -> employee, (first, _) -> first, LinkedHashMap::new))))
+                .then();
+    }
+
+    /**
+     * Writes the name indexes of the {@link Department}s.
+     * <p>
+     * For the {@link Department}s with the same name the name index holds the first key,
+     * the lexicographical name index holds all keys.
+     * </p>
+     *
+     * @param chunk the chunk of the {@link Department} entries
+     * @return the {@link Mono} completing when the indexes are written
+     */
+    private Mono<Void> writeNameIndexes(List<Map.Entry<String, Department>> chunk) {
+
+        final Map<String, String> nameToKeyMap = chunk.stream().collect(Collectors.toMap(
+                entry -> entry.getValue().name(), Map.Entry::getKey, (first, _) -> first, LinkedHashMap::new));
+        final List<TypedTuple<String>> lexTuples = chunk.stream()
+                .map(entry -> DEP_NAME_LEX_MEMBER_FUN.apply(entry.getValue().name(), entry.getKey()))
+                .map(member -> TypedTuple.of(member, 0d)).toList();
+        return Mono.when(nameIndexOperations.putAll(DEP_NAME_INDEX_KEY, nameToKeyMap),
+                nameLexIndexOperations.addAll(DEP_NAME_LEX_INDEX_KEY, lexTuples));
+    }
+
+    /**
+     * Creates the {@link Employee}s of the {@link Department}.
+     * <p>
+     * The {@link Employee} index stride is the power of ten above the number of {@link Employee}s,
+     * so the {@link Employee}s of different {@link Department}s never share the index.
+     * Up to 99 {@link Employee}s the index is {@link kp.Constants#EMP_INDEX_FUN}.
+     * </p>
+     *
+     * @param depIndex               the {@link Department} index
+     * @param employeesPerDepartment the number of {@link Employee}s
+     * @return the list of {@link Employee}s
+     */
+    private static List<Employee> createEmployees(int depIndex, int employeesPerDepartment) {
+
+        final int stride = EMP_INDEX_STRIDE_FUN.applyAsInt(employeesPerDepartment);
+        return IntStream.range(EMP_INDEX_LOWER_BOUND, EMP_INDEX_LOWER_BOUND + employeesPerDepartment)
+                .map(empIndex -> stride * depIndex + empIndex)
+                .mapToObj(Employee::fromIndex).toList();
+    }
+
+    /**
+     * Logs the loading progress, but not more often than once per second.
+     *
+     * @param progress the {@link Progress}
      */
-    private void loadTeamData() {
-
-        final Phaser phaser = new Phaser(1);
-        final AtomicInteger atomic = new AtomicInteger(TEAMS_COUNT);
-        final Flux<Boolean> addFlux = Flux.range(TEAM_ID_LOWER_BOUND, TEAMS_COUNT).map(Team::new)
-                .flatMap(team -> teamRedisOperations.add(TEAMS_KEY, team, atomic.getAndDecrement()));
-        final Consumer<Boolean> nextConsumer = result -> logger.debug("loadTeamData(): result[{}]", result);
-        final Consumer<Throwable> errorConsumer = exc -> {
-            logger.error("loadTeamData(): exception[{}]", exc.getMessage());
-            phaser.forceTermination();
-        };
-        final Runnable completeConsumer = () -> {
-            logger.debug("loadTeamData(): loading completed");
-            phaser.arriveAndDeregister();
-        };
-        phaser.register();
-        addFlux.subscribe(nextConsumer, errorConsumer, completeConsumer);
-        phaser.arriveAndAwaitAdvance();
+    private static void logProgress(Progress progress) {
+
+        final long lastLogNanos = progress.lastLogNanos().get();
+        final long nowNanos = System.nanoTime();
+        if (nowNanos - lastLogNanos < PROGRESS_INTERVAL_NANOS
+            || !progress.lastLogNanos().compareAndSet(lastLogNanos, nowNanos)) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("logProgress(): departments[{}/{}], teams[{}/{}], records per second[{}]",
+                    progress.departments().get(), progress.scale().departments(),
+                    progress.teams().get(), progress.scale().teams(),
+                    DBL_FMT.apply(recordsPerSecond(progress, nowNanos)));
+        }
+    }
+
+    /**
+     * Creates the {@link DatasetLoadingReport}.
+     *
+     * @param progress the {@link Progress}
+     * @return the {@link DatasetLoadingReport}
+     */
+    private static DatasetLoadingReport createReport(Progress progress) {
+
+        final long nowNanos = System.nanoTime();
+        final DatasetLoadingReport report = new DatasetLoadingReport(LOAD_SAMPLE_DATASET_RESULT,
+                progress.departments().get(),
+                progress.departments().get() * progress.scale().employeesPerDepartment(),
+                progress.teams().get(),
+                TimeUnit.NANOSECONDS.toMillis(nowNanos - progress.startNanos()),
+                recordsPerSecond(progress, nowNanos));
+        logger.info("createReport(): {}", report);
+        return report;
+    }
+
+    /**
+     * Computes the rate of the written records (departments, employees and teams).
+     *
+     * @param progress the {@link Progress}
+     * @param nowNanos the current time
+     * @return the records per second
+     */
+    private static double recordsPerSecond(Progress progress, long nowNanos) {
+
+        final long departments = progress.departments().get();
+        final long records = departments + departments * progress.scale().employeesPerDepartment()
+                             + progress.teams().get();
+        final double elapsedSeconds = Math.max(1, nowNanos - progress.startNanos()) / 1e9;
+        return records / elapsedSeconds;
+    }
+
+    /**
+     * Parses the count from the query parameter.
+     *
+     * @param request      the {@link ServerRequest}
+     * @param name         the query parameter name
+     * @param defaultCount the count used when the query parameter is absent
+     * @param maxCount     the maximum count
+     * @return the count
+     */
+    private static int parseCount(ServerRequest request, String name, int defaultCount, int maxCount) {
+
+        final int count = request.queryParam(name).map(Integer::parseInt).orElse(defaultCount);
+        if (count < 0 || count > maxCount) {
+            throw new IllegalArgumentException("The '%s' count[%d] is not in range [0, %d]"
+                    .formatted(name, count, maxCount));
+        }
+        return count;
     }
 
 }
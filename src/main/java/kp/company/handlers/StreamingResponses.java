@@ -0,0 +1,68 @@
+package kp.company.handlers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+import static kp.Constants.NOT_FOUND_SUPPLIER;
+
+/**
+ * The streaming responses.
+ * <p>
+ * The listing is streamed when the client accepts 'application/x-ndjson' or 'text/event-stream'.
+ * The elements are written as they arrive, and the demand of the response writer is propagated
+ * back to the Redis commands.
+ * </p>
+ */
+final class StreamingResponses {
+
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private StreamingResponses() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Selects the streaming media type accepted by the client.
+     * <p>
+     * The wildcard media types do not select streaming.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the optional streaming {@link MediaType}
+     */
+    static Optional<MediaType> selectStreamingMediaType(ServerRequest request) {
+
+        final List<MediaType> acceptedMediaTypes = request.headers().accept();
+        return STREAMING_MEDIA_TYPES.stream()
+                .filter(mediaType -> acceptedMediaTypes.stream().anyMatch(mediaType::equalsTypeAndSubtype))
+                .findFirst();
+    }
+
+    /**
+     * Streams the elements.
+     * <p>
+     * The status is decided on the first signal: an empty {@link Flux} gives 'Not Found'
+     * and an error is propagated. The first element is replayed into the response body.
+     * </p>
+     *
+     * @param flux         the elements {@link Flux}
+     * @param mediaType    the streaming {@link MediaType}
+     * @param elementClass the element class
+     * @param <T>          the element type
+     * @return the {@link ServerResponse} {@link Mono} with the streamed elements
+     */
+    static <T> Mono<ServerResponse> stream(Flux<T> flux, MediaType mediaType, Class<T> elementClass) {
+
+        return flux.switchOnFirst((signal, elements) -> signal.hasValue()
+                        ? ServerResponse.ok().contentType(mediaType).body(elements, elementClass)
+                        : elements.then(NOT_FOUND_SUPPLIER.get()), false)
+                .singleOrEmpty();
+    }
+}
@@ -1,20 +1,37 @@
 package kp.company.handlers;
 
+import kp.company.domain.RankedTeamTuple;
+import kp.company.domain.ScoreIncrement;
 import kp.company.domain.Team;
+import kp.company.domain.TeamChange;
+import kp.company.domain.TeamRank;
 import kp.company.domain.TeamTuple;
+import kp.company.services.TeamChangeFeed;
+import kp.company.services.TeamScoreCoalescer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -32,19 +49,47 @@ public class TeamHandler {
 
     private static final boolean VERBOSE = false;
 
+    private static final ParameterizedTypeReference<List<Integer>> TEAM_IDS_TYPE = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<ScoreIncrement>> SCORE_INCREMENTS_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<ServerSentEvent<TeamChange>> TEAM_CHANGE_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    /**
+     * Maps the Redis tuple to the {@link TeamTuple}. The absent score is mapped to zero.
+     */
+    static final Function<TypedTuple<Team>, TeamTuple> TEAM_TUPLE_FUN = tuple -> new TeamTuple(
+            tuple.getValue(), Optional.ofNullable(tuple.getScore()).orElse(0d));
+
     private final ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+    private final TeamScoreCoalescer teamScoreCoalescer;
+    private final TeamChangeFeed teamChangeFeed;
 
     /**
      * Constructor.
      *
      * @param reactiveZSetOperations the {@link ReactiveZSetOperations} for the {@link Team}
+     * @param teamScoreCoalescer     the {@link TeamScoreCoalescer}
+     * @param teamChangeFeed         the {@link TeamChangeFeed}
      */
-    public TeamHandler(ReactiveZSetOperations<String, Team> reactiveZSetOperations) {
+    public TeamHandler(ReactiveZSetOperations<String, Team> reactiveZSetOperations,
+                       TeamScoreCoalescer teamScoreCoalescer, TeamChangeFeed teamChangeFeed) {
+
         this.reactiveZSetOperations = reactiveZSetOperations;
+        this.teamScoreCoalescer = teamScoreCoalescer;
+        this.teamChangeFeed = teamChangeFeed;
     }
 
     /**
      * Finds all {@link Team}s.
+     * <p>
+     * The {@link TeamTuple}s are streamed when the client accepts 'application/x-ndjson' or 'text/event-stream'.
+     * </p>
      *
      * @param request the {@link ServerRequest}
      * @return the {@link ServerResponse} {@link Mono} with the {@link TeamTuple}s
@@ -52,17 +97,17 @@ public class TeamHandler {
     public Mono<ServerResponse> handleTeams(ServerRequest request) {
 
         logger.debug("handleTeams(): request without query parameters[{}]", request.queryParams().isEmpty());
-        final Flux<TeamTuple> teamTupleFlux = reactiveZSetOperations.scan(TEAMS_KEY).flatMap(
-                tuple -> Mono.just(new TeamTuple(
-                        tuple.getValue(), Optional.ofNullable(tuple.getScore()).orElse(0d))));
+        final Flux<TeamTuple> teamTupleFlux = reactiveZSetOperations.scan(TEAMS_KEY).map(TEAM_TUPLE_FUN);
 
         final Function<List<TeamTuple>, Mono<ServerResponse>> responseMapper = list -> list.isEmpty()
                 ? NOT_FOUND_SUPPLIER.get()
                 : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(list);
 
-        final Mono<ServerResponse> serverResponseMono = teamTupleFlux.collectList().flatMap(responseMapper)
+        final Mono<ServerResponse> serverResponseMono = StreamingResponses.selectStreamingMediaType(request)
+                .map(mediaType -> StreamingResponses.stream(teamTupleFlux, mediaType, TeamTuple.class))
+                .orElseGet(() -> teamTupleFlux.collectList().flatMap(responseMapper))
                 .transform(mono -> VERBOSE ? mono.log() : mono);
-        logger.info("handleTeams():");
+        logger.debug("handleTeams():");
         return serverResponseMono;
     }
 
@@ -87,18 +132,15 @@ public class TeamHandler {
             return ServerResponse.badRequest().build();
         }
         final Flux<TeamTuple> teamTupleFlux = reactiveZSetOperations
-                .rangeByScoreWithScores(TEAMS_KEY, Range.closed(rangeFrom, rangeTo))
-                .flatMap(tuple -> Mono.just(
-                        new TeamTuple(tuple.getValue(), Optional.ofNullable(tuple.getScore()).orElse(0d))));
+                .rangeByScoreWithScores(TEAMS_KEY, Range.closed(rangeFrom, rangeTo)).map(TEAM_TUPLE_FUN);
 
         final Function<List<TeamTuple>, Mono<ServerResponse>> responseMapper = list -> list.isEmpty()
                 ? NOT_FOUND_SUPPLIER.get()
                 : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(list);
         final Mono<ServerResponse> serverResponseMono = teamTupleFlux.collectList().flatMap(responseMapper)
                 .transform(mono -> VERBOSE ? mono.log() : mono);
-        if (logger.isInfoEnabled()) {
-            logger.info("handleTeamsRangeByScore(): rangeFrom[{}], rangeTo[{}]",
-                    DBL_FMT.apply(rangeFrom), DBL_FMT.apply(rangeTo));
+        if (logger.isDebugEnabled()) {
+            logger.debug("handleTeamsRangeByScore(): rangeFrom[{}], rangeTo[{}]", rangeFrom, rangeTo);
         }
         return serverResponseMono;
     }
@@ -129,8 +171,232 @@ public class TeamHandler {
         final Mono<ServerResponse> serverResponseMono = rankMono.flatMap(responseMapper)
                 .switchIfEmpty(NOT_FOUND_SUPPLIER.get())
                 .transform(mono -> VERBOSE ? mono.log() : mono);
-        logger.info("handleTeamRankById(): teamId[{}]", teamId);
+        if (logger.isDebugEnabled()) {
+            logger.debug("handleTeamRankById(): teamId[{}]", teamId);
+        }
         return serverResponseMono;
     }
 
+    /**
+     * Finds the ranks and the scores of many {@link Team}s.
+     * <p>
+     * The request body is the JSON array of the {@link Team} ids.
+     * The response maps the {@link Team} id to its {@link TeamRank}; the unknown {@link Team}s are left out.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link TeamRank}s
+     */
+    public Mono<ServerResponse> handleTeamRanksByIds(ServerRequest request) {
+
+        final Function<Map<Integer, TeamRank>, Mono<ServerResponse>> responseMapper = map -> map.isEmpty()
+                ? NOT_FOUND_SUPPLIER.get()
+                : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(map);
+        final Mono<ServerResponse> serverResponseMono = request.bodyToMono(TEAM_IDS_TYPE)
+                .flatMap(teamIds -> {
+                    if (teamIds.isEmpty() || teamIds.size() > MAX_TEAM_RANK_BATCH_SIZE || teamIds.contains(null)) {
+                        logger.error("handleTeamRanksByIds(): bad request, team ids size[{}]", teamIds.size());
+                        return ServerResponse.badRequest().build();
+                    }
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("handleTeamRanksByIds(): team ids size[{}]", teamIds.size());
+                    }
+                    return findTeamRanks(teamIds).flatMap(responseMapper);
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build())
+                .onErrorResume(ServerWebInputException.class, exc -> {
+                    logger.error("handleTeamRanksByIds(): exception[{}]", exc.getMessage());
+                    return ServerResponse.badRequest().build();
+                })
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+        logger.debug("handleTeamRanksByIds():");
+        return serverResponseMono;
+    }
+
+    /**
+     * Finds the ranks and the scores of the {@link Team}s in one Redis exchange.
+     * <p>
+     * The scores are read with one ZMSCORE command. Redis has no multi-member ZRANK,
+     * so the ZRANK commands are all issued at once on the shared connection.
+     * Lettuce writes them without waiting for the replies, so they travel as one pipeline.
+     * </p>
+     *
+     * @param teamIds the {@link Team} ids
+     * @return the map of the {@link Team} id to the {@link TeamRank}, in the order of the ids
+     */
+    Mono<Map<Integer, TeamRank>> findTeamRanks(Collection<Integer> teamIds) {
+
+        final List<Integer> distinctTeamIds = List.copyOf(new LinkedHashSet<>(teamIds));
+        final Mono<List<Double>> scoresMono = reactiveZSetOperations.score(TEAMS_KEY,
+                distinctTeamIds.stream().map(Team::new).toArray());
+        final Mono<Map<Integer, Long>> ranksMono = Flux.fromIterable(distinctTeamIds)
+                .flatMap(teamId -> reactiveZSetOperations.rank(TEAMS_KEY, new Team(teamId))
+                        .map(rank -> Map.entry(teamId, rank)), distinctTeamIds.size())
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+        return Mono.zip(ranksMono, scoresMono).map(tuple -> {
+            final Map<Integer, TeamRank> teamRankMap = new LinkedHashMap<>();
+            for (int i = 0; i < distinctTeamIds.size(); i++) {
+                final Integer teamId = distinctTeamIds.get(i);
+                final Long rank = tuple.getT1().get(teamId);
+                final Double score = tuple.getT2().get(i);
+                if (rank != null && score != null) {
+                    teamRankMap.put(teamId, new TeamRank(rank, score));
+                }
+            }
+            return teamRankMap;
+        });
+    }
+
+    /**
+     * Accepts the {@link Team} score increments.
+     * <p>
+     * The request body is the JSON array of the {@link ScoreIncrement}s.
+     * The increments are applied asynchronously by the {@link TeamScoreCoalescer},
+     * hence the status 'Accepted'. When Redis falls behind, the status is 'Service Unavailable'.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono}
+     */
+    public Mono<ServerResponse> handleTeamScoreIncrements(ServerRequest request) {
+
+        final Mono<ServerResponse> serverResponseMono = request.bodyToMono(SCORE_INCREMENTS_TYPE)
+                .flatMap(scoreIncrements -> {
+                    if (scoreIncrements.isEmpty() || scoreIncrements.size() > MAX_SCORE_INCREMENT_BATCH_SIZE
+                        || !scoreIncrements.stream().allMatch(TeamHandler::isValid)) {
+                        logger.error("handleTeamScoreIncrements(): bad request, increments size[{}]",
+                                scoreIncrements.size());
+                        return ServerResponse.badRequest().build();
+                    }
+                    if (!teamScoreCoalescer.submit(scoreIncrements)) {
+                        logger.warn("handleTeamScoreIncrements(): rejected, increments size[{}]",
+                                scoreIncrements.size());
+                        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).build();
+                    }
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("handleTeamScoreIncrements(): increments size[{}]", scoreIncrements.size());
+                    }
+                    return ServerResponse.accepted().build();
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build())
+                .onErrorResume(ServerWebInputException.class, exc -> {
+                    logger.error("handleTeamScoreIncrements(): exception[{}]", exc.getMessage());
+                    return ServerResponse.badRequest().build();
+                })
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+        logger.debug("handleTeamScoreIncrements():");
+        return serverResponseMono;
+    }
+
+    /**
+     * Gets the statistics of the {@link TeamScoreCoalescer}.
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link kp.company.domain.ScoreIngestionStatistics}
+     */
+    public Mono<ServerResponse> handleTeamScoreIngestionStatistics(ServerRequest request) {
+
+        logger.debug("handleTeamScoreIngestionStatistics(): request without query parameters[{}]",
+                request.queryParams().isEmpty());
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamScoreCoalescer.statistics());
+    }
+
+    /**
+     * Streams the {@link TeamChange}s of the leaderboard as server-sent events.
+     * <p>
+     * The changes are pushed as they are published, conflated per team for the slow client.
+     * The merge with the heartbeats prefetches one event, so the changes wait conflated in the feed.
+     * The heartbeat comments keep the idle connection open through the proxies.
+     * The stream completes when the client fell behind too far, then the client should read the leaderboard again.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the stream of the {@link TeamChange} events
+     */
+    public Mono<ServerResponse> handleTeamChanges(ServerRequest request) {
+
+        logger.debug("handleTeamChanges(): request without query parameters[{}]", request.queryParams().isEmpty());
+        final Sinks.Empty<Void> changesCompletion = Sinks.empty();
+        final Flux<ServerSentEvent<TeamChange>> changeEventFlux = teamChangeFeed.changes()
+                .doFinally(_ -> changesCompletion.tryEmitEmpty())
+                .map(teamChange -> ServerSentEvent.builder(teamChange).event(TEAM_CHANGE_EVENT).build());
+        final Flux<ServerSentEvent<TeamChange>> heartbeatEventFlux = teamChangeFeed.heartbeats()
+                .takeUntilOther(changesCompletion.asMono())
+                .map(_ -> ServerSentEvent.<TeamChange>builder().comment(HEARTBEAT_COMMENT).build());
+        final Flux<ServerSentEvent<TeamChange>> eventFlux = Flux.merge(1, changeEventFlux, heartbeatEventFlux)
+                .transform(flux -> VERBOSE ? flux.log() : flux);
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(eventFlux, TEAM_CHANGE_EVENT_TYPE);
+    }
+
+    /**
+     * Finds the page of the {@link Team} leaderboard.
+     * <p>
+     * The {@link Team}s with the highest scores are read with ZREVRANGE WITHSCORES,
+     * so Redis returns only the requested page, already ordered by descending score.
+     * The top N is the page with the offset 0 and the limit N.
+     * </p>
+     *
+     * @param request the {@link ServerRequest}
+     * @return the {@link ServerResponse} {@link Mono} with the {@link RankedTeamTuple}s
+     */
+    public Mono<ServerResponse> handleTeamsLeaderboard(ServerRequest request) {
+
+        final long offset;
+        final long limit;
+        try {
+            offset = request.queryParam(OFFSET_VAR).map(Long::parseLong).orElse(0L);
+            limit = request.queryParam(LIMIT_VAR).map(Long::parseLong).orElse(DEFAULT_LEADERBOARD_LIMIT);
+            // the end of the page must not overflow
+            Math.addExact(offset, limit);
+        } catch (Exception e) {
+            logger.error("handleTeamsLeaderboard(): exception[{}]", e.getMessage());
+            return ServerResponse.badRequest().build();
+        }
+        if (offset < 0 || limit < 1 || limit > MAX_LEADERBOARD_LIMIT) {
+            logger.error("handleTeamsLeaderboard(): bad request, offset[{}], limit[{}]", offset, limit);
+            return ServerResponse.badRequest().build();
+        }
+        final Function<List<RankedTeamTuple>, Mono<ServerResponse>> responseMapper = list -> list.isEmpty()
+                ? NOT_FOUND_SUPPLIER.get()
+                : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(list);
+        final Mono<ServerResponse> serverResponseMono = findTeamsLeaderboard(offset, limit).collectList()
+                .flatMap(responseMapper)
+                .transform(mono -> VERBOSE ? mono.log() : mono);
+        if (logger.isDebugEnabled()) {
+            logger.debug("handleTeamsLeaderboard(): offset[{}], limit[{}]", offset, limit);
+        }
+        return serverResponseMono;
+    }
+
+    /**
+     * Finds the page of the {@link Team} leaderboard.
+     * <p>
+     * The rank of the tuple is its offset plus its position on the page.
+     * </p>
+     *
+     * @param offset the zero-based rank of the first {@link Team} on the page
+     * @param limit  the maximum number of {@link Team}s on the page
+     * @return the {@link RankedTeamTuple}s ordered by descending score
+     */
+    Flux<RankedTeamTuple> findTeamsLeaderboard(long offset, long limit) {
+
+        return reactiveZSetOperations.reverseRangeWithScores(TEAMS_KEY, Range.closed(offset, offset + limit - 1))
+                .map(TEAM_TUPLE_FUN)
+                .index((index, teamTuple) -> new RankedTeamTuple(offset + index, teamTuple.team(),
+                        teamTuple.score()));
+    }
+
+    /**
+     * Validates the {@link ScoreIncrement}.
+     *
+     * @param scoreIncrement the {@link ScoreIncrement}
+     * @return true if the {@link ScoreIncrement} is valid
+     */
+    private static boolean isValid(ScoreIncrement scoreIncrement) {
+        return scoreIncrement != null && scoreIncrement.teamId() >= TEAM_ID_LOWER_BOUND
+               && Double.isFinite(scoreIncrement.delta());
+    }
+
 }
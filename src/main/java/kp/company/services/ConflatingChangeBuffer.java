@@ -0,0 +1,90 @@
+package kp.company.services;
+
+import kp.company.domain.TeamChange;
+import reactor.core.publisher.FluxSink;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The conflating buffer of the {@link TeamChange}s for one subscriber of the change feed.
+ * <p>
+ * The buffer keeps at most one {@link TeamChange} per team: the later change replaces the earlier one
+ * keeping its place in the order, and their deltas are summed.
+ * So a slow subscriber receives the latest rank and score of every changed team,
+ * and the memory is bounded by the number of the teams, not by the number of the changes.
+ * </p>
+ * <p>
+ * The changes are emitted only on the demand of the subscriber. The drain loop is entered by one thread at a time,
+ * the other threads only mark the missed drain.
+ * </p>
+ */
+class ConflatingChangeBuffer {
+
+    private final int maxTeams;
+    private final LinkedHashMap<Integer, TeamChange> changeMap = new LinkedHashMap<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param maxTeams the maximum number of buffered {@link TeamChange}s
+     */
+    ConflatingChangeBuffer(int maxTeams) {
+        this.maxTeams = maxTeams;
+    }
+
+    /**
+     * Offers the {@link TeamChange}, conflating it with the buffered change of the same team.
+     *
+     * @param teamChange the {@link TeamChange}
+     * @return false if the buffer is full
+     */
+    synchronized boolean offer(TeamChange teamChange) {
+
+        final TeamChange previous = changeMap.get(teamChange.teamId());
+        if (previous == null && changeMap.size() >= maxTeams) {
+            return false;
+        }
+        changeMap.put(teamChange.teamId(), previous == null ? teamChange : new TeamChange(teamChange.teamId(),
+                teamChange.rank(), teamChange.score(), previous.delta() + teamChange.delta()));
+        return true;
+    }
+
+    /**
+     * Emits the buffered {@link TeamChange}s requested by the subscriber.
+     *
+     * @param sink the {@link FluxSink} of the subscriber
+     */
+    void drain(FluxSink<TeamChange> sink) {
+
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            TeamChange teamChange;
+            while (sink.requestedFromDownstream() > 0 && !sink.isCancelled() && (teamChange = poll()) != null) {
+                sink.next(teamChange);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Removes the oldest buffered {@link TeamChange}.
+     *
+     * @return the {@link TeamChange} or null if the buffer is empty
+     */
+    private synchronized TeamChange poll() {
+
+        final Iterator<TeamChange> iterator = changeMap.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        final TeamChange teamChange = iterator.next();
+        iterator.remove();
+        return teamChange;
+    }
+}
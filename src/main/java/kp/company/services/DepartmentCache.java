@@ -0,0 +1,335 @@
+package kp.company.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.configuration.properties.CompanyProperties.Layout;
+import kp.company.domain.CacheStatistics;
+import kp.company.domain.Department;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static kp.Constants.*;
+
+/**
+ * The in-process near cache of the {@link Department}s.
+ * <p>
+ * The Caffeine cache is bounded by size (W-TinyLFU eviction) and by the time to live.
+ * It is kept coherent with Redis by the keyspace notifications of the {@link Department} keys:
+ * every write, delete or expiration of the key invalidates the cached {@link Department}.
+ * The notifications must be enabled on the Redis server ('notify-keyspace-events' with the flags 'Kg$xe',
+ * and with the flag 'h' for the 'hash' layout of the {@link DepartmentStore}).
+ * </p>
+ * <p>
+ * The listener is subscribed after the application start and resubscribed with backoff after a failure.
+ * Before subscribing, the 'notify-keyspace-events' of the server is read with CONFIG GET: without the required
+ * flags the subscription would receive nothing, so it is retried with backoff like after a failure.
+ * When CONFIG GET is refused (e.g. the command is renamed by the provider), the flags are not verified.
+ * Without the active subscription the notifications would be lost, so the cache is bypassed,
+ * and it is cleared when the subscription becomes active again.
+ * The FLUSHALL command sends no keyspace notifications, so the flushing code calls {@link #invalidateAll()}.
+ * The listener is not started when the reads are served by the replicas or by the cluster nodes
+ * (see {@link CompanyProperties.Redis#readsFromSingleNode()}), then the cache is always bypassed.
+ * </p>
+ * <p>
+ * The reads from Redis go through the {@link SingleFlight}: the concurrent callers for the same key
+ * share one GET command and one decoding, also while the cache is bypassed.
+ * </p>
+ */
+@Component
+public class DepartmentCache implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String NOTIFY_KEYSPACE_EVENTS_PARAM = "notify-keyspace-events";
+    private static final String NOTIFY_KEYSPACE_EVENTS_FLAGS = "Kg$xe";
+    private static final String NOTIFY_KEYSPACE_EVENTS_HASH_FLAGS = "Kg$hxe";
+    private static final char NOTIFY_KEYSPACE_EVENTS_ALL_FLAG = 'A';
+    private static final String NOTIFY_KEYSPACE_EVENTS_ALL_CLASSES = "g$lshzxet";
+
+    private final DepartmentStore departmentStore;
+    private final ReactiveRedisConnectionFactory reactiveRedisConnectionFactory;
+    private final CompanyProperties.Cache cacheProperties;
+    private final boolean readsFromSingleNode;
+    private final Cache<String, Department> cache;
+    private final SingleFlight<String, Department> singleFlight;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicReference<ReactiveRedisMessageListenerContainer> containerReference = new AtomicReference<>();
+    private final AtomicReference<Disposable> subscriptionReference = new AtomicReference<>();
+
+    /**
+     * Constructor.
+     * <p>
+     * The listener container is created lazily when the listener is started.
+     * </p>
+     *
+     * @param departmentStore                the {@link DepartmentStore}
+     * @param reactiveRedisConnectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @param companyProperties              the {@link CompanyProperties}
+     */
+    public DepartmentCache(DepartmentStore departmentStore,
+                           ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+                           CompanyProperties companyProperties) {
+
+        this.departmentStore = departmentStore;
+        this.reactiveRedisConnectionFactory = reactiveRedisConnectionFactory;
+        this.cacheProperties = companyProperties.cache();
+        this.readsFromSingleNode = companyProperties.redis().readsFromSingleNode();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.maximumSize())
+                .expireAfterWrite(cacheProperties.timeToLive())
+                .recordStats()
+                .build();
+        this.singleFlight = new SingleFlight<>(cacheProperties.singleFlight());
+    }
+
+    /**
+     * Gets the {@link Department} from the cache or from Redis.
+     * <p>
+     * The {@link Department} read from Redis is cached only if no invalidation happened during the read,
+     * otherwise the stale value could outlive its invalidation.
+     * </p>
+     *
+     * @param key the {@link Department} key
+     * @return the {@link Department} {@link Mono}
+     */
+    public Mono<Department> get(String key) {
+
+        if (!isCoherent()) {
+            return singleFlight.execute(key, departmentStore::get);
+        }
+        return Mono.defer(() -> {
+            final Department department = cache.getIfPresent(key);
+            if (department != null) {
+                return Mono.just(department);
+            }
+            return singleFlight.execute(key, this::readAndCache);
+        });
+    }
+
+    /**
+     * Invalidates the cached {@link Department}.
+     *
+     * @param key the {@link Department} key
+     */
+    public void invalidate(String key) {
+
+        generation.incrementAndGet();
+        singleFlight.forget(key);
+        cache.invalidate(key);
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * Invalidates all cached {@link Department}s.
+     */
+    public void invalidateAll() {
+
+        generation.incrementAndGet();
+        singleFlight.forgetAll();
+        cache.invalidateAll();
+        logger.debug("invalidateAll():");
+    }
+
+    /**
+     * Gets the {@link CacheStatistics}.
+     *
+     * @return the {@link CacheStatistics}
+     */
+    public CacheStatistics statistics() {
+
+        final CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                invalidationCount.get(), cache.estimatedSize(), stats.hitRate(), isCoherent(),
+                singleFlight.statistics());
+    }
+
+    /**
+     * Starts the listener of the keyspace notifications after the application start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListener() {
+
+        if (!cacheProperties.enabled() || !cacheProperties.listenerEnabled()) {
+            logger.info("startListener(): listener disabled, cache enabled[{}]", cacheProperties.enabled());
+            return;
+        }
+        if (!readsFromSingleNode) {
+            // the keyspace notifications of one node do not cover the keys read from the other nodes
+            logger.warn("startListener(): the reads are not served by one node, the cache is bypassed");
+            return;
+        }
+        final String requiredFlags = departmentStore.layout() == Layout.HASH
+                ? NOTIFY_KEYSPACE_EVENTS_HASH_FLAGS : NOTIFY_KEYSPACE_EVENTS_FLAGS;
+        final Mono<Void> configureMono = cacheProperties.configureNotifications()
+                ? Mono.usingWhen(Mono.fromSupplier(reactiveRedisConnectionFactory::getReactiveConnection),
+                        connection -> connection.serverCommands().setConfig(NOTIFY_KEYSPACE_EVENTS_PARAM,
+                                requiredFlags),
+                        ReactiveRedisConnection::closeLater)
+                .doOnError(exc -> logger.warn("startListener(): configuring notifications failed, exception[{}]",
+                        exc.getMessage()))
+                .onErrorComplete().then()
+                : Mono.empty();
+        final Disposable subscription = configureMono
+                .then(Mono.defer(() -> checkNotifications(requiredFlags)))
+                .then(Mono.defer(() -> getContainer().receiveLater(new PatternTopic(DEP_KEYSPACE_PATTERN))))
+                .doOnNext(_ -> {
+                    invalidateAll();
+                    subscribed.set(true);
+                    logger.info("startListener(): subscribed to pattern[{}]", DEP_KEYSPACE_PATTERN);
+                })
+                .flatMapMany(Function.identity())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, cacheProperties.minBackoff())
+                        .maxBackoff(cacheProperties.maxBackoff())
+                        .doBeforeRetry(signal -> {
+                            subscribed.set(false);
+                            destroyContainer();
+                            logger.warn("startListener(): resubscribing, attempt[{}], exception[{}]",
+                                    signal.totalRetries() + 1, signal.failure().getMessage());
+                        }))
+                .doFinally(_ -> subscribed.set(false))
+                .subscribe(message -> handleKeyspaceEvent(message.getChannel()));
+        Optional.ofNullable(subscriptionReference.getAndSet(subscription)).ifPresent(Disposable::dispose);
+    }
+
+    /**
+     * Stops the listener.
+     */
+    @Override
+    public void destroy() {
+
+        Optional.ofNullable(subscriptionReference.getAndSet(null)).ifPresent(Disposable::dispose);
+        destroyContainer();
+    }
+
+    /**
+     * Handles the keyspace notification by invalidating the {@link Department} of the notified key.
+     *
+     * @param channel the channel, e.g. '__keyspace@0__:K-DEP-1'
+     */
+    void handleKeyspaceEvent(String channel) {
+
+        final int separatorIndex = channel.indexOf(KEYSPACE_CHANNEL_SEPARATOR);
+        if (separatorIndex < 0) {
+            logger.warn("handleKeyspaceEvent(): unexpected channel[{}]", channel);
+            return;
+        }
+        invalidate(channel.substring(separatorIndex + KEYSPACE_CHANNEL_SEPARATOR.length()));
+    }
+
+    /**
+     * Checks that the server sends the keyspace notifications the cache depends on.
+     *
+     * @param requiredFlags the required flags of 'notify-keyspace-events'
+     * @return the {@link Mono} completing when the flags are configured or cannot be read,
+     * failing with {@link IllegalStateException} when they are missing
+     */
+    private Mono<Void> checkNotifications(String requiredFlags) {
+
+        return Mono.usingWhen(Mono.fromSupplier(reactiveRedisConnectionFactory::getReactiveConnection),
+                        connection -> connection.serverCommands().getConfig(NOTIFY_KEYSPACE_EVENTS_PARAM),
+                        ReactiveRedisConnection::closeLater)
+                .map(properties -> properties.getProperty(NOTIFY_KEYSPACE_EVENTS_PARAM, ""))
+                .doOnError(exc -> logger.warn("checkNotifications(): flags not verified, exception[{}]",
+                        exc.getMessage()))
+                .onErrorComplete()
+                .flatMap(flags -> hasNotificationFlags(flags, requiredFlags) ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("'%s' is '%s', the required flags are '%s'"
+                        .formatted(NOTIFY_KEYSPACE_EVENTS_PARAM, flags, requiredFlags))));
+    }
+
+    /**
+     * Checks whether the configured flags of 'notify-keyspace-events' contain the required flags.
+     * <p>
+     * The flag 'A' is the alias of the event classes 'g$lshzxet'.
+     * </p>
+     *
+     * @param configuredFlags the configured flags
+     * @param requiredFlags   the required flags
+     * @return true if all required flags are configured
+     */
+    static boolean hasNotificationFlags(String configuredFlags, String requiredFlags) {
+
+        final boolean allClasses = configuredFlags.indexOf(NOTIFY_KEYSPACE_EVENTS_ALL_FLAG) >= 0;
+        return requiredFlags.chars().allMatch(flag -> configuredFlags.indexOf(flag) >= 0
+                || allClasses && NOTIFY_KEYSPACE_EVENTS_ALL_CLASSES.indexOf(flag) >= 0);
+    }
+
+    /**
+     * Reads the {@link Department} from Redis and caches it.
+     * <p>
+     * The generation is taken when the read starts, so the value read across an invalidation is not cached.
+     * </p>
+     *
+     * @param key the {@link Department} key
+     * @return the {@link Department} {@link Mono}
+     */
+    private Mono<Department> readAndCache(String key) {
+
+        return Mono.defer(() -> {
+            final long readGeneration = generation.get();
+            return departmentStore.get(key).doOnNext(value -> {
+                if (generation.get() == readGeneration) {
+                    cache.put(key, value);
+                }
+            });
+        });
+    }
+
+    /**
+     * Checks whether the cache is used.
+     * <p>
+     * With the listener enabled the cache is used only while the listener is subscribed.
+     * With the listener disabled the staleness is bounded by the time to live.
+     * </p>
+     *
+     * @return true if the cache is used
+     */
+    private boolean isCoherent() {
+        return cacheProperties.enabled() && (!cacheProperties.listenerEnabled() || subscribed.get());
+    }
+
+    /**
+     * Gets the listener container, creating it when absent.
+     *
+     * @return the {@link ReactiveRedisMessageListenerContainer}
+     */
+    private ReactiveRedisMessageListenerContainer getContainer() {
+        return containerReference.updateAndGet(container -> Optional.ofNullable(container)
+                .orElseGet(() -> new ReactiveRedisMessageListenerContainer(reactiveRedisConnectionFactory)));
+    }
+
+    /**
+     * Destroys the listener container.
+     */
+    private void destroyContainer() {
+
+        Optional.ofNullable(containerReference.getAndSet(null)).ifPresent(container -> {
+            try {
+                container.destroy();
+            } catch (Exception e) {
+                logger.warn("destroyContainer(): exception[{}]", e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package kp.company.services;
+
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.Department;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * The pass-through of the stored {@link Department} values.
+ * <p>
+ * With the JSON serialization and the string layout, the stored value of the {@link Department} is already
+ * its JSON representation. The raw value bytes are read with one GET command and written to the response as is,
+ * without decoding them into the {@link Department} and encoding it again.
+ * </p>
+ * <p>
+ * The pass-through is requested with 'company.departments.pass-through'.
+ * With the compact serialization or with the hash layout, the stored value is not the JSON representation,
+ * and the requested pass-through stays disabled.
+ * The pass-through reads every request from Redis, the {@link DepartmentCache} is not used.
+ * </p>
+ */
+@Component
+public class DepartmentPassThrough {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final ReactiveValueOperations<String, byte[]> rawValueOperations;
+    private final boolean enabled;
+
+    /**
+     * Constructor.
+     *
+     * @param rawValueOperations the {@link ReactiveValueOperations} for the raw value bytes
+     * @param companyProperties  the {@link CompanyProperties}
+     */
+    public DepartmentPassThrough(ReactiveValueOperations<String, byte[]> rawValueOperations,
+                                 CompanyProperties companyProperties) {
+
+        this.rawValueOperations = rawValueOperations;
+        final CompanyProperties.Redis redisProperties = companyProperties.redis();
+        final boolean requested = companyProperties.departments().passThrough();
+        this.enabled = requested && redisProperties.serialization() == CompanyProperties.Serialization.JSON
+                       && redisProperties.layout() == CompanyProperties.Layout.STRING;
+        if (requested && !enabled) {
+            logger.warn("DepartmentPassThrough(): pass-through disabled, serialization[{}], layout[{}]",
+                    redisProperties.serialization(), redisProperties.layout());
+        }
+    }
+
+    /**
+     * Checks whether the pass-through is enabled.
+     *
+     * @return true if the stored {@link Department} values are passed through
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the raw value bytes of the {@link Department}.
+     *
+     * @param key the {@link Department} key
+     * @return the {@link Mono} with the value bytes, empty when the key is absent
+     */
+    public Mono<byte[]> get(String key) {
+        return rawValueOperations.get(key);
+    }
+
+    /**
+     * Checks whether the value bytes start with the JSON object.
+     * <p>
+     * The value not starting with the JSON object (e.g. the value written before with the compact serialization)
+     * is not passed through, the caller decodes it.
+     * </p>
+     *
+     * @param bytes the value bytes
+     * @return true if the first non-whitespace byte opens the JSON object
+     */
+    public static boolean isJsonObject(byte[] bytes) {
+
+        for (byte value : bytes) {
+            if (!Character.isWhitespace(value)) {
+                return value == '{';
+            }
+        }
+        return false;
+    }
+}
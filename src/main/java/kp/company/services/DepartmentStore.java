@@ -0,0 +1,483 @@
+package kp.company.services;
+
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.configuration.properties.CompanyProperties.Layout;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.EmployeePage;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static kp.Constants.*;
+
+/**
+ * The storage of the {@link Department}s in Redis.
+ * <p>
+ * The layout is selected by 'company.redis.layout':
+ * </p>
+ * <ul>
+ * <li>'string': the {@link Department} key holds the whole {@link Department} with all its {@link Employee}s,
+ * any read transfers and decodes the whole {@link Employee} list</li>
+ * <li>'hash': the {@link Department} key holds the hash of the {@link Department} fields (the name) and
+ * the key 'K-EMP:{department key}' holds the list of its {@link Employee}s, so the pages of {@link Employee}s
+ * are read with LRANGE without the rest of the list</li>
+ * </ul>
+ * <p>
+ * In the 'hash' layout the {@link Employee} list is written under the temporary key and renamed to its key
+ * before the hash is written, so the readers never see the partial list and the keyspace notification
+ * of the hash write comes after the whole {@link Department} is written.
+ * </p>
+ * <p>
+ * The {@link Employee}s filtered by the name prefixes are read in the 'hash' layout with LRANGE commands
+ * of limited size, so the whole {@link Employee} list is never held in memory.
+ * </p>
+ * <p>
+ * The {@link #migrate()} converts the {@link Department}s stored in the other layout to the configured layout.
+ * Until it completes, the reads by key answered with WRONGTYPE read the other layout
+ * and the scans match the {@link Department} keys of both layouts.
+ * </p>
+ */
+@Component
+public class DepartmentStore {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String WRONG_TYPE_ERROR_PREFIX = "WRONGTYPE";
+
+    private final ReactiveRedisOperations<@NonNull String, @NonNull Department> departmentOperations;
+    private final ReactiveHashOperations<String, String, String> fieldOperations;
+    private final ReactiveListOperations<String, Employee> employeeListOperations;
+    private final Layout layout;
+    private final CompanyProperties.Loading loadingProperties;
+
+    /**
+     * The filter of the {@link Employee}s by the name prefixes.
+     * <p>
+     * The prefixes are matched ignoring case, the empty prefix matches every name.
+     * </p>
+     *
+     * @param firstNamePrefix the first name prefix
+     * @param lastNamePrefix  the last name prefix
+     */
+    public record EmployeeFilter(String firstNamePrefix, String lastNamePrefix) implements Predicate<Employee> {
+
+        /**
+         * The filter matching every {@link Employee}.
+         */
+        public static final EmployeeFilter NONE = new EmployeeFilter("", "");
+
+        /**
+         * Checks whether this filter matches every {@link Employee}.
+         *
+         * @return true if both prefixes are empty
+         */
+        public boolean isEmpty() {
+            return firstNamePrefix.isEmpty() && lastNamePrefix.isEmpty();
+        }
+
+        /**
+         * Checks whether the {@link Employee} names start with the prefixes.
+         *
+         * @param employee the {@link Employee}
+         * @return true if the {@link Employee} matches
+         */
+        @Override
+        public boolean test(Employee employee) {
+            return startsWithIgnoreCase(employee.firstName(), firstNamePrefix)
+                    && startsWithIgnoreCase(employee.lastName(), lastNamePrefix);
+        }
+
+        /**
+         * Checks whether the name starts with the prefix ignoring case.
+         *
+         * @param name   the name
+         * @param prefix the prefix
+         * @return true if the name starts with the prefix
+         */
+        private static boolean startsWithIgnoreCase(String name, String prefix) {
+            return name.regionMatches(true, 0, prefix, 0, prefix.length());
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param departmentOperations   the {@link ReactiveRedisOperations} for the {@link Department}s
+     * @param fieldOperations        the {@link ReactiveHashOperations} for the string hashes
+     * @param employeeListOperations the {@link ReactiveListOperations} for the {@link Employee} lists
+     * @param companyProperties      the {@link CompanyProperties}
+     */
+    public DepartmentStore(ReactiveRedisOperations<@NonNull String, @NonNull Department> departmentOperations,
+                           ReactiveHashOperations<String, String, String> fieldOperations,
+                           ReactiveListOperations<String, Employee> employeeListOperations,
+                           CompanyProperties companyProperties) {
+
+        this.departmentOperations = departmentOperations;
+        this.fieldOperations = fieldOperations;
+        this.employeeListOperations = employeeListOperations;
+        this.layout = companyProperties.redis().layout();
+        this.loadingProperties = companyProperties.loading();
+    }
+
+    /**
+     * Gets the {@link Layout}.
+     *
+     * @return the {@link Layout}
+     */
+    public Layout layout() {
+        return layout;
+    }
+
+    /**
+     * Creates the {@link ScanOptions} matching the {@link Department} keys.
+     * <p>
+     * The keys are matched by the pattern without the type, so the {@link Department}s not yet migrated
+     * to the configured layout are scanned too.
+     * </p>
+     *
+     * @param count the SCAN count hint
+     * @return the {@link ScanOptions}
+     */
+    public ScanOptions scanOptions(long count) {
+        return ScanOptions.scanOptions().match(DEP_KEY_PATTERN).count(count).build();
+    }
+
+    /**
+     * Scans the {@link Department} keys.
+     *
+     * @param count the SCAN count hint
+     * @return the {@link Department} keys {@link Flux}
+     */
+    public Flux<String> scan(long count) {
+        return departmentOperations.scan(scanOptions(count));
+    }
+
+    /**
+     * Gets the {@link Department}.
+     * <p>
+     * One GET command in the 'string' layout, one HGET command and one LRANGE command in the 'hash' layout.
+     * The {@link Department} not yet migrated is answered with WRONGTYPE and is read in the other layout.
+     * </p>
+     *
+     * @param key the {@link Department} key
+     * @return the {@link Department} {@link Mono}, empty for the absent {@link Department}
+     */
+    public Mono<Department> get(String key) {
+
+        return read(key, layout);
+    }
+
+    /**
+     * Gets the {@link Department}s.
+     * <p>
+     * One MGET command in the 'string' layout, the pipelined reads of the single {@link Department}s
+     * in the 'hash' layout. The absent {@link Department}s are skipped.
+     * MGET answers the {@link Department} not yet migrated with nil, it is read again in the other layout.
+     * </p>
+     *
+     * @param keys the {@link Department} keys
+     * @return the {@link Mono} with the list of {@link Department}s
+     */
+    public Mono<List<Department>> getAll(List<String> keys) {
+
+        if (keys.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return switch (layout) {
+            case STRING -> departmentOperations.opsForValue().multiGet(keys)
+                    .flatMapMany(list -> Flux.range(0, list.size()).flatMapSequential(index -> Objects
+                            .isNull(list.get(index)) ? read(keys.get(index), Layout.HASH) : Mono.just(list.get(index))))
+                    .collectList();
+            case HASH -> Flux.fromIterable(keys).flatMapSequential(this::get).collectList();
+        };
+    }
+
+    /**
+     * Gets one page of the {@link Employee}s of the {@link Department} stored in the 'hash' layout.
+     * <p>
+     * Without the filter only the {@link Employee}s of the page are transferred:
+     * one HEXISTS command, one LLEN command and one LRANGE command. With the filter the {@link Employee} list
+     * is read chunk by chunk until the page is complete and the total is not counted.
+     * The {@link Department} stored as the string value (not yet migrated) is read whole.
+     * In the 'string' layout the pages are created from the cached {@link Department}
+     * with {@link #createEmployeePage(Department, EmployeeFilter, long, long)}.
+     * </p>
+     *
+     * @param key    the {@link Department} key
+     * @param filter the {@link EmployeeFilter}, the offset counts the matching {@link Employee}s
+     * @param offset the offset of the first {@link Employee}
+     * @param limit  the maximal number of {@link Employee}s
+     * @return the {@link EmployeePage} {@link Mono}, empty for the absent {@link Department}
+     */
+    public Mono<EmployeePage> getEmployeePage(String key, EmployeeFilter filter, long offset, long limit) {
+
+        final String employeesKey = DEP_EMPLOYEES_KEY_FUN.apply(key);
+        final Mono<List<Employee>> employeesMono = rangeEmployees(employeesKey, filter, offset, limit).collectList();
+        final Mono<EmployeePage> employeePageMono = filter.isEmpty()
+                ? Mono.zip(employeeListOperations.size(employeesKey), employeesMono)
+                .map(tuple -> new EmployeePage(offset, tuple.getT1(), tuple.getT2()))
+                : employeesMono.map(employees -> new EmployeePage(offset, null, employees));
+        return fieldOperations.hasKey(key, DEP_NAME_FIELD).filter(Boolean::booleanValue)
+                .flatMap(_ -> employeePageMono)
+                .onErrorResume(DepartmentStore::isWrongType, _ -> departmentOperations.opsForValue().get(key)
+                        .map(department -> createEmployeePage(department, filter, offset, limit)));
+    }
+
+    /**
+     * Finds the {@link Employee}s of the {@link Department} stored in the 'hash' layout.
+     * <p>
+     * The {@link Employee}s are emitted as they are read, the demand of the subscriber is propagated
+     * to the LRANGE commands. The {@link Department} stored as the string value (not yet migrated) is read whole.
+     * In the 'string' layout the {@link Employee}s are found in the cached {@link Department}.
+     * </p>
+     *
+     * @param key    the {@link Department} key
+     * @param filter the {@link EmployeeFilter}, the offset counts the matching {@link Employee}s
+     * @param offset the offset of the first {@link Employee}
+     * @param limit  the maximal number of {@link Employee}s
+     * @return the {@link Employee}s {@link Flux}, empty for the absent {@link Department}
+     */
+    public Flux<Employee> findEmployees(String key, EmployeeFilter filter, long offset, long limit) {
+
+        return fieldOperations.hasKey(key, DEP_NAME_FIELD).filter(Boolean::booleanValue)
+                .flatMapMany(_ -> rangeEmployees(DEP_EMPLOYEES_KEY_FUN.apply(key), filter, offset, limit))
+                .onErrorResume(DepartmentStore::isWrongType, _ -> departmentOperations.opsForValue().get(key)
+                        .flatMapMany(department -> Flux.fromIterable(department.employees())
+                                .filter(filter).skip(offset).take(limit)));
+    }
+
+    /**
+     * Writes the {@link Department}s.
+     * <p>
+     * One MSET command in the 'string' layout. In the 'hash' layout the {@link Employee} list of every
+     * {@link Department} is written with RPUSH commands of the configured chunk size under the temporary key
+     * and renamed, then its hash is written.
+     * </p>
+     *
+     * @param entries the {@link Department} entries
+     * @return the {@link Mono} completing when the {@link Department}s are written
+     */
+    public Mono<Void> putAll(List<Map.Entry<String, Department>> entries) {
+
+        return switch (layout) {
+            case STRING -> departmentOperations.opsForValue().multiSet(entries.stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))).then();
+            case HASH -> Flux.fromIterable(entries)
+                    .flatMap(entry -> writeHash(entry.getKey(), entry.getKey(), entry.getValue()))
+                    .then();
+        };
+    }
+
+    /**
+     * Migrates the {@link Department}s stored in the other layout to the configured layout.
+     * <p>
+     * To the 'hash' layout: the hash is written under the temporary key in the slot of the {@link Department} key
+     * and renamed to the {@link Department} key, so the string value is replaced atomically.
+     * To the 'string' layout: SET replaces the hash atomically, then the {@link Employee} list is deleted.
+     * The readers never see the absent {@link Department}: the reads by key fall back to the other layout
+     * on WRONGTYPE and the scans match both layouts. The keyspace notification of the replaced key
+     * invalidates the cached {@link Department}.
+     * </p>
+     *
+     * @return the {@link Mono} with the number of migrated {@link Department}s
+     */
+    public Mono<Long> migrate() {
+
+        final Layout sourceLayout = layout == Layout.STRING ? Layout.HASH : Layout.STRING;
+        return departmentOperations.scan(createScanOptions(sourceLayout, DEFAULT_SCAN_COUNT))
+                .flatMap(key -> switch (layout) {
+                    case STRING -> readHash(key)
+                            .flatMap(department -> departmentOperations.opsForValue().set(key, department))
+                            .then(employeeListOperations.delete(DEP_EMPLOYEES_KEY_FUN.apply(key)));
+                    case HASH -> {
+                        final String migrationKey = DEP_MIGRATION_KEY_FUN.apply(key);
+                        yield departmentOperations.opsForValue().get(key)
+                                .flatMap(department -> writeHash(key, migrationKey, department)
+                                        .then(departmentOperations.rename(migrationKey, key)));
+                    }
+                }, loadingProperties.writeConcurrency())
+                .count()
+                .doOnNext(count -> logger.info("migrate(): from[{}], to[{}], departments[{}]",
+                        sourceLayout, layout, count));
+    }
+
+    /**
+     * Creates the {@link EmployeePage} from the whole {@link Department}.
+     * <p>
+     * With the filter the total is not counted, like in the 'hash' layout.
+     * </p>
+     *
+     * @param department the {@link Department}
+     * @param filter     the {@link EmployeeFilter}, the offset counts the matching {@link Employee}s
+     * @param offset     the offset of the first {@link Employee}
+     * @param limit      the maximal number of {@link Employee}s
+     * @return the {@link EmployeePage}
+     */
+    public static EmployeePage createEmployeePage(Department department, EmployeeFilter filter,
+                                                  long offset, long limit) {
+
+        final List<Employee> employees = department.employees();
+        if (!filter.isEmpty()) {
+            return new EmployeePage(offset, null,
+                    employees.stream().filter(filter).skip(offset).limit(limit).toList());
+        }
+        final int fromIndex = (int) Math.min(offset, employees.size());
+        final int toIndex = (int) Math.min(offset + limit, employees.size());
+        return new EmployeePage(offset, (long) employees.size(), employees.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Creates the {@link ScanOptions} matching the {@link Department} keys of the layout.
+     * <p>
+     * In the 'hash' layout the {@link Employee} indexes are hashes too, so the keys are matched by the pattern.
+     * </p>
+     *
+     * @param layout the {@link Layout}
+     * @param count  the SCAN count hint
+     * @return the {@link ScanOptions}
+     */
+    private static ScanOptions createScanOptions(Layout layout, long count) {
+
+        return switch (layout) {
+            case STRING -> VALUE_SCAN_OPTIONS_FUN.apply(count);
+            case HASH -> ScanOptions.scanOptions().type(DataType.HASH).match(DEP_KEY_PATTERN).count(count).build();
+        };
+    }
+
+    /**
+     * Reads the {@link Employee}s from the {@link Employee} list of the 'hash' layout.
+     * <p>
+     * Without the filter only the page is read with one LRANGE command. With the filter the list is read
+     * with the LRANGE commands of {@link kp.Constants#EMPLOYEE_RANGE_CHUNK} elements, one after another.
+     * At most one chunk is read ahead of the demand and the reading stops when the page is complete
+     * or the list is exhausted.
+     * </p>
+     *
+     * @param employeesKey the {@link Employee} list key
+     * @param filter       the {@link EmployeeFilter}
+     * @param offset       the offset of the first matching {@link Employee}
+     * @param limit        the maximal number of {@link Employee}s
+     * @return the {@link Employee}s {@link Flux}
+     */
+    private Flux<Employee> rangeEmployees(String employeesKey, EmployeeFilter filter, long offset, long limit) {
+
+        if (filter.isEmpty()) {
+            return employeeListOperations.range(employeesKey, offset, offset + limit - 1);
+        }
+        return Flux.<Long, Long>generate(() -> 0L, (start, sink) -> {
+                    sink.next(start);
+                    return start + EMPLOYEE_RANGE_CHUNK;
+                })
+                .concatMap(start -> employeeListOperations
+                        .range(employeesKey, start, start + EMPLOYEE_RANGE_CHUNK - 1).collectList(), 1)
+                .takeUntil(chunk -> chunk.size() < EMPLOYEE_RANGE_CHUNK)
+                .concatMapIterable(Function.identity(), 1)
+                .filter(filter)
+                .skip(offset)
+                .take(limit);
+    }
+
+    /**
+     * Checks whether the Redis command failed on the key holding the value of the other type.
+     *
+     * @param throwable the {@link Throwable}
+     * @return true for the WRONGTYPE error
+     */
+    public static boolean isWrongType(Throwable throwable) {
+
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().startsWith(WRONG_TYPE_ERROR_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the {@link Department} in the given layout, on WRONGTYPE in the other layout.
+     *
+     * @param key         the {@link Department} key
+     * @param firstLayout the {@link Layout} read first
+     * @return the {@link Department} {@link Mono}, empty for the absent {@link Department}
+     */
+    private Mono<Department> read(String key, Layout firstLayout) {
+
+        final Layout otherLayout = firstLayout == Layout.STRING ? Layout.HASH : Layout.STRING;
+        return readLayout(key, firstLayout)
+                .onErrorResume(DepartmentStore::isWrongType, _ -> readLayout(key, otherLayout));
+    }
+
+    /**
+     * Reads the {@link Department} stored in the layout.
+     *
+     * @param key        the {@link Department} key
+     * @param readLayout the {@link Layout}
+     * @return the {@link Department} {@link Mono}, empty for the absent {@link Department}
+     */
+    private Mono<Department> readLayout(String key, Layout readLayout) {
+
+        return switch (readLayout) {
+            case STRING -> departmentOperations.opsForValue().get(key);
+            case HASH -> readHash(key);
+        };
+    }
+
+    /**
+     * Reads the {@link Department} stored in the 'hash' layout.
+     *
+     * @param key the {@link Department} key
+     * @return the {@link Department} {@link Mono}, empty for the absent {@link Department}
+     */
+    private Mono<Department> readHash(String key) {
+
+        return fieldOperations.get(key, DEP_NAME_FIELD)
+                .zipWith(employeeListOperations.range(DEP_EMPLOYEES_KEY_FUN.apply(key), 0, -1).collectList(),
+                        Department::new);
+    }
+
+    /**
+     * Writes the {@link Department} in the 'hash' layout.
+     * <p>
+     * The {@link Employee} list is written under the temporary key in the slot of the list key and renamed,
+     * so the previous list is replaced atomically. The empty {@link Employee} list is deleted.
+     * The hash is written after the rename.
+     * </p>
+     *
+     * @param key        the {@link Department} key
+     * @param hashKey    the key of the written hash
+     * @param department the {@link Department}
+     * @return the {@link Mono} completing when the {@link Department} is written
+     */
+    private Mono<Void> writeHash(String key, String hashKey, Department department) {
+
+        final String employeesKey = DEP_EMPLOYEES_KEY_FUN.apply(key);
+        final Mono<?> listMono;
+        if (department.employees().isEmpty()) {
+            listMono = employeeListOperations.delete(employeesKey);
+        } else {
+            final String temporaryKey = DEP_MIGRATION_KEY_FUN.apply(employeesKey);
+            listMono = employeeListOperations.delete(temporaryKey)
+                    .thenMany(Flux.fromIterable(department.employees())
+                            .buffer(Math.max(1, loadingProperties.chunkRecords()))
+                            .concatMap(chunk -> employeeListOperations.rightPushAll(temporaryKey, chunk)))
+                    .then(departmentOperations.rename(temporaryKey, employeesKey));
+        }
+        return listMono.then(fieldOperations.put(hashKey, DEP_NAME_FIELD, department.name())).then();
+    }
+}
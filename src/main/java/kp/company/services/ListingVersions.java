@@ -0,0 +1,106 @@
+package kp.company.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static kp.Constants.LISTING_VERSIONS_KEY;
+import static kp.Constants.LISTING_VERSIONS_OPERATIONS_BEAN;
+
+/**
+ * The versions of the {@link kp.company.domain.Department} and {@link kp.company.domain.Team} listings.
+ * <p>
+ * The version of every {@link Listing} is the random token in the Redis hash, shared by all application nodes.
+ * Every write changing the listing replaces its token, so the ETag derived from the token changes with the data.
+ * The token is random (not a counter), so the version is never repeated after the database flush.
+ * </p>
+ * <p>
+ * The absent token gives no ETag: the listing is then always sent in full.
+ * The writes made outside the application do not change the versions.
+ * </p>
+ */
+@Component
+public class ListingVersions {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final ReactiveHashOperations<String, String, String> versionOperations;
+
+    /**
+     * The versioned listing.
+     */
+    public enum Listing {
+        /**
+         * The {@link kp.company.domain.Department}s listing.
+         */
+        DEPARTMENTS,
+        /**
+         * The {@link kp.company.domain.Team}s listing.
+         */
+        TEAMS;
+
+        /**
+         * Gets the hash field of the listing version.
+         *
+         * @return the field
+         */
+        String field() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param versionOperations the {@link ReactiveHashOperations} for the listing versions
+     */
+    public ListingVersions(@Qualifier(LISTING_VERSIONS_OPERATIONS_BEAN)
+                           ReactiveHashOperations<String, String, String> versionOperations) {
+        this.versionOperations = versionOperations;
+    }
+
+    /**
+     * Gets the weak ETag of the listing.
+     *
+     * @param listing the {@link Listing}
+     * @return the ETag {@link Mono}, empty when the listing has no version
+     */
+    public Mono<String> eTag(Listing listing) {
+
+        return versionOperations.get(LISTING_VERSIONS_KEY, listing.field())
+                .map(token -> "W/\"%s-%s\"".formatted(listing.field(), token));
+    }
+
+    /**
+     * Replaces the versions of the listings with one HSET command.
+     * <p>
+     * The failure is logged and not propagated, the write changing the listing has already succeeded.
+     * </p>
+     *
+     * @param listings the changed {@link Listing}s
+     * @return the {@link Mono} completing when the versions are replaced
+     */
+    public Mono<Void> bump(Listing... listings) {
+
+        return Mono.defer(() -> {
+                    final String token = UUID.randomUUID().toString();
+                    final Map<String, String> versionMap = Arrays.stream(listings)
+                            .collect(Collectors.toMap(Listing::field, _ -> token, (first, _) -> first));
+                    return versionOperations.putAll(LISTING_VERSIONS_KEY, versionMap);
+                })
+                .then()
+                .onErrorResume(exc -> {
+                    logger.warn("bump(): listings{}, exception[{}]", Arrays.toString(listings), exc.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,98 @@
+package kp.company.services;
+
+import kp.company.domain.SingleFlightStatistics;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The single-flight of the reads.
+ * <p>
+ * The concurrent callers for the same key share one in-flight read: the first caller starts it
+ * and the callers arriving before its completion receive its result (the value, the empty result or the error).
+ * The in-flight read is removed on its completion, so the next caller starts the fresh read.
+ * The shared read is not cancelled when its callers cancel.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlight<K, V> {
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<K, Mono<V>> flightMap = new ConcurrentHashMap<>();
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param enabled the flag enabling the coalescing, without it every call starts its own read
+     */
+    public SingleFlight(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Executes the read or joins the in-flight read of the same key.
+     *
+     * @param key    the key
+     * @param reader the function creating the read of the key
+     * @return the value {@link Mono}
+     */
+    public Mono<V> execute(K key, Function<K, Mono<V>> reader) {
+
+        if (!enabled) {
+            return Mono.defer(() -> {
+                callCount.increment();
+                return reader.apply(key);
+            });
+        }
+        return Mono.defer(() -> {
+            callCount.increment();
+            final AtomicReference<Mono<V>> createdReference = new AtomicReference<>();
+            final Mono<V> flight = flightMap.computeIfAbsent(key, _ -> {
+                final Mono<V> created = reader.apply(key)
+                        .doFinally(_ -> flightMap.remove(key, createdReference.get()))
+                        .share();
+                createdReference.set(created);
+                return created;
+            });
+            if (flight != createdReference.get()) {
+                coalescedCount.increment();
+            }
+            return flight;
+        });
+    }
+
+    /**
+     * Forgets the in-flight read of the key, so the next caller starts the fresh read.
+     * <p>
+     * The callers which already joined the forgotten read still receive its result.
+     * </p>
+     *
+     * @param key the key
+     */
+    public void forget(K key) {
+        flightMap.remove(key);
+    }
+
+    /**
+     * Forgets all in-flight reads.
+     */
+    public void forgetAll() {
+        flightMap.clear();
+    }
+
+    /**
+     * Gets the {@link SingleFlightStatistics}.
+     *
+     * @return the {@link SingleFlightStatistics}
+     */
+    public SingleFlightStatistics statistics() {
+        return new SingleFlightStatistics(callCount.sum(), coalescedCount.sum(), flightMap.size());
+    }
+}
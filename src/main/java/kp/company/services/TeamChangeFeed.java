@@ -0,0 +1,225 @@
+package kp.company.services;
+
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.ScoreIncrement;
+import kp.company.domain.Team;
+import kp.company.domain.TeamChange;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription.Message;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+
+/**
+ * The change feed of the {@link Team} leaderboard.
+ * <p>
+ * The {@link TeamScoreCoalescer} offers the applied increments of every flush without waiting.
+ * The feed conflates them per team and publishes the {@link TeamChange}s on the Redis pub/sub channel
+ * from its own pipeline, one publishing at a time, so the subscribers of every application node receive them.
+ * The slow publishing never delays the flushes, the increments offered meanwhile are published together next.
+ * </p>
+ * <p>
+ * When the last PUBLISH reached no subscriber, the next publishing first probes the channel with
+ * the empty PUBLISH and reads the ranks and the scores only when some subscriber received it.
+ * </p>
+ * <p>
+ * On one node there is one channel subscription, shared by all subscribers of the feed.
+ * It is opened with the first subscriber and closed a moment after the last one left.
+ * Every subscriber has its own {@link ConflatingChangeBuffer}, so a slow subscriber never stalls the others:
+ * it receives the latest change of every team. The subscriber falling behind by too many teams is completed,
+ * and it should read the leaderboard again before resubscribing.
+ * </p>
+ */
+@Component
+public class TeamChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final Duration UPSTREAM_GRACE_PERIOD = Duration.ofSeconds(5);
+
+    private final ReactiveRedisOperations<@NonNull String, @NonNull TeamChange[]> teamChangeOperations;
+    private final ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+    private final CompanyProperties.Feed feedProperties;
+    private final Flux<TeamChange> sharedChangeFlux;
+    private final Flux<Long> sharedHeartbeatFlux;
+    private final ConcurrentHashMap<Integer, Double> pendingDeltas = new ConcurrentHashMap<>();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    private volatile boolean subscribed = true;
+
+    /**
+     * Constructor.
+     *
+     * @param teamChangeOperations   the {@link ReactiveRedisOperations} for the {@link TeamChange}s
+     * @param reactiveZSetOperations the {@link ReactiveZSetOperations} for the {@link Team}
+     * @param companyProperties      the {@link CompanyProperties}
+     */
+    public TeamChangeFeed(ReactiveRedisOperations<@NonNull String, @NonNull TeamChange[]> teamChangeOperations,
+                          ReactiveZSetOperations<String, Team> reactiveZSetOperations,
+                          CompanyProperties companyProperties) {
+
+        this.teamChangeOperations = teamChangeOperations;
+        this.reactiveZSetOperations = reactiveZSetOperations;
+        this.feedProperties = companyProperties.feed();
+        this.sharedChangeFlux = Flux.defer(() -> teamChangeOperations.listenToChannel(TEAM_CHANGES_CHANNEL))
+                .doOnSubscribe(_ -> logger.info("TeamChangeFeed(): subscribing channel[{}]", TEAM_CHANGES_CHANNEL))
+                .map(Message::getMessage)
+                .flatMapIterable(Arrays::asList)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, feedProperties.minBackoff())
+                        .maxBackoff(feedProperties.maxBackoff())
+                        .doBeforeRetry(signal -> logger.warn("TeamChangeFeed(): resubscribing, attempt[{}], "
+                                                             + "exception[{}]", signal.totalRetries() + 1,
+                                signal.failure().getMessage())))
+                .publish()
+                .refCount(1, UPSTREAM_GRACE_PERIOD);
+        this.sharedHeartbeatFlux = Flux.interval(feedProperties.heartbeatInterval())
+                .onBackpressureDrop()
+                .publish()
+                .refCount();
+    }
+
+    /**
+     * Offers the applied score increments for the publishing.
+     * <p>
+     * The increments are conflated per team with the increments not yet published and the publishing is started
+     * unless it is running. The caller never waits for the publishing.
+     * </p>
+     *
+     * @param scoreIncrements the applied {@link ScoreIncrement}s
+     */
+    public void offer(List<ScoreIncrement> scoreIncrements) {
+
+        if (!feedProperties.enabled() || scoreIncrements.isEmpty()) {
+            return;
+        }
+        scoreIncrements.forEach(scoreIncrement -> pendingDeltas.merge(scoreIncrement.teamId(),
+                scoreIncrement.delta(), Double::sum));
+        drain();
+    }
+
+    /**
+     * Publishes the {@link TeamChange}s of the applied score increments.
+     * <p>
+     * The ranks and the scores of the changed teams are read after the increments were applied:
+     * the scores with one ZMSCORE command and the ranks with the ZREVRANK commands pipelined by Lettuce.
+     * They are not read when the channel has no subscriber.
+     * The failure is logged and swallowed, the feed is best effort.
+     * </p>
+     *
+     * @param scoreIncrements the applied {@link ScoreIncrement}s, one per team
+     * @return the {@link Mono} completed after the publishing
+     */
+    public Mono<Void> publish(List<ScoreIncrement> scoreIncrements) {
+
+        if (!feedProperties.enabled() || scoreIncrements.isEmpty()) {
+            return Mono.empty();
+        }
+        final Object[] teams = scoreIncrements.stream().map(scoreIncrement -> new Team(scoreIncrement.teamId()))
+                .toArray();
+        final Mono<Boolean> subscribedMono = subscribed ? Mono.just(true) : teamChangeOperations
+                .convertAndSend(TEAM_CHANGES_CHANNEL, new TeamChange[0]).map(receivers -> receivers > 0);
+        return subscribedMono.filter(Boolean::booleanValue).flatMap(_ -> Mono.defer(() -> {
+                    final Mono<List<Long>> ranksMono = Flux.fromIterable(scoreIncrements)
+                            .flatMapSequential(scoreIncrement -> reactiveZSetOperations
+                                    .reverseRank(TEAMS_KEY, new Team(scoreIncrement.teamId()))
+                                    .defaultIfEmpty(-1L), scoreIncrements.size())
+                            .collectList();
+                    return Mono.zip(ranksMono, reactiveZSetOperations.score(TEAMS_KEY, teams));
+                }))
+                .map(tuple -> IntStream.range(0, scoreIncrements.size())
+                        .filter(i -> tuple.getT1().get(i) >= 0 && tuple.getT2().get(i) != null)
+                        .mapToObj(i -> new TeamChange(scoreIncrements.get(i).teamId(), tuple.getT1().get(i),
+                                tuple.getT2().get(i), scoreIncrements.get(i).delta()))
+                        .toArray(TeamChange[]::new))
+                .filter(teamChanges -> teamChanges.length > 0)
+                .flatMap(teamChanges -> teamChangeOperations.convertAndSend(TEAM_CHANGES_CHANNEL, teamChanges))
+                .doOnNext(receivers -> {
+                    subscribed = receivers > 0;
+                    logger.debug("publish(): changes[{}], receivers[{}]", scoreIncrements.size(), receivers);
+                })
+                .onErrorResume(exc -> {
+                    logger.warn("publish(): exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Publishes the pending increments unless the publishing is running.
+     * <p>
+     * After the publishing, the increments offered meanwhile are published.
+     * </p>
+     */
+    private void drain() {
+
+        if (pendingDeltas.isEmpty() || !publishing.compareAndSet(false, true)) {
+            return;
+        }
+        final List<ScoreIncrement> scoreIncrements = List.copyOf(pendingDeltas.keySet()).stream()
+                .flatMap(teamId -> Optional.ofNullable(pendingDeltas.remove(teamId))
+                        .map(delta -> new ScoreIncrement(teamId, delta)).stream())
+                .toList();
+        publish(scoreIncrements)
+                .doFinally(_ -> {
+                    publishing.set(false);
+                    drain();
+                })
+                .subscribe();
+    }
+
+    /**
+     * Subscribes to the {@link TeamChange}s.
+     * <p>
+     * The changes are conflated per team while the subscriber is not requesting them.
+     * </p>
+     *
+     * @return the {@link TeamChange} {@link Flux}, empty if the feed is disabled
+     */
+    public Flux<TeamChange> changes() {
+
+        if (!feedProperties.enabled()) {
+            return Flux.empty();
+        }
+        return Flux.create(sink -> {
+            final ConflatingChangeBuffer buffer = new ConflatingChangeBuffer(feedProperties.maxConflatedTeams());
+            final Disposable upstream = sharedChangeFlux.subscribe(teamChange -> {
+                if (buffer.offer(teamChange)) {
+                    buffer.drain(sink);
+                } else {
+                    logger.warn("changes(): subscriber fell behind by [{}] teams, completing",
+                            feedProperties.maxConflatedTeams());
+                    sink.complete();
+                }
+            }, sink::error, sink::complete);
+            sink.onRequest(_ -> buffer.drain(sink));
+            sink.onDispose(upstream);
+        });
+    }
+
+    /**
+     * Gets the heartbeat ticks shared by all subscribers.
+     * <p>
+     * The ticks are dropped for the subscriber not requesting them.
+     * </p>
+     *
+     * @return the heartbeat {@link Flux}
+     */
+    public Flux<Long> heartbeats() {
+        return sharedHeartbeatFlux.onBackpressureDrop();
+    }
+}
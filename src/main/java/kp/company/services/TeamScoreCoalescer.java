@@ -0,0 +1,293 @@
+package kp.company.services;
+
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.ScoreIncrement;
+import kp.company.domain.ScoreIngestionStatistics;
+import kp.company.domain.Team;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import static kp.Constants.*;
+
+/**
+ * The coalescer of the {@link Team} score increments.
+ * <p>
+ * The accepted increments are summed per {@link Team} in memory and flushed on every flush interval,
+ * so many increments of the same {@link Team} become one ZINCRBY command.
+ * The ZINCRBY commands of one flush are issued together and Lettuce pipelines them on the shared connection.
+ * The next flush starts only after the previous one completed.
+ * The applied increments of every flush are offered to the {@link TeamChangeFeed}, which publishes them
+ * on its own pipeline without delaying the flushes,
+ * and the version of the {@link Team}s listing in the {@link ListingVersions} is replaced.
+ * </p>
+ * <p>
+ * When Redis falls behind, the accepted increments not yet applied accumulate.
+ * Above the configured bound the new increments are rejected, so the clients must slow down.
+ * The failed ZINCRBY command is requeued; after a timeout it could have been applied,
+ * so the delivery is at least once.
+ * </p>
+ * <p>
+ * On shutdown the interval is stopped, the flush in progress is awaited and the remaining increments
+ * are flushed once more. The flush in progress is not cancelled: its entries are already removed
+ * from the pending map, so the cancelled commands would lose their increments.
+ * </p>
+ */
+@Component
+public class TeamScoreCoalescer implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(5);
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+    private final TeamChangeFeed teamChangeFeed;
+    private final ListingVersions listingVersions;
+    private final CompanyProperties.Scores scoresProperties;
+    private final ConcurrentHashMap<Integer, PendingIncrement> pendingMap = new ConcurrentHashMap<>();
+    private final long originNanos = System.nanoTime();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder appliedCount = new LongAdder();
+    private final LongAdder commandCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final DoubleAdder latencyNanosSum = new DoubleAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicReference<Flusher> flusherReference = new AtomicReference<>();
+
+    /**
+     * Constructor.
+     *
+     * @param reactiveZSetOperations the {@link ReactiveZSetOperations} for the {@link Team}
+     * @param teamChangeFeed         the {@link TeamChangeFeed}
+     * @param listingVersions        the {@link ListingVersions}
+     * @param companyProperties      the {@link CompanyProperties}
+     */
+    public TeamScoreCoalescer(ReactiveZSetOperations<String, Team> reactiveZSetOperations,
+                              TeamChangeFeed teamChangeFeed, ListingVersions listingVersions,
+                              CompanyProperties companyProperties) {
+
+        this.reactiveZSetOperations = reactiveZSetOperations;
+        this.teamChangeFeed = teamChangeFeed;
+        this.listingVersions = listingVersions;
+        this.scoresProperties = companyProperties.scores();
+    }
+
+    /**
+     * Accepts the {@link ScoreIncrement}s.
+     * <p>
+     * The increments are rejected together when the pending increments reached their bound.
+     * </p>
+     *
+     * @param scoreIncrements the {@link ScoreIncrement}s
+     * @return true if the increments were accepted
+     */
+    public boolean submit(Collection<ScoreIncrement> scoreIncrements) {
+
+        if (pendingCount.get() >= scoresProperties.maxPendingIncrements()) {
+            rejectedCount.add(scoreIncrements.size());
+            return false;
+        }
+        final double enqueueNanos = System.nanoTime() - originNanos;
+        pendingCount.addAndGet(scoreIncrements.size());
+        scoreIncrements.forEach(scoreIncrement -> pendingMap.merge(scoreIncrement.teamId(),
+                new PendingIncrement(scoreIncrement.delta(), 1, enqueueNanos, enqueueNanos), PendingIncrement::merge));
+        acceptedCount.add(scoreIncrements.size());
+        return true;
+    }
+
+    /**
+     * Gets the {@link ScoreIngestionStatistics}.
+     *
+     * @return the {@link ScoreIngestionStatistics}
+     */
+    public ScoreIngestionStatistics statistics() {
+
+        final long applied = appliedCount.sum();
+        final long commands = commandCount.sum();
+        return new ScoreIngestionStatistics(acceptedCount.sum(), rejectedCount.sum(), applied, pendingCount.get(),
+                commands, failedCount.sum(), commands == 0 ? 0d : (double) applied / commands,
+                applied == 0 ? 0d : latencyNanosSum.sum() / applied / NANOS_PER_MILLI,
+                maxLatencyNanos.get() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Starts the periodic flushing after the application start.
+     * <p>
+     * The interval ticks arriving during the running flush are dropped.
+     * The stop signal completes the interval, the running flush still completes.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFlusher() {
+
+        final Sinks.Empty<Void> stopSink = Sinks.empty();
+        final Sinks.Empty<Void> stoppedSink = Sinks.empty();
+        final Disposable disposable = Flux.interval(scoresProperties.flushInterval())
+                .onBackpressureDrop()
+                .takeUntilOther(stopSink.asMono())
+                .concatMap(_ -> flush().onErrorResume(exc -> {
+                    logger.error("startFlusher(): flush failed, exception[{}]", exc.getMessage());
+                    return Mono.empty();
+                }), 1)
+                .doFinally(_ -> stoppedSink.tryEmitEmpty())
+                .subscribe();
+        Optional.ofNullable(flusherReference.getAndSet(new Flusher(disposable, stopSink, stoppedSink)))
+                .ifPresent(Flusher::stop);
+        logger.info("startFlusher(): flush interval[{}]", scoresProperties.flushInterval());
+    }
+
+    /**
+     * Stops the periodic flushing, awaits the flush in progress and flushes the pending increments.
+     */
+    @Override
+    public void destroy() {
+
+        Optional.ofNullable(flusherReference.getAndSet(null)).ifPresent(Flusher::stop);
+        try {
+            flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+        } catch (Exception e) {
+            logger.warn("destroy(): final flush failed, pending[{}], exception[{}]", pendingCount.get(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes the pending increments with one ZINCRBY command per {@link Team}.
+     * <p>
+     * The entry is removed from the pending map before its command is sent,
+     * so the increments arriving meanwhile start the new entry for the next flush.
+     * The flush without any applied increment leaves the version of the {@link Team}s listing unchanged.
+     * </p>
+     *
+     * @return the {@link Mono} with the number of acknowledged commands
+     */
+    Mono<Long> flush() {
+
+        return Flux.fromIterable(List.copyOf(pendingMap.keySet()))
+                .mapNotNull(teamId -> Optional.ofNullable(pendingMap.remove(teamId))
+                        .map(pendingIncrement -> Map.entry(teamId, pendingIncrement)).orElse(null))
+                .flatMap(entry -> Mono.defer(() -> reactiveZSetOperations
+                                .incrementScore(TEAMS_KEY, new Team(entry.getKey()), entry.getValue().delta()))
+                        .doOnNext(_ -> acknowledge(entry.getValue()))
+                        .map(_ -> new ScoreIncrement(entry.getKey(), entry.getValue().delta()))
+                        .onErrorResume(exc -> {
+                            requeue(entry.getKey(), entry.getValue(), exc);
+                            return Mono.empty();
+                        }), scoresProperties.flushConcurrency())
+                .collectList()
+                .flatMap(scoreIncrements -> {
+                    if (scoreIncrements.isEmpty()) {
+                        return Mono.just(0L);
+                    }
+                    teamChangeFeed.offer(scoreIncrements);
+                    return listingVersions.bump(ListingVersions.Listing.TEAMS)
+                            .thenReturn((long) scoreIncrements.size());
+                });
+    }
+
+    /**
+     * Records the increments applied by the acknowledged ZINCRBY command.
+     *
+     * @param pendingIncrement the {@link PendingIncrement}
+     */
+    private void acknowledge(PendingIncrement pendingIncrement) {
+
+        final double ackNanos = System.nanoTime() - originNanos;
+        commandCount.increment();
+        appliedCount.add(pendingIncrement.count());
+        pendingCount.addAndGet(-pendingIncrement.count());
+        latencyNanosSum.add(pendingIncrement.count() * ackNanos - pendingIncrement.enqueueNanosSum());
+        maxLatencyNanos.accumulateAndGet((long) (ackNanos - pendingIncrement.firstEnqueueNanos()), Math::max);
+    }
+
+    /**
+     * Returns the increments of the failed ZINCRBY command to the pending map.
+     *
+     * @param teamId           the {@link Team} id
+     * @param pendingIncrement the {@link PendingIncrement}
+     * @param exc              the failure
+     */
+    private void requeue(Integer teamId, PendingIncrement pendingIncrement, Throwable exc) {
+
+        failedCount.increment();
+        pendingMap.merge(teamId, pendingIncrement, PendingIncrement::merge);
+        logger.warn("requeue(): teamId[{}], exception[{}]", teamId, exc.getMessage());
+    }
+
+    /**
+     * The periodic flushing.
+     *
+     * @param disposable  the {@link Disposable} of the flushing subscription
+     * @param stopSink    the sink of the stop signal
+     * @param stoppedSink the sink completing when the flushing stopped
+     */
+    private record Flusher(Disposable disposable, Sinks.Empty<Void> stopSink, Sinks.Empty<Void> stoppedSink) {
+
+        /**
+         * Stops the interval and awaits the flush in progress.
+         * <p>
+         * The flush still running after the timeout is cancelled.
+         * </p>
+         */
+        void stop() {
+
+            stopSink.tryEmitEmpty();
+            try {
+                stoppedSink.asMono().block(SHUTDOWN_FLUSH_TIMEOUT);
+            } catch (Exception e) {
+                logger.warn("stop(): flush in progress not completed, exception[{}]", e.getMessage());
+                disposable.dispose();
+            }
+        }
+    }
+
+    /**
+     * The coalesced increments of one {@link Team}.
+     * <p>
+     * The enqueue times are measured from the creation of the coalescer.
+     * Their sum gives the exact mean latency of the coalesced increments.
+     * </p>
+     *
+     * @param delta             the sum of the increments
+     * @param count             the number of the increments
+     * @param firstEnqueueNanos the enqueue time of the oldest increment
+     * @param enqueueNanosSum   the sum of the enqueue times of the increments
+     */
+    private record PendingIncrement(double delta, long count, double firstEnqueueNanos, double enqueueNanosSum) {
+
+        /**
+         * Merges two coalesced increments.
+         *
+         * @param first  the first {@link PendingIncrement}
+         * @param second the second {@link PendingIncrement}
+         * @return the merged {@link PendingIncrement}
+         */
+        static PendingIncrement merge(PendingIncrement first, PendingIncrement second) {
+            return new PendingIncrement(first.delta() + second.delta(), first.count() + second.count(),
+                    Math.min(first.firstEnqueueNanos(), second.firstEnqueueNanos()),
+                    first.enqueueNanosSum() + second.enqueueNanosSum());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package kp.company.configuration.execution;
+
+import kp.TestProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+
+/**
+ * The {@link BlockingSchedulerConfiguration} tests.
+ */
+class BlockingSchedulerConfigurationTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String VIRTUAL_ERR_MSG = "Bad thread kind";
+    private static final String THREAD_NAME_ERR_MSG = "Bad thread name";
+
+    /**
+     * Should run the blocking section on the platform thread of the bounded elastic scheduler by default.
+     */
+    @Test
+    void shouldRunBlockingSectionOnBoundedElasticByDefault() {
+        // GIVEN
+        final Scheduler scheduler = new BlockingSchedulerConfiguration()
+                .createBlockingScheduler(TestProperties.create(Map.of()));
+        // WHEN
+        final Thread thread = runOn(scheduler);
+        // THEN
+        Assertions.assertFalse(thread.isVirtual(), VIRTUAL_ERR_MSG);
+        Assertions.assertTrue(thread.getName().startsWith("company-blocking"), THREAD_NAME_ERR_MSG);
+        logger.info("shouldRunBlockingSectionOnBoundedElasticByDefault():");
+    }
+
+    /**
+     * Should run the blocking section on the virtual thread.
+     */
+    @Test
+    void shouldRunBlockingSectionOnVirtualThread() {
+        // GIVEN
+        final Scheduler scheduler = new BlockingSchedulerConfiguration().createBlockingScheduler(
+                TestProperties.create(Map.of("company.execution.blocking-scheduler", "virtual-threads")));
+        // WHEN
+        final Thread thread = runOn(scheduler);
+        // THEN
+        Assertions.assertTrue(thread.isVirtual(), VIRTUAL_ERR_MSG);
+        Assertions.assertTrue(thread.getName().startsWith("company-virtual"), THREAD_NAME_ERR_MSG);
+        logger.info("shouldRunBlockingSectionOnVirtualThread():");
+    }
+
+    /**
+     * Runs the section on the scheduler and disposes it.
+     *
+     * @param scheduler the {@link Scheduler}
+     * @return the {@link Thread} running the section
+     */
+    private static Thread runOn(Scheduler scheduler) {
+
+        try {
+            return Mono.fromCallable(Thread::currentThread).subscribeOn(scheduler).block();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package kp.company.configuration.http;
+
+import kp.TestProperties;
+import kp.company.services.ListingVersions;
+import kp.company.services.ListingVersions.Listing;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static kp.Constants.GET_DEPARTMENT_CACHE_PATH;
+import static kp.Constants.GET_TEAMS_PATH;
+
+/**
+ * The {@link ListingETagFilter} tests.
+ */
+class ListingETagFilterTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String TEST_ETAG = "W/\"teams-1234\"";
+    private static final String TEST_ETAG_STALE = "W/\"teams-5678\"";
+    private static final String STATUS_ERR_MSG = "Bad status";
+    private static final String HANDLED_ERR_MSG = "Bad number of handled requests";
+    private static final String ETAG_ERR_MSG = "Bad ETag";
+
+    private ListingVersions listingVersions;
+
+    /**
+     * Executed before each test.
+     */
+    @BeforeEach
+    void setup() {
+
+        listingVersions = Mockito.mock(ListingVersions.class);
+        Mockito.when(listingVersions.eTag(Listing.TEAMS)).thenReturn(Mono.just(TEST_ETAG));
+    }
+
+    /**
+     * Should answer the conditional request matching the ETag with status 'Not Modified'
+     * without running the handler.
+     */
+    @Test
+    void shouldAnswerNotModifiedWithoutHandler() {
+        // GIVEN
+        final ListingETagFilter listingETagFilter = createListingETagFilter(true);
+        final AtomicInteger handledCount = new AtomicInteger();
+        final MockServerRequest request = createRequest(GET_TEAMS_PATH, "%s, %s".formatted(TEST_ETAG_STALE, TEST_ETAG));
+        // WHEN
+        final ServerResponse response = listingETagFilter.filter(request, _ -> {
+            handledCount.incrementAndGet();
+            return ServerResponse.ok().build();
+        }).block();
+        // THEN
+        Assertions.assertNotNull(response, STATUS_ERR_MSG);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode(), STATUS_ERR_MSG);
+        Assertions.assertEquals(TEST_ETAG, response.headers().getETag(), ETAG_ERR_MSG);
+        Assertions.assertEquals(0, handledCount.get(), HANDLED_ERR_MSG);
+        logger.info("shouldAnswerNotModifiedWithoutHandler():");
+    }
+
+    /**
+     * Should run the handler for the stale ETag and tag the successful response with the current ETag.
+     */
+    @Test
+    void shouldTagListingWithStaleETag() {
+        // GIVEN
+        final ListingETagFilter listingETagFilter = createListingETagFilter(true);
+        final AtomicInteger handledCount = new AtomicInteger();
+        final MockServerRequest request = createRequest(GET_TEAMS_PATH, TEST_ETAG_STALE);
+        // WHEN
+        final ServerResponse response = listingETagFilter.filter(request, _ -> {
+            handledCount.incrementAndGet();
+            return ServerResponse.ok().build();
+        }).block();
+        // THEN
+        Assertions.assertNotNull(response, STATUS_ERR_MSG);
+        Assertions.assertEquals(HttpStatus.OK, response.statusCode(), STATUS_ERR_MSG);
+        Assertions.assertEquals(1, handledCount.get(), HANDLED_ERR_MSG);
+        Assertions.assertEquals(TEST_ETAG, request.exchange().getResponse().getHeaders().getETag(), ETAG_ERR_MSG);
+        logger.info("shouldTagListingWithStaleETag():");
+    }
+
+    /**
+     * Should pass the other routes and the disabled ETag to the handler without reading the versions.
+     */
+    @Test
+    void shouldPassOtherRoutesAndDisabledETag() {
+        // GIVEN
+        final ListingETagFilter enabledFilter = createListingETagFilter(true);
+        final ListingETagFilter disabledFilter = createListingETagFilter(false);
+        final AtomicInteger handledCount = new AtomicInteger();
+        // WHEN
+        enabledFilter.filter(createRequest(GET_DEPARTMENT_CACHE_PATH, TEST_ETAG), _ -> {
+            handledCount.incrementAndGet();
+            return ServerResponse.ok().build();
+        }).block();
+        disabledFilter.filter(createRequest(GET_TEAMS_PATH, TEST_ETAG), _ -> {
+            handledCount.incrementAndGet();
+            return ServerResponse.ok().build();
+        }).block();
+        // THEN
+        Assertions.assertEquals(2, handledCount.get(), HANDLED_ERR_MSG);
+        Mockito.verifyNoInteractions(listingVersions);
+        logger.info("shouldPassOtherRoutesAndDisabledETag():");
+    }
+
+    /**
+     * Creates the {@link ListingETagFilter}.
+     *
+     * @param etagEnabled the flag enabling the ETag
+     * @return the {@link ListingETagFilter}
+     */
+    private ListingETagFilter createListingETagFilter(boolean etagEnabled) {
+
+        return new ListingETagFilter(listingVersions,
+                TestProperties.create(Map.of("company.http.etag-enabled", etagEnabled)));
+    }
+
+    /**
+     * Creates the conditional GET request.
+     *
+     * @param path        the path
+     * @param ifNoneMatch the 'If-None-Match' header value
+     * @return the {@link MockServerRequest}
+     */
+    private MockServerRequest createRequest(String path, String ifNoneMatch) {
+
+        return MockServerRequest.builder().method(HttpMethod.GET).uri(URI.create(path))
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                .exchange(MockServerWebExchange.from(MockServerHttpRequest.get(path)))
+                .build();
+    }
+}
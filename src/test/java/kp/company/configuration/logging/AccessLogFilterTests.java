@@ -0,0 +1,63 @@
+package kp.company.configuration.logging;
+
+import kp.TestProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+
+/**
+ * The {@link AccessLogFilter} tests.
+ */
+class AccessLogFilterTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String SAMPLED_ERR_MSG = "Bad sampling";
+
+    /**
+     * Should sample every request with the sample rate 1.
+     */
+    @Test
+    void shouldSampleEveryRequestWithFullRate() {
+        // GIVEN
+        final AccessLogFilter accessLogFilter = createAccessLogFilter(true, 1d);
+        // WHEN
+        final boolean sampled = accessLogFilter.isSampled();
+        // THEN
+        Assertions.assertTrue(sampled, SAMPLED_ERR_MSG);
+        logger.info("shouldSampleEveryRequestWithFullRate():");
+    }
+
+    /**
+     * Should sample no request with the zero sample rate or with the disabled access log.
+     */
+    @Test
+    void shouldSampleNoRequestWhenDisabled() {
+        // GIVEN
+        final AccessLogFilter zeroRateFilter = createAccessLogFilter(true, 0d);
+        final AccessLogFilter disabledFilter = createAccessLogFilter(false, 1d);
+        // WHEN
+        final boolean zeroRateSampled = zeroRateFilter.isSampled();
+        final boolean disabledSampled = disabledFilter.isSampled();
+        // THEN
+        Assertions.assertFalse(zeroRateSampled, SAMPLED_ERR_MSG);
+        Assertions.assertFalse(disabledSampled, SAMPLED_ERR_MSG);
+        logger.info("shouldSampleNoRequestWhenDisabled():");
+    }
+
+    /**
+     * Creates the {@link AccessLogFilter}.
+     *
+     * @param enabled    the flag enabling the access log
+     * @param sampleRate the sample rate
+     * @return the {@link AccessLogFilter}
+     */
+    private AccessLogFilter createAccessLogFilter(boolean enabled, double sampleRate) {
+
+        return new AccessLogFilter(TestProperties.create(Map.of(
+                "company.access-log.enabled", enabled, "company.access-log.sample-rate", sampleRate)));
+    }
+}
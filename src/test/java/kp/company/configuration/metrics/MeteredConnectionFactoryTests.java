@@ -0,0 +1,84 @@
+package kp.company.configuration.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static kp.company.configuration.metrics.MeteredConnectionFactory.*;
+
+/**
+ * The {@link MeteredConnectionFactory} tests.
+ */
+class MeteredConnectionFactoryTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final ByteBuffer TEST_KEY = ByteBuffer.wrap("key".getBytes(StandardCharsets.UTF_8));
+    private static final ByteBuffer TEST_VALUE = ByteBuffer.wrap("value".getBytes(StandardCharsets.UTF_8));
+    private static final String GET_COMMAND = "get";
+    private static final String TIMER_COUNT_ERR_MSG = "Bad timer count";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReactiveStringCommands stringCommands;
+    private MeteredConnectionFactory meteredConnectionFactory;
+
+    /**
+     * Executed before each test.
+     */
+    @BeforeEach
+    void setup() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        final ReactiveRedisConnectionFactory connectionFactory = Mockito.mock(ReactiveRedisConnectionFactory.class);
+        final ReactiveRedisConnection connection = Mockito.mock(ReactiveRedisConnection.class);
+        stringCommands = Mockito.mock(ReactiveStringCommands.class);
+        Mockito.when(connectionFactory.getReactiveConnection()).thenReturn(connection);
+        Mockito.when(connection.stringCommands()).thenReturn(stringCommands);
+        meteredConnectionFactory = new MeteredConnectionFactory(connectionFactory, meterRegistry);
+    }
+
+    /**
+     * Should time the successful command tagged with its name.
+     */
+    @Test
+    void shouldTimeSuccessfulCommand() {
+        // GIVEN
+        Mockito.when(stringCommands.get(TEST_KEY)).thenReturn(Mono.just(TEST_VALUE));
+        // WHEN
+        final ByteBuffer value = meteredConnectionFactory.getReactiveConnection().stringCommands().get(TEST_KEY)
+                .block();
+        // THEN
+        Assertions.assertEquals(TEST_VALUE, value);
+        Assertions.assertEquals(1, meterRegistry.get(COMMAND_TIMER).tag(COMMAND_TAG, GET_COMMAND)
+                .tag(OUTCOME_TAG, "SUCCESS").timer().count(), TIMER_COUNT_ERR_MSG);
+        logger.info("shouldTimeSuccessfulCommand():");
+    }
+
+    /**
+     * Should time the failed command with the error outcome.
+     */
+    @Test
+    void shouldTimeFailedCommand() {
+        // GIVEN
+        Mockito.when(stringCommands.get(TEST_KEY)).thenReturn(Mono.error(new IllegalStateException("Redis down")));
+        final Mono<ByteBuffer> valueMono = meteredConnectionFactory.getReactiveConnection().stringCommands()
+                .get(TEST_KEY);
+        // WHEN
+        Assertions.assertThrows(IllegalStateException.class, valueMono::block);
+        // THEN
+        Assertions.assertEquals(1, meterRegistry.get(COMMAND_TIMER).tag(COMMAND_TAG, GET_COMMAND)
+                .tag(OUTCOME_TAG, "ERROR").timer().count(), TIMER_COUNT_ERR_MSG);
+        logger.info("shouldTimeFailedCommand():");
+    }
+}
@@ -0,0 +1,48 @@
+package kp.company.configuration.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.invoke.MethodHandles;
+
+import static kp.Constants.GET_DEPARTMENT_PATH;
+import static kp.company.configuration.metrics.RouteMetricsFilter.*;
+
+/**
+ * The {@link RouteMetricsFilter} tests.
+ */
+class RouteMetricsFilterTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String TIMER_COUNT_ERR_MSG = "Bad timer count";
+    private static final String ACTIVE_COUNT_ERR_MSG = "Bad active count";
+
+    /**
+     * Should time the route tagged with its pattern and the outcome of its status.
+     */
+    @Test
+    void shouldTimeRouteWithPatternAndOutcome() {
+        // GIVEN
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final RouteMetricsFilter routeMetricsFilter = new RouteMetricsFilter(meterRegistry);
+        final MockServerRequest request = MockServerRequest.builder().method(HttpMethod.GET)
+                .attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE,
+                        PathPatternParser.defaultInstance.parse(GET_DEPARTMENT_PATH))
+                .build();
+        // WHEN
+        routeMetricsFilter.filter(request, _ -> ServerResponse.notFound().build()).block();
+        // THEN
+        Assertions.assertEquals(1, meterRegistry.get(ROUTE_TIMER).tag(ROUTE_TAG, GET_DEPARTMENT_PATH)
+                .tag(OUTCOME_TAG, "CLIENT_ERROR").timer().count(), TIMER_COUNT_ERR_MSG);
+        Assertions.assertEquals(0, meterRegistry.get(ACTIVE_GAUGE).gauge().value(), ACTIVE_COUNT_ERR_MSG);
+        logger.info("shouldTimeRouteWithPatternAndOutcome():");
+    }
+}
@@ -0,0 +1,128 @@
+package kp.company.configuration.operations;
+
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.Team;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.List;
+
+import static kp.TestConstants.*;
+
+/**
+ * The {@link CompactDepartmentSerializer} and {@link CompactTeamSerializer} tests.
+ */
+class CompactSerializersTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final RedisSerializer<@NonNull Department> departmentSerializer = new CompactDepartmentSerializer();
+    private final RedisSerializer<@NonNull Team> teamSerializer = new CompactTeamSerializer();
+
+    /**
+     * Should serialize and deserialize the {@link Department}.
+     */
+    @Test
+    void shouldRoundTripDepartment() {
+        // GIVEN
+        final Department department = new Department("D-Name-Ä€😀",
+                List.of(EXPECTED_EMPLOYEE_1, new Employee("", null)));
+        // WHEN
+        final byte[] bytes = departmentSerializer.serialize(department);
+        // THEN
+        Assertions.assertNotNull(bytes);
+        Assertions.assertEquals(CompactFormat.FORMAT_VERSION, bytes[0]);
+        Assertions.assertEquals(department, departmentSerializer.deserialize(bytes));
+        logger.info("shouldRoundTripDepartment():");
+    }
+
+    /**
+     * Should serialize and deserialize the {@link Team}.
+     *
+     * @param id the {@link Team} id
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, -1, 63, 64, 12_345, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    void shouldRoundTripTeam(int id) {
+        // GIVEN
+        final Team team = new Team(id);
+        // WHEN
+        final byte[] bytes = teamSerializer.serialize(team);
+        // THEN
+        Assertions.assertNotNull(bytes);
+        Assertions.assertEquals(team, teamSerializer.deserialize(bytes));
+        logger.info("shouldRoundTripTeam(): id[{}], bytes{}", id, Arrays.toString(bytes));
+    }
+
+    /**
+     * Should read the JSON values written before the compact format was selected.
+     */
+    @Test
+    void shouldReadJsonValues() {
+        // GIVEN
+        final byte[] departmentJson = new JacksonJsonRedisSerializer<>(Department.class)
+                .serialize(EXPECTED_DEPARTMENT_1);
+        final byte[] teamJson = new JacksonJsonRedisSerializer<>(Team.class).serialize(new Team(3));
+        // WHEN
+        final Department department = departmentSerializer.deserialize(departmentJson);
+        final Team team = teamSerializer.deserialize(teamJson);
+        // THEN
+        Assertions.assertEquals(EXPECTED_DEPARTMENT_1, department);
+        Assertions.assertEquals(new Team(3), team);
+        logger.info("shouldReadJsonValues():");
+    }
+
+    /**
+     * Should write fewer bytes than the JSON serialization.
+     */
+    @Test
+    void shouldWriteFewerBytesThanJson() {
+        // GIVEN
+        final byte[] departmentJson = new JacksonJsonRedisSerializer<>(Department.class)
+                .serialize(EXPECTED_DEPARTMENT_1);
+        final byte[] teamJson = new JacksonJsonRedisSerializer<>(Team.class).serialize(new Team(3));
+        // WHEN
+        final byte[] department = departmentSerializer.serialize(EXPECTED_DEPARTMENT_1);
+        final byte[] team = teamSerializer.serialize(new Team(3));
+        // THEN
+        Assertions.assertNotNull(departmentJson);
+        Assertions.assertNotNull(teamJson);
+        Assertions.assertNotNull(department);
+        Assertions.assertNotNull(team);
+        Assertions.assertTrue(department.length < departmentJson.length);
+        Assertions.assertEquals(2, team.length);
+        logger.info("shouldWriteFewerBytesThanJson(): department[{}/{}], team[{}/{}]",
+                department.length, departmentJson.length, team.length, teamJson.length);
+    }
+
+    /**
+     * Should not deserialize the value with unsupported format version or truncated value.
+     */
+    @Test
+    void shouldNotDeserializeMalformedValues() {
+        // GIVEN
+        final byte[] department = departmentSerializer.serialize(EXPECTED_DEPARTMENT_1);
+        Assertions.assertNotNull(department);
+        final byte[] truncated = Arrays.copyOf(department, department.length - 1);
+        final byte[] unsupported = department.clone();
+        unsupported[0] = CompactFormat.FORMAT_VERSION + 1;
+        // WHEN
+        // THEN
+        Assertions.assertThrows(SerializationException.class, () -> departmentSerializer.deserialize(truncated));
+        Assertions.assertThrows(SerializationException.class, () -> departmentSerializer.deserialize(unsupported));
+        Assertions.assertThrows(SerializationException.class, () -> teamSerializer.deserialize(new byte[]{
+                CompactFormat.FORMAT_VERSION, (byte) 0x80}));
+        Assertions.assertNull(departmentSerializer.deserialize(new byte[0]));
+        logger.info("shouldNotDeserializeMalformedValues():");
+    }
+}
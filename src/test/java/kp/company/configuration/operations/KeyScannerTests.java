@@ -0,0 +1,131 @@
+package kp.company.configuration.operations;
+
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.codec.StringCodec;
+import kp.TestProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+
+import static kp.Constants.SCAN_CURSOR_START;
+
+/**
+ * The {@link KeyScanner} tests.
+ */
+class KeyScannerTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int TEST_NODE_COUNT = 3;
+    private static final String TEST_NODE_CURSOR = "17";
+    private static final String VALID_ERR_MSG = "Bad cursor validation";
+    private static final String NODE_CURSOR_ERR_MSG = "Bad node cursor";
+    private static final String NEXT_CURSOR_ERR_MSG = "Bad next cursor";
+    private static final String CONNECT_ERR_MSG = "Bad connect";
+
+    /**
+     * Should accept the plain cursor and, in the Redis Cluster only, the cluster cursor 'node index:node cursor'.
+     * The node index overflowing the int and the cursor overflowing the unsigned 64-bit number are rejected.
+     */
+    @Test
+    void shouldValidateCursor() {
+        // GIVEN
+        // WHEN
+        // THEN
+        Assertions.assertTrue(KeyScanner.isValidCursor(SCAN_CURSOR_START, true), VALID_ERR_MSG);
+        Assertions.assertTrue(KeyScanner.isValidCursor(SCAN_CURSOR_START, false), VALID_ERR_MSG);
+        Assertions.assertTrue(KeyScanner.isValidCursor("1:" + TEST_NODE_CURSOR, true), VALID_ERR_MSG);
+        Assertions.assertTrue(KeyScanner.isValidCursor("18446744073709551615", false), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("1:" + TEST_NODE_CURSOR, false), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("", true), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("1:", true), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor(":1", true), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("1:2:3", true), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("-1", true), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("99999999999:0", true), VALID_ERR_MSG);
+        Assertions.assertFalse(KeyScanner.isValidCursor("18446744073709551616", false), VALID_ERR_MSG);
+        logger.info("shouldValidateCursor():");
+    }
+
+    /**
+     * Should continue on the same primary, then on the next primary, and finish after the last primary.
+     */
+    @Test
+    void shouldAdvanceClusterCursorAcrossPrimaries() {
+        // GIVEN
+        final KeyScanner.NodeCursor firstCursor = KeyScanner.NodeCursor.parse(SCAN_CURSOR_START);
+        final KeyScanner.NodeCursor lastCursor = KeyScanner.NodeCursor.parse("2:" + TEST_NODE_CURSOR);
+        // WHEN
+        final String unfinishedNext = firstCursor.next(TEST_NODE_COUNT, createKeyScanCursor(false));
+        final String finishedNext = firstCursor.next(TEST_NODE_COUNT, createKeyScanCursor(true));
+        final String lastNext = lastCursor.next(TEST_NODE_COUNT, createKeyScanCursor(true));
+        // THEN
+        Assertions.assertEquals(new KeyScanner.NodeCursor(0, SCAN_CURSOR_START), firstCursor, NODE_CURSOR_ERR_MSG);
+        Assertions.assertEquals(new KeyScanner.NodeCursor(2, TEST_NODE_CURSOR), lastCursor, NODE_CURSOR_ERR_MSG);
+        Assertions.assertEquals("0:" + TEST_NODE_CURSOR, unfinishedNext, NEXT_CURSOR_ERR_MSG);
+        Assertions.assertEquals("1:" + SCAN_CURSOR_START, finishedNext, NEXT_CURSOR_ERR_MSG);
+        Assertions.assertEquals(SCAN_CURSOR_START, lastNext, NEXT_CURSOR_ERR_MSG);
+        logger.info("shouldAdvanceClusterCursorAcrossPrimaries():");
+    }
+
+    /**
+     * Should connect again on the scan after the failed connect.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReconnectAfterFailedConnect() {
+        // GIVEN
+        final LettuceConnectionFactory connectionFactory = Mockito.mock(LettuceConnectionFactory.class);
+        final RedisClient redisClient = Mockito.mock(RedisClient.class);
+        final StatefulRedisConnection<String, String> connection = Mockito.mock(StatefulRedisConnection.class);
+        final RedisReactiveCommands<String, String> reactiveCommands = Mockito.mock(RedisReactiveCommands.class);
+        Mockito.when(connectionFactory.getRequiredNativeClient()).thenReturn(redisClient);
+        Mockito.when(redisClient.connect(StringCodec.UTF8))
+                .thenThrow(new RedisConnectionException("Redis unavailable"))
+                .thenReturn(connection);
+        Mockito.when(connection.reactive()).thenReturn(reactiveCommands);
+        Mockito.when(reactiveCommands.scan(Mockito.any(ScanCursor.class), Mockito.any(KeyScanArgs.class)))
+                .thenReturn(Mono.just(createKeyScanCursor(true)));
+        final KeyScanner keyScanner = new KeyScanner(connectionFactory, Schedulers.immediate(),
+                TestProperties.create(Map.of()));
+        final ScanOptions scanOptions = ScanOptions.scanOptions().count(TEST_NODE_COUNT).build();
+        // WHEN
+        final Throwable firstFailure = keyScanner.scan(SCAN_CURSOR_START, scanOptions)
+                .then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block();
+        final KeyScanner.Page secondPage = keyScanner.scan(SCAN_CURSOR_START, scanOptions).block();
+        // THEN
+        Assertions.assertInstanceOf(RedisConnectionException.class, firstFailure, CONNECT_ERR_MSG);
+        Assertions.assertNotNull(secondPage, CONNECT_ERR_MSG);
+        Assertions.assertEquals(SCAN_CURSOR_START, secondPage.cursor(), NEXT_CURSOR_ERR_MSG);
+        Mockito.verify(redisClient, Mockito.times(2)).connect(StringCodec.UTF8);
+        logger.info("shouldReconnectAfterFailedConnect():");
+    }
+
+    /**
+     * Creates the {@link KeyScanCursor}.
+     *
+     * @param finished the flag whether the scan of the node is finished
+     * @return the {@link KeyScanCursor}
+     */
+    private static KeyScanCursor<String> createKeyScanCursor(boolean finished) {
+
+        final KeyScanCursor<String> keyScanCursor = new KeyScanCursor<>();
+        keyScanCursor.setCursor(finished ? SCAN_CURSOR_START : TEST_NODE_CURSOR);
+        keyScanCursor.setFinished(finished);
+        return keyScanCursor;
+    }
+}
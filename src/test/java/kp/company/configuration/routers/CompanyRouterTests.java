@@ -0,0 +1,67 @@
+package kp.company.configuration.routers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kp.TestProperties;
+import kp.company.configuration.http.ListingETagFilter;
+import kp.company.configuration.logging.AccessLogFilter;
+import kp.company.configuration.metrics.RouteMetricsFilter;
+import kp.company.handlers.DepartmentHandler;
+import kp.company.handlers.EmployeeHandler;
+import kp.company.handlers.SampleDatasetHandler;
+import kp.company.handlers.TeamHandler;
+import kp.company.services.ListingVersions;
+import kp.company.services.ListingVersions.Listing;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+
+import static kp.Constants.GET_TEAMS_PATH;
+
+/**
+ * The {@link CompanyRouter} tests.
+ */
+class CompanyRouterTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String ROUTE_TIMER = "company.route.requests";
+    private static final String TEST_ETAG = "W/\"teams-1234\"";
+    private static final String TIMER_COUNT_ERR_MSG = "Bad timer count";
+
+    /**
+     * Should time the 'Not Modified' response of the conditional listing request.
+     */
+    @Test
+    void shouldTimeNotModifiedListingResponse() {
+        // GIVEN
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final ListingVersions listingVersions = Mockito.mock(ListingVersions.class);
+        Mockito.when(listingVersions.eTag(Listing.TEAMS)).thenReturn(Mono.just(TEST_ETAG));
+        final TeamHandler teamHandler = Mockito.mock(TeamHandler.class);
+        final WebTestClient webTestClient = WebTestClient.bindToRouterFunction(new CompanyRouter()
+                .createRouterFunction(Mockito.mock(SampleDatasetHandler.class), Mockito.mock(DepartmentHandler.class),
+                        Mockito.mock(EmployeeHandler.class), teamHandler, new RouteMetricsFilter(meterRegistry),
+                        new AccessLogFilter(TestProperties.create(Map.of())),
+                        new ListingETagFilter(listingVersions,
+                                TestProperties.create(Map.of("company.http.etag-enabled", true)))))
+                .build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(GET_TEAMS_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, TEST_ETAG).exchange();
+        // THEN
+        responseSpec.expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertEquals(1, meterRegistry.get(ROUTE_TIMER).tag("route", GET_TEAMS_PATH)
+                .tag("outcome", "REDIRECTION").timer().count(), TIMER_COUNT_ERR_MSG);
+        Mockito.verify(teamHandler, Mockito.never()).handleTeams(Mockito.any());
+        logger.info("shouldTimeNotModifiedListingResponse():");
+    }
+}
@@ -1,8 +1,13 @@
 package kp.company.handlers;
 
+import kp.company.configuration.operations.CompactDepartmentSerializer;
+import kp.company.configuration.operations.KeyScanner;
+import kp.company.domain.CacheStatistics;
 import kp.company.domain.Department;
+import kp.company.domain.DepartmentPage;
 import kp.company.domain.Employee;
 import kp.company.handlers.base.ValueOperationsTestsBase;
+import kp.company.services.DepartmentPassThrough;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -10,7 +15,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
 import org.springframework.web.util.UriBuilder;
@@ -34,6 +45,22 @@ import static kp.TestConstants.*;
 class DepartmentHandlerTests extends ValueOperationsTestsBase {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    @MockitoBean
+    private KeyScanner keyScanner;
+
+    @MockitoBean
+    private DepartmentPassThrough departmentPassThrough;
+
+    private static final String TEST_NEXT_CURSOR = "17";
+    private static final long TEST_COUNT = 2;
+    private static final String CURSOR_ERR_MSG = "Bad cursor";
+    private static final String WRONG_TYPE_MSG = "WRONGTYPE Operation against a key holding the wrong kind of value";
+    private static final String CACHE_HIT_ERR_MSG = "No cache hit";
+    private static final String CACHE_COHERENT_ERR_MSG = "Cache not coherent";
+    private static final String TEST_NAME_PREFIX = "D-Name-";
+    private static final Range<String> TEST_NAME_PREFIX_RANGE = Range.of(
+            Range.Bound.inclusive(TEST_NAME_PREFIX), Range.Bound.exclusive("D-Name."));
+
     /**
      * Should get the list of {@link Department}s.
      */
@@ -50,6 +77,62 @@ class DepartmentHandlerTests extends ValueOperationsTestsBase {
         logger.info("shouldGetDepartments():");
     }
 
+    /**
+     * Should get the stream of {@link Department}s.
+     */
+    @Test
+    void shouldGetDepartmentsStream() {
+        // GIVEN
+        initialize();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(GET_DEPARTMENTS_PATH)
+                .accept(MediaType.APPLICATION_NDJSON).exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+        checkDepartments(responseSpec.returnResult(Department.class).getResponseBody().collectList().block());
+        logger.info("shouldGetDepartmentsStream():");
+    }
+
+    /**
+     * Should get the first page of {@link Department}s with the continuation token.
+     */
+    @Test
+    void shouldGetDepartmentsPage() {
+        // GIVEN
+        initialize();
+        Mockito.when(keyScanner.scan(Mockito.eq(SCAN_CURSOR_START), Mockito.any(ScanOptions.class))).thenReturn(
+                Mono.just(new KeyScanner.Page(TEST_NEXT_CURSOR, List.of(TEST_DEP_KEY_1, TEST_DEP_KEY_2))));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENTS_PATH)
+                .queryParam(COUNT_VAR, TEST_COUNT).queryParam(CURSOR_VAR, SCAN_CURSOR_START).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(DepartmentPage.class).value(departmentPage -> {
+            Assertions.assertEquals(TEST_NEXT_CURSOR, departmentPage.cursor(), CURSOR_ERR_MSG);
+            checkDepartments(departmentPage.departments());
+        });
+        logger.info("shouldGetDepartmentsPage():");
+    }
+
+    /**
+     * Should not get the page of {@link Department}s by the bad count and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotGetDepartmentsPageByBadCountAndGetStatusBadRequest() {
+        // GIVEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENTS_PATH)
+                .queryParam(COUNT_VAR, MAX_SCAN_COUNT + 1).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetDepartmentsPageByBadCountAndGetStatusBadRequest():");
+    }
+
     /**
      * Should get the {@link Department} by the {@link Department} key.
      */
@@ -68,6 +151,159 @@ class DepartmentHandlerTests extends ValueOperationsTestsBase {
         logger.info("shouldGetDepartmentByDepartmentKey():");
     }
 
+    /**
+     * Should get the {@link Department} by the {@link Department} key from the near cache.
+     */
+    @Test
+    void shouldGetDepartmentByDepartmentKeyFromCache() {
+        // GIVEN
+        initialize();
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENT_PATH)
+                .build(TEST_DEP_KEY_1);
+        webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON).exchange().expectStatus().isOk();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(Department.class).value(this::checkDepartment);
+        Mockito.verify(reactiveValueOperations, Mockito.times(1)).get(TEST_DEP_KEY_1);
+        webTestClient.get().uri(GET_DEPARTMENT_CACHE_PATH).accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody(CacheStatistics.class).value(statistics -> {
+                    Assertions.assertTrue(statistics.hitCount() >= 1, CACHE_HIT_ERR_MSG);
+                    Assertions.assertTrue(statistics.coherent(), CACHE_COHERENT_ERR_MSG);
+                });
+        logger.info("shouldGetDepartmentByDepartmentKeyFromCache():");
+    }
+
+    /**
+     * Should get the {@link Department} by the {@link Department} key as the stored JSON bytes
+     * with the pass-through.
+     */
+    @Test
+    void shouldGetDepartmentByDepartmentKeyWithPassThrough() {
+        // GIVEN
+        final byte[] storedBytes = new JacksonJsonRedisSerializer<>(Department.class).serialize(EXPECTED_DEPARTMENT_1);
+        Mockito.when(departmentPassThrough.isEnabled()).thenReturn(true);
+        Mockito.when(departmentPassThrough.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(storedBytes));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENT_PATH)
+                .build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectHeader().contentType(MediaType.APPLICATION_JSON);
+        responseSpec.expectBody(byte[].class).isEqualTo(storedBytes);
+        Mockito.verify(reactiveValueOperations, Mockito.never()).get(TEST_DEP_KEY_1);
+        logger.info("shouldGetDepartmentByDepartmentKeyWithPassThrough():");
+    }
+
+    /**
+     * Should get the {@link Department} by the {@link Department} key decoded from the stored value
+     * which is not JSON, with the pass-through.
+     */
+    @Test
+    void shouldGetDepartmentByDepartmentKeyDecodedWhenStoredValueIsNotJson() {
+        // GIVEN
+        initialize();
+        final byte[] storedBytes = new CompactDepartmentSerializer().serialize(EXPECTED_DEPARTMENT_1);
+        Mockito.when(departmentPassThrough.isEnabled()).thenReturn(true);
+        Mockito.when(departmentPassThrough.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(storedBytes));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENT_PATH)
+                .build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(Department.class).value(this::checkDepartment);
+        logger.info("shouldGetDepartmentByDepartmentKeyDecodedWhenStoredValueIsNotJson():");
+    }
+
+    /**
+     * Should get the {@link Department} by the {@link Department} key through the cache
+     * when the pass-through GET fails with WRONGTYPE on the {@link Department} not yet migrated.
+     */
+    @Test
+    void shouldGetDepartmentByDepartmentKeyWhenPassThroughFailsWithWrongType() {
+        // GIVEN
+        initialize();
+        Mockito.when(departmentPassThrough.isEnabled()).thenReturn(true);
+        Mockito.when(departmentPassThrough.get(TEST_DEP_KEY_1))
+                .thenReturn(Mono.error(new InvalidDataAccessApiUsageException(WRONG_TYPE_MSG)));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENT_PATH)
+                .build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(Department.class).value(this::checkDepartment);
+        logger.info("shouldGetDepartmentByDepartmentKeyWhenPassThroughFailsWithWrongType():");
+    }
+
+    /**
+     * Should get the {@link Department} by the name.
+     */
+    @Test
+    void shouldGetDepartmentByName() {
+        // GIVEN
+        initialize();
+        Mockito.when(nameIndexOperations.get(DEP_NAME_INDEX_KEY, EXPECTED_DEPARTMENT_1.name()))
+                .thenReturn(Mono.just(TEST_DEP_KEY_1));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENTS_PATH)
+                .queryParam(DEPARTMENT_NAME_VAR, EXPECTED_DEPARTMENT_1.name()).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(Department.class).value(this::checkDepartment);
+        Mockito.verify(reactiveRedisOperations, Mockito.never()).scan(Mockito.any(ScanOptions.class));
+        logger.info("shouldGetDepartmentByName():");
+    }
+
+    /**
+     * Should not get the {@link Department} by the unknown name and get status 'Not Found'.
+     */
+    @Test
+    void shouldNotGetDepartmentByUnknownNameAndGetStatusNotFound() {
+        // GIVEN
+        initialize();
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENTS_PATH)
+                .queryParam(DEPARTMENT_NAME_VAR, TEST_DEPARTMENT_KEY_UNKNOWN).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isNotFound();
+        logger.info("shouldNotGetDepartmentByUnknownNameAndGetStatusNotFound():");
+    }
+
+    /**
+     * Should get the {@link Department}s by the name prefix.
+     */
+    @Test
+    void shouldGetDepartmentsByNamePrefix() {
+        // GIVEN
+        initialize();
+        Mockito.when(nameLexIndexOperations.rangeByLex(Mockito.eq(DEP_NAME_LEX_INDEX_KEY),
+                        Mockito.eq(TEST_NAME_PREFIX_RANGE), Mockito.any(Limit.class)))
+                .thenReturn(Flux.just(DEP_NAME_LEX_MEMBER_FUN.apply(EXPECTED_DEPARTMENT_1.name(), TEST_DEP_KEY_1),
+                        DEP_NAME_LEX_MEMBER_FUN.apply(EXPECTED_DEPARTMENT_2.name(), TEST_DEP_KEY_2)));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_DEPARTMENTS_PATH)
+                .queryParam(DEPARTMENT_NAME_PREFIX_VAR, TEST_NAME_PREFIX).queryParam(COUNT_VAR, TEST_COUNT).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBodyList(Department.class).value(this::checkDepartments);
+        logger.info("shouldGetDepartmentsByNamePrefix():");
+    }
+
     /**
      * Should not get the list of {@link Department}s and get status 'Not Found'.
      */
@@ -75,7 +311,7 @@ class DepartmentHandlerTests extends ValueOperationsTestsBase {
     void shouldNotGetDepartmentsAndGetStatusNotFound() {
         // GIVEN
         Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(reactiveValueOperations);
-        Mockito.when(reactiveRedisOperations.scan(VALUE_SCAN_OPTIONS)).thenReturn(Flux.empty());
+        Mockito.when(reactiveRedisOperations.scan(Mockito.any(ScanOptions.class))).thenReturn(Flux.empty());
         webTestClient = WebTestClient.bindToRouterFunction(routerFunction).build();
         // WHEN
         final ResponseSpec responseSpec = webTestClient.get().uri(GET_DEPARTMENTS_PATH)
@@ -85,6 +321,22 @@ class DepartmentHandlerTests extends ValueOperationsTestsBase {
         logger.info("shouldNotGetDepartmentsAndGetStatusNotFound():");
     }
 
+    /**
+     * Should not get the stream of {@link Department}s and get status 'Not Found'.
+     */
+    @Test
+    void shouldNotGetDepartmentsStreamAndGetStatusNotFound() {
+        // GIVEN
+        Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(reactiveValueOperations);
+        Mockito.when(reactiveRedisOperations.scan(Mockito.any(ScanOptions.class))).thenReturn(Flux.empty());
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(GET_DEPARTMENTS_PATH)
+                .accept(MediaType.APPLICATION_NDJSON).exchange();
+        // THEN
+        responseSpec.expectStatus().isNotFound();
+        logger.info("shouldNotGetDepartmentsStreamAndGetStatusNotFound():");
+    }
+
     /**
      * Should not get the {@link Department} by the unknown key and get status 'Not Found'.
      */
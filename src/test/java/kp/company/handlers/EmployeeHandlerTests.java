@@ -2,6 +2,7 @@ package kp.company.handlers;
 
 import kp.company.domain.Department;
 import kp.company.domain.Employee;
+import kp.company.domain.EmployeePage;
 import kp.company.handlers.base.ValueOperationsTestsBase;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,8 @@ import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
 import java.net.URI;
+import java.util.List;
+import java.util.Locale;
 import java.util.function.Function;
 
 import static kp.Constants.*;
@@ -86,6 +89,131 @@ class EmployeeHandlerTests extends ValueOperationsTestsBase {
         logger.info("shouldNotGetEmployeeByUnknownNamesAndGetStatusNotFound():");
     }
 
+    /**
+     * Should get the {@link Employee} from the {@link Employee} index without reading the {@link Department}.
+     */
+    @Test
+    void shouldGetEmployeeFromIndex() {
+        // GIVEN
+        initialize();
+        Mockito.when(employeeIndexOperations.get(EMP_INDEX_KEY_FUN.apply(TEST_DEP_KEY_1),
+                        EMP_INDEX_FIELD_FUN.apply(EXPECTED_EMPLOYEE_1.firstName(), EXPECTED_EMPLOYEE_1.lastName())))
+                .thenReturn(Mono.just(EXPECTED_EMPLOYEE_1));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                .queryParam(EMPLOYEE_FIRST_NAME_VAR, EXPECTED_EMPLOYEE_1.firstName().toUpperCase(Locale.ROOT))
+                .queryParam(EMPLOYEE_LAST_NAME_VAR, EXPECTED_EMPLOYEE_1.lastName()).build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(Employee.class).value(this::checkEmployee);
+        Mockito.verify(reactiveValueOperations, Mockito.never()).get(TEST_DEP_KEY_1);
+        logger.info("shouldGetEmployeeFromIndex():");
+    }
+
+    /**
+     * Should not get the {@link Employee} absent from the existing {@link Employee} index.
+     */
+    @Test
+    void shouldNotGetEmployeeAbsentFromIndexAndGetStatusNotFound() {
+        // GIVEN
+        initialize();
+        Mockito.when(employeeIndexOperations.size(EMP_INDEX_KEY_FUN.apply(TEST_DEP_KEY_1)))
+                .thenReturn(Mono.just((long) EXPECTED_DEPARTMENT_1.employees().size()));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                .queryParam(EMPLOYEE_FIRST_NAME_VAR, TEST_EMPLOYEE_NAME_UNKNOWN)
+                .queryParam(EMPLOYEE_LAST_NAME_VAR, TEST_EMPLOYEE_NAME_UNKNOWN).build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isNotFound();
+        Mockito.verify(reactiveValueOperations, Mockito.never()).get(TEST_DEP_KEY_1);
+        logger.info("shouldNotGetEmployeeAbsentFromIndexAndGetStatusNotFound():");
+    }
+
+    /**
+     * Should get the page of the {@link Employee}s by the offset and the limit.
+     */
+    @Test
+    void shouldGetEmployeesPage() {
+        // GIVEN
+        initialize();
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                .queryParam(OFFSET_VAR, 1).queryParam(LIMIT_VAR, 10).build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(EmployeePage.class).value(employeePage -> {
+            Assertions.assertNotNull(employeePage, EMP_LIST_NULL_ERR_MSG);
+            Assertions.assertEquals(EXPECTED_DEPARTMENT_1.employees().size(), employeePage.total(),
+                    EMP_LIST_SIZE_ERR_MSG);
+            Assertions.assertEquals(EXPECTED_DEPARTMENT_1.employees().subList(1, 2), employeePage.employees(),
+                    EMP_LIST_CONTENT_ERR_MSG);
+        });
+        logger.info("shouldGetEmployeesPage():");
+    }
+
+    /**
+     * Should get the stream of the {@link Employee}s filtered by the name prefix.
+     */
+    @Test
+    void shouldGetEmployeesStreamFilteredByNamePrefix() {
+        // GIVEN
+        initialize();
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                .queryParam(EMPLOYEE_LAST_NAME_PREFIX_VAR, EXPECTED_EMPLOYEE_1.lastName().toUpperCase(Locale.ROOT))
+                .build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+        Assertions.assertEquals(List.of(EXPECTED_EMPLOYEE_1),
+                responseSpec.returnResult(Employee.class).getResponseBody().collectList().block(),
+                EMP_LIST_CONTENT_ERR_MSG);
+        logger.info("shouldGetEmployeesStreamFilteredByNamePrefix():");
+    }
+
+    /**
+     * Should not get the page of the {@link Employee}s with the limit out of range.
+     */
+    @Test
+    void shouldNotGetEmployeesPageWithBadLimitAndGetStatusBadRequest() {
+        // GIVEN
+        initialize();
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                .queryParam(LIMIT_VAR, MAX_EMPLOYEE_PAGE_LIMIT + 1).build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetEmployeesPageWithBadLimitAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not get the page of the {@link Employee}s with the offset overflowing the page end.
+     */
+    @Test
+    void shouldNotGetEmployeesPageWithOverflowingOffsetAndGetStatusBadRequest() {
+        // GIVEN
+        initialize();
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_EMPLOYEE_PATH)
+                .queryParam(OFFSET_VAR, Long.MAX_VALUE).queryParam(LIMIT_VAR, MAX_EMPLOYEE_PAGE_LIMIT)
+                .build(TEST_DEP_KEY_1);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetEmployeesPageWithOverflowingOffsetAndGetStatusBadRequest():");
+    }
+
     /**
      * Checks the {@link Employee}.
      *
@@ -0,0 +1,224 @@
+package kp.company.handlers;
+
+import kp.company.domain.DatasetLoadingReport;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.Team;
+import kp.company.handlers.base.ValueOperationsTestsBase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link SampleDatasetHandler} tests.
+ * <p>
+ * The tests use {@link WebTestClient}.
+ * </p>
+ */
+class SampleDatasetHandlerTests extends ValueOperationsTestsBase {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    @MockitoBean
+    private ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+
+    private static final String FLUSH_RESULT = "OK";
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final String LOADING_DONE_ERR_MSG = "Loading completed before the flush completed";
+    private static final String FLUSH_SUBSCRIBED_ERR_MSG = "Flush was not subscribed";
+    private static final String REPORT_NULL_ERR_MSG = "Report is null";
+    private static final String REPORT_RESULT_ERR_MSG = "Bad report result";
+    private static final String REPORT_DEPARTMENTS_ERR_MSG = "Bad number of loaded departments";
+    private static final String REPORT_EMPLOYEES_ERR_MSG = "Bad number of loaded employees";
+    private static final String REPORT_TEAMS_ERR_MSG = "Bad number of loaded teams";
+    private static final String EMPLOYEES_UNIQUE_ERR_MSG = "Employee names collide between departments";
+    private static final int TEST_DEPARTMENTS = 25;
+    private static final int TEST_EMPLOYEES_PER_DEPARTMENT = 1_000;
+    private static final int TEST_TEAMS = 30;
+
+    /**
+     * Should load the sample dataset.
+     */
+    @Test
+    void shouldLoadSampleDataset() {
+        // GIVEN
+        initializeLoading(Flux.just(FLUSH_RESULT), Mono.just(true));
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(LOAD_SAMPLE_DATASET_PATH)
+                .accept(MediaType.APPLICATION_JSON).exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(DatasetLoadingReport.class).value(this::checkDefaultReport);
+        logger.info("shouldLoadSampleDataset():");
+    }
+
+    /**
+     * Should load the scaled dataset in chunks.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLoadScaledDatasetInChunks() {
+        // GIVEN
+        initializeLoading(Flux.just(FLUSH_RESULT), Mono.just(true));
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(LOAD_SAMPLE_DATASET_PATH)
+                .queryParam(DEPARTMENTS_VAR, TEST_DEPARTMENTS)
+                .queryParam(EMPLOYEES_PER_DEPARTMENT_VAR, TEST_EMPLOYEES_PER_DEPARTMENT)
+                .queryParam(TEAMS_VAR, TEST_TEAMS).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(DatasetLoadingReport.class).value(report -> {
+            Assertions.assertEquals(TEST_DEPARTMENTS, report.departments(), REPORT_DEPARTMENTS_ERR_MSG);
+            Assertions.assertEquals((long) TEST_DEPARTMENTS * TEST_EMPLOYEES_PER_DEPARTMENT, report.employees(),
+                    REPORT_EMPLOYEES_ERR_MSG);
+            Assertions.assertEquals(TEST_TEAMS, report.teams(), REPORT_TEAMS_ERR_MSG);
+        });
+        final ArgumentCaptor<Map<String, Department>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(reactiveValueOperations, Mockito.atLeast(2)).multiSet(captor.capture());
+        final long uniqueEmployees = captor.getAllValues().stream().map(Map::values).flatMap(Collection::stream)
+                .map(Department::employees).flatMap(Collection::stream).map(Employee::firstName).distinct().count();
+        Assertions.assertEquals((long) TEST_DEPARTMENTS * TEST_EMPLOYEES_PER_DEPARTMENT, uniqueEmployees,
+                EMPLOYEES_UNIQUE_ERR_MSG);
+        Mockito.verify(employeeIndexOperations, Mockito.times(TEST_DEPARTMENTS))
+                .putAll(Mockito.anyString(), Mockito.anyMap());
+        Mockito.verify(nameIndexOperations, Mockito.atLeast(2)).putAll(Mockito.eq(DEP_NAME_INDEX_KEY), Mockito.anyMap());
+        Mockito.verify(nameLexIndexOperations, Mockito.atLeast(2))
+                .addAll(Mockito.eq(DEP_NAME_LEX_INDEX_KEY), Mockito.anyCollection());
+        Mockito.verify(listingVersionsOperations).putAll(Mockito.eq(LISTING_VERSIONS_KEY),
+                Mockito.argThat(versionMap -> versionMap.keySet().equals(Set.of("departments", "teams"))));
+        logger.info("shouldLoadScaledDatasetInChunks():");
+    }
+
+    /**
+     * Should not load the dataset by the bad scale and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotLoadDatasetByBadScaleAndGetStatusBadRequest() {
+        // GIVEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(LOAD_SAMPLE_DATASET_PATH)
+                .queryParam(DEPARTMENTS_VAR, MAX_DEPARTMENTS + 1).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotLoadDatasetByBadScaleAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not load the sample dataset exceeding the maximum number of records and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotLoadDatasetByTooManyRecordsAndGetStatusBadRequest() {
+        // GIVEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(LOAD_SAMPLE_DATASET_PATH)
+                .queryParam(DEPARTMENTS_VAR, MAX_DEPARTMENTS)
+                .queryParam(EMPLOYEES_PER_DEPARTMENT_VAR, MAX_EMPLOYEES_PER_DEPARTMENT).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotLoadDatasetByTooManyRecordsAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not load the sample dataset and get status 'Internal Server Error'.
+     */
+    @Test
+    void shouldNotLoadSampleDatasetAndGetStatusInternalServerError() {
+        // GIVEN
+        initializeLoading(Flux.just(FLUSH_RESULT), Mono.error(new IllegalStateException("MSET failed")));
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(LOAD_SAMPLE_DATASET_PATH)
+                .accept(MediaType.APPLICATION_JSON).exchange();
+        // THEN
+        responseSpec.expectStatus().is5xxServerError();
+        logger.info("shouldNotLoadSampleDatasetAndGetStatusInternalServerError():");
+    }
+
+    /**
+     * Should serve the other endpoints while the loading is in progress.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void shouldServeOtherEndpointsWhileLoadingIsInProgress() throws Exception {
+        // GIVEN
+        final Sinks.Empty<Void> flushSink = Sinks.empty();
+        final CountDownLatch flushSubscribedLatch = new CountDownLatch(1);
+        initializeLoading(flushSink.asMono().thenMany(Flux.just(FLUSH_RESULT))
+                .doOnSubscribe(_ -> flushSubscribedLatch.countDown()), Mono.just(true));
+        final CompletableFuture<ResponseSpec> loadingFuture = CompletableFuture.supplyAsync(
+                () -> webTestClient.get().uri(LOAD_SAMPLE_DATASET_PATH).accept(MediaType.APPLICATION_JSON)
+                        .exchange());
+        Assertions.assertTrue(flushSubscribedLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), FLUSH_SUBSCRIBED_ERR_MSG);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(GET_DEPARTMENTS_PATH)
+                .accept(MediaType.APPLICATION_JSON).exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        Assertions.assertFalse(loadingFuture.isDone(), LOADING_DONE_ERR_MSG);
+        flushSink.tryEmitEmpty();
+        loadingFuture.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).expectStatus().isOk();
+        logger.info("shouldServeOtherEndpointsWhileLoadingIsInProgress():");
+    }
+
+    /**
+     * Initializes the loading.
+     *
+     * @param flushFlux    the flush result {@link Flux}
+     * @param multiSetMono the MSET result {@link Mono}
+     */
+    private void initializeLoading(Flux<String> flushFlux, Mono<Boolean> multiSetMono) {
+
+        initialize();
+        Mockito.when(reactiveRedisOperations.execute(Mockito.<ReactiveRedisCallback<String>>any()))
+                .thenReturn(flushFlux);
+        Mockito.when(reactiveValueOperations.multiSet(Mockito.anyMap())).thenReturn(multiSetMono);
+        Mockito.when(reactiveZSetOperations.addAll(Mockito.eq(TEAMS_KEY), Mockito.anyCollection()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<Collection<?>>getArgument(1).size()));
+    }
+
+    /**
+     * Checks the {@link DatasetLoadingReport} of the default dataset.
+     *
+     * @param report the {@link DatasetLoadingReport}
+     */
+    private void checkDefaultReport(DatasetLoadingReport report) {
+
+        Assertions.assertNotNull(report, REPORT_NULL_ERR_MSG);
+        Assertions.assertEquals(LOAD_SAMPLE_DATASET_RESULT, report.result(), REPORT_RESULT_ERR_MSG);
+        Assertions.assertEquals(DEP_KEY_INDEX_UPPER_BOUND, report.departments(), REPORT_DEPARTMENTS_ERR_MSG);
+        Assertions.assertEquals((long) DEP_KEY_INDEX_UPPER_BOUND * EMP_INDEX_UPPER_BOUND, report.employees(),
+                REPORT_EMPLOYEES_ERR_MSG);
+        Assertions.assertEquals(TEAMS_COUNT, report.teams(), REPORT_TEAMS_ERR_MSG);
+    }
+
+}
@@ -1,6 +1,11 @@
 package kp.company.handlers;
 
+import kp.company.domain.RankedTeamTuple;
+import kp.company.domain.ScoreIncrement;
+import kp.company.domain.ScoreIngestionStatistics;
 import kp.company.domain.Team;
+import kp.company.domain.TeamChange;
+import kp.company.domain.TeamRank;
 import kp.company.domain.TeamTuple;
 import kp.company.handlers.base.HandlersTestsBase;
 import org.jspecify.annotations.NonNull;
@@ -9,7 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveSubscription.ChannelMessage;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.data.redis.core.ReactiveZSetOperations;
 import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.http.MediaType;
@@ -22,7 +30,10 @@ import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
 import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
@@ -43,6 +54,9 @@ class TeamHandlerTests extends HandlersTestsBase {
     @MockitoBean
     private ReactiveZSetOperations<String, Team> reactiveZSetOperations;
 
+    @MockitoBean
+    private ReactiveRedisOperations<@NonNull String, @NonNull TeamChange[]> teamChangeOperations;
+
     private static final Team TEST_TEAM_1 = new Team(1);
     private static final Team TEST_TEAM_2 = new Team(2);
     private static final Team TEST_TEAM_3 = new Team(3);
@@ -59,6 +73,16 @@ class TeamHandlerTests extends HandlersTestsBase {
 
     private static final Range<@NonNull Double> TEST_TEAMS_RANGE = Range.closed(TEST_SCORE_2, TEST_SCORE_3);
     private static final long TEST_TEAM_RANK = 3L;
+    private static final long TEST_LEADERBOARD_OFFSET = 1L;
+    private static final long TEST_LEADERBOARD_LIMIT = 2L;
+    private static final long TEST_LEADERBOARD_OFFSET_UNKNOWN = 100L;
+    private static final long TEST_TEAM_RANK_3 = 1L;
+    private static final String TEST_TEAM_IDS_BAD = "[\"ABC\"]";
+    private static final TeamChange TEST_TEAM_CHANGE = new TeamChange(TEST_TEAM_1.id(), 0L, TEST_SCORE_4,
+            TEST_SCORE_1);
+    private static final Duration TEST_STREAM_TIMEOUT = Duration.ofSeconds(5);
+    private static final Range<@NonNull Long> TEST_LEADERBOARD_RANGE = Range.closed(TEST_LEADERBOARD_OFFSET,
+            TEST_LEADERBOARD_OFFSET + TEST_LEADERBOARD_LIMIT - 1);
 
     private static final Flux<TypedTuple<@NonNull Team>> MOCK_TUPLE_FLUX = Flux.just(TypedTuple.of(TEST_TEAM_4, TEST_SCORE_1),
             TypedTuple.of(TEST_TEAM_3, TEST_SCORE_2), TypedTuple.of(TEST_TEAM_2, TEST_SCORE_3),
@@ -71,6 +95,9 @@ class TeamHandlerTests extends HandlersTestsBase {
             new TeamTuple(TEST_TEAM_1, TEST_SCORE_4));
     private static final List<TeamTuple> EXPECTED_TEAM_TUPLE_RANGED_LIST = List
             .of(new TeamTuple(TEST_TEAM_3, TEST_SCORE_2), new TeamTuple(TEST_TEAM_2, TEST_SCORE_3));
+    private static final List<RankedTeamTuple> EXPECTED_RANKED_TEAM_TUPLE_LIST = List.of(
+            new RankedTeamTuple(TEST_LEADERBOARD_OFFSET, TEST_TEAM_2, TEST_SCORE_3),
+            new RankedTeamTuple(TEST_LEADERBOARD_OFFSET + 1, TEST_TEAM_3, TEST_SCORE_2));
 
     private static final String TEAM_TUPLE_LIST_NULL_ERR_MSG = "List of team tuples is null";
     private static final String RANK_NULL_ERR_MSG = "Rank is null";
@@ -78,6 +105,12 @@ class TeamHandlerTests extends HandlersTestsBase {
     private static final String TEAM_ID_ERR_MSG = "Bad id of the team";
     private static final String SCORE_ERR_MSG = "Bad score";
     private static final String TEAM_RANK_ERR_MSG = "Bad rank of the team";
+    private static final String RANKED_TEAM_TUPLE_LIST_ERR_MSG = "Bad ranked team tuple list";
+    private static final String TEAM_RANK_MAP_ERR_MSG = "Bad team rank map";
+    private static final String SCORE_INGESTION_STATISTICS_NULL_ERR_MSG = "Score ingestion statistics is null";
+    private static final String ACCEPTED_COUNT_ERR_MSG = "Bad accepted count";
+    private static final long APPLY_TIMEOUT_MILLIS = 5_000;
+    private static final String TEAM_CHANGE_ERR_MSG = "Bad team change";
 
     /**
      * Should get the list of {@link Team}s.
@@ -96,6 +129,24 @@ class TeamHandlerTests extends HandlersTestsBase {
         logger.info("shouldGetTeams():");
     }
 
+    /**
+     * Should get the stream of {@link Team}s as server-sent events.
+     */
+    @Test
+    void shouldGetTeamsStream() {
+        // GIVEN
+        Mockito.when(reactiveZSetOperations.scan(TEAMS_KEY)).thenReturn(MOCK_TUPLE_FLUX);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(GET_TEAMS_PATH).accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+        checkTeamTuples(EXPECTED_TEAM_TUPLE_LIST,
+                responseSpec.returnResult(TeamTuple.class).getResponseBody().collectList().block());
+        logger.info("shouldGetTeamsStream():");
+    }
+
     /**
      * Should get the range of {@link Team}s by score.
      */
@@ -134,6 +185,107 @@ class TeamHandlerTests extends HandlersTestsBase {
         logger.info("shouldGetTeamRankById():");
     }
 
+    /**
+     * Should get the ranks of many {@link Team}s by {@link Team} ids.
+     * <p>
+     * The duplicated id is looked up once and the unknown {@link Team} is left out.
+     * </p>
+     */
+    @Test
+    void shouldGetTeamRanksByIds() {
+        // GIVEN
+        Mockito.when(reactiveZSetOperations.score(TEAMS_KEY, TEST_TEAM_1, TEST_TEAM_3, TEST_TEAM_UNKNOWN))
+                .thenReturn(Mono.just(Arrays.asList(TEST_SCORE_4, TEST_SCORE_2, null)));
+        Mockito.when(reactiveZSetOperations.rank(TEAMS_KEY, TEST_TEAM_1)).thenReturn(Mono.just(TEST_TEAM_RANK));
+        Mockito.when(reactiveZSetOperations.rank(TEAMS_KEY, TEST_TEAM_3)).thenReturn(Mono.just(TEST_TEAM_RANK_3));
+        Mockito.when(reactiveZSetOperations.rank(TEAMS_KEY, TEST_TEAM_UNKNOWN)).thenReturn(Mono.empty());
+        final Map<Integer, TeamRank> expectedTeamRankMap = Map.of(
+                TEST_TEAM_1.id(), new TeamRank(TEST_TEAM_RANK, TEST_SCORE_4),
+                TEST_TEAM_3.id(), new TeamRank(TEST_TEAM_RANK_3, TEST_SCORE_2));
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.post().uri(POST_TEAM_RANKS_PATH)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(TEST_TEAM_1.id(), TEST_TEAM_3.id(), TEST_TEAM_UNKNOWN.id(), TEST_TEAM_1.id()))
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBody(new ParameterizedTypeReference<Map<Integer, TeamRank>>() {
+        }).value(map -> Assertions.assertEquals(expectedTeamRankMap, map, TEAM_RANK_MAP_ERR_MSG));
+        Mockito.verify(reactiveZSetOperations).rank(TEAMS_KEY, TEST_TEAM_1);
+        logger.info("shouldGetTeamRanksByIds():");
+    }
+
+    /**
+     * Should accept the {@link Team} score increments, apply them with ZINCRBY
+     * and report them in the ingestion statistics.
+     */
+    @Test
+    void shouldAcceptTeamScoreIncrements() {
+        // GIVEN
+        Mockito.when(reactiveZSetOperations.incrementScore(Mockito.eq(TEAMS_KEY), Mockito.any(Team.class),
+                Mockito.anyDouble())).thenAnswer(invocation -> Mono.just(invocation.<Double>getArgument(2)));
+        final List<ScoreIncrement> scoreIncrements = List.of(new ScoreIncrement(TEST_TEAM_1.id(), TEST_SCORE_1),
+                new ScoreIncrement(TEST_TEAM_1.id(), TEST_SCORE_2));
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.post().uri(POST_TEAM_SCORES_PATH)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(scoreIncrements)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isAccepted();
+        webTestClient.get().uri(GET_TEAM_SCORES_STATISTICS_PATH).accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody(ScoreIngestionStatistics.class).value(statistics -> {
+                    Assertions.assertNotNull(statistics, SCORE_INGESTION_STATISTICS_NULL_ERR_MSG);
+                    Assertions.assertTrue(statistics.acceptedCount() >= scoreIncrements.size(),
+                            ACCEPTED_COUNT_ERR_MSG);
+                });
+        // the increments of one request are coalesced into one ZINCRBY command
+        Mockito.verify(reactiveZSetOperations, Mockito.timeout(APPLY_TIMEOUT_MILLIS))
+                .incrementScore(TEAMS_KEY, TEST_TEAM_1, TEST_SCORE_1 + TEST_SCORE_2);
+        logger.info("shouldAcceptTeamScoreIncrements():");
+    }
+
+    /**
+     * Should get the stream of the {@link TeamChange}s as server-sent events.
+     */
+    @Test
+    void shouldGetTeamChangesStream() {
+        // GIVEN
+        Mockito.doReturn(Flux.just(new ChannelMessage<>(TEAM_CHANGES_CHANNEL, new TeamChange[]{TEST_TEAM_CHANGE}))
+                .concatWith(Flux.never())).when(teamChangeOperations).listenToChannel(TEAM_CHANGES_CHANNEL);
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(GET_TEAM_CHANGES_PATH)
+                .accept(MediaType.TEXT_EVENT_STREAM).exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+        Assertions.assertEquals(TEST_TEAM_CHANGE, responseSpec.returnResult(TeamChange.class).getResponseBody()
+                .blockFirst(TEST_STREAM_TIMEOUT), TEAM_CHANGE_ERR_MSG);
+        logger.info("shouldGetTeamChangesStream():");
+    }
+
+    /**
+     * Should get the page of the {@link Team} leaderboard.
+     */
+    @Test
+    void shouldGetTeamsLeaderboard() {
+        // GIVEN
+        Mockito.when(reactiveZSetOperations.reverseRangeWithScores(TEAMS_KEY, TEST_LEADERBOARD_RANGE))
+                .thenReturn(Flux.just(TypedTuple.of(TEST_TEAM_2, TEST_SCORE_3),
+                        TypedTuple.of(TEST_TEAM_3, TEST_SCORE_2)));
+        // WHEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_TEAMS_LEADERBOARD_PATH)
+                .queryParam(OFFSET_VAR, TEST_LEADERBOARD_OFFSET).queryParam(LIMIT_VAR, TEST_LEADERBOARD_LIMIT)
+                .build();
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isOk();
+        responseSpec.expectBodyList(RankedTeamTuple.class).value(list -> Assertions
+                .assertEquals(EXPECTED_RANKED_TEAM_TUPLE_LIST, list, RANKED_TEAM_TUPLE_LIST_ERR_MSG));
+        logger.info("shouldGetTeamsLeaderboard():");
+    }
+
     /**
      * Should not get the list of {@link Team}s and get status 'Not Found'.
      */
@@ -217,6 +369,126 @@ class TeamHandlerTests extends HandlersTestsBase {
         logger.info("shouldNotGetTeamRankByBadIdAndGetStatusBadRequest():");
     }
 
+    /**
+     * Should not get the page of the {@link Team} leaderboard beyond the last {@link Team}
+     * and get status 'Not Found'.
+     */
+    @Test
+    void shouldNotGetTeamsLeaderboardBeyondLastTeamAndGetStatusNotFound() {
+        // GIVEN
+        final Range<@NonNull Long> range = Range.closed(TEST_LEADERBOARD_OFFSET_UNKNOWN,
+                TEST_LEADERBOARD_OFFSET_UNKNOWN + DEFAULT_LEADERBOARD_LIMIT - 1);
+        Mockito.when(reactiveZSetOperations.reverseRangeWithScores(TEAMS_KEY, range)).thenReturn(Flux.empty());
+        // WHEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_TEAMS_LEADERBOARD_PATH)
+                .queryParam(OFFSET_VAR, TEST_LEADERBOARD_OFFSET_UNKNOWN).build();
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isNotFound();
+        logger.info("shouldNotGetTeamsLeaderboardBeyondLastTeamAndGetStatusNotFound():");
+    }
+
+    /**
+     * Should not get the page of the {@link Team} leaderboard with the bad limit and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotGetTeamsLeaderboardWithBadLimitAndGetStatusBadRequest() {
+        // GIVEN
+        // WHEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_TEAMS_LEADERBOARD_PATH)
+                .queryParam(LIMIT_VAR, MAX_LEADERBOARD_LIMIT + 1).build();
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetTeamsLeaderboardWithBadLimitAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not get the page of the {@link Team} leaderboard with the offset overflowing the page end
+     * and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotGetTeamsLeaderboardWithOverflowingOffsetAndGetStatusBadRequest() {
+        // GIVEN
+        final Function<UriBuilder, URI> uriFunction = uriBuilder -> uriBuilder.path(GET_TEAMS_LEADERBOARD_PATH)
+                .queryParam(OFFSET_VAR, Long.MAX_VALUE).queryParam(LIMIT_VAR, MAX_LEADERBOARD_LIMIT).build();
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.get().uri(uriFunction).accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetTeamsLeaderboardWithOverflowingOffsetAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not get the ranks of the unknown {@link Team}s and get status 'Not Found'.
+     */
+    @Test
+    void shouldNotGetTeamRanksByUnknownIdsAndGetStatusNotFound() {
+        // GIVEN
+        Mockito.when(reactiveZSetOperations.score(TEAMS_KEY, TEST_TEAM_UNKNOWN))
+                .thenReturn(Mono.just(Arrays.asList((Double) null)));
+        Mockito.when(reactiveZSetOperations.rank(TEAMS_KEY, TEST_TEAM_UNKNOWN)).thenReturn(Mono.empty());
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.post().uri(POST_TEAM_RANKS_PATH)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(TEST_TEAM_UNKNOWN.id()))
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isNotFound();
+        logger.info("shouldNotGetTeamRanksByUnknownIdsAndGetStatusNotFound():");
+    }
+
+    /**
+     * Should not get the ranks of the {@link Team}s by the bad ids and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotGetTeamRanksByBadIdsAndGetStatusBadRequest() {
+        // GIVEN
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.post().uri(POST_TEAM_RANKS_PATH)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+                .bodyValue(TEST_TEAM_IDS_BAD)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetTeamRanksByBadIdsAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not get the ranks of the {@link Team}s by the empty id list and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotGetTeamRanksByEmptyIdsAndGetStatusBadRequest() {
+        // GIVEN
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.post().uri(POST_TEAM_RANKS_PATH)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotGetTeamRanksByEmptyIdsAndGetStatusBadRequest():");
+    }
+
+    /**
+     * Should not accept the {@link Team} score increment with the bad {@link Team} id and get status 'Bad Request'.
+     */
+    @Test
+    void shouldNotAcceptTeamScoreIncrementWithBadTeamIdAndGetStatusBadRequest() {
+        // GIVEN
+        final List<ScoreIncrement> scoreIncrements = List.of(new ScoreIncrement(0, TEST_SCORE_1));
+        // WHEN
+        final ResponseSpec responseSpec = webTestClient.post().uri(POST_TEAM_SCORES_PATH)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(scoreIncrements)
+                .exchange();
+        // THEN
+        responseSpec.expectStatus().isBadRequest();
+        logger.info("shouldNotAcceptTeamScoreIncrementWithBadTeamIdAndGetStatusBadRequest():");
+    }
+
     /**
      * Checks the {@link TeamTuple} list.
      *
@@ -10,8 +10,11 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 
 /**
  * The base class for the handler tests.
+ * <p>
+ * The listener of the Redis keyspace notifications is disabled, there is no Redis server in the tests.
+ * </p>
  */
-@SpringBootTest
+@SpringBootTest(properties = "company.cache.listener-enabled=false")
 public class HandlersTestsBase {
     /**
      * The {@link RouterFunction}.
@@ -1,15 +1,23 @@
 package kp.company.handlers.base;
 
 import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.services.DepartmentCache;
 import org.jspecify.annotations.NonNull;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static kp.Constants.VALUE_SCAN_OPTIONS;
+import java.util.Collection;
+import java.util.List;
+
 import static kp.TestConstants.*;
 
 /**
@@ -17,6 +25,8 @@ import static kp.TestConstants.*;
  * <ul>
  * <li>{@link ReactiveRedisOperations}</li>
  * <li>{@link ReactiveValueOperations}</li>
+ * <li>{@link ReactiveHashOperations} for the {@link Employee} index</li>
+ * <li>{@link ReactiveHashOperations} and {@link ReactiveZSetOperations} for the {@link Department} name indexes</li>
  * </ul>
  * <p>
  * The handler tests are designed to be run as integration tests (not as unit tests),
@@ -37,16 +47,65 @@ public abstract class ValueOperationsTestsBase extends HandlersTestsBase {
     @MockitoBean
     protected ReactiveValueOperations<@NonNull String, @NonNull Department> reactiveValueOperations;
 
+    /**
+     * The {@link ReactiveHashOperations} for the {@link Employee} index.
+     */
+    @MockitoBean
+    protected ReactiveHashOperations<String, String, Employee> employeeIndexOperations;
+
+    /**
+     * The {@link ReactiveHashOperations} for the {@link Department} name index.
+     */
+    @MockitoBean
+    protected ReactiveHashOperations<String, String, String> nameIndexOperations;
+
+    /**
+     * The {@link ReactiveHashOperations} for the listing versions.
+     */
+    @MockitoBean(name = LISTING_VERSIONS_OPERATIONS_BEAN)
+    protected ReactiveHashOperations<String, String, String> listingVersionsOperations;
+
+    /**
+     * The {@link ReactiveZSetOperations} for the {@link Department} name lexicographical index.
+     */
+    @MockitoBean
+    protected ReactiveZSetOperations<String, String> nameLexIndexOperations;
+
+    /**
+     * The {@link DepartmentCache}.
+     */
+    @Autowired
+    protected DepartmentCache departmentCache;
+
     /**
      * Initializes the test.
+     * <p>
+     * The {@link Employee} index is absent, so the {@link Employee}s are searched in the {@link Department}s.
+     * The {@link DepartmentCache} is cleared, it is shared by the tests.
+     * </p>
      */
     protected void initialize() {
 
+        departmentCache.invalidateAll();
         Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(reactiveValueOperations);
-        Mockito.when(reactiveRedisOperations.scan(VALUE_SCAN_OPTIONS))
+        Mockito.when(reactiveRedisOperations.scan(Mockito.any(ScanOptions.class)))
                 .thenReturn(Flux.just(TEST_DEP_KEY_1, TEST_DEP_KEY_2));
         Mockito.when(reactiveValueOperations.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(EXPECTED_DEPARTMENT_1));
         Mockito.when(reactiveValueOperations.get(TEST_DEP_KEY_2)).thenReturn(Mono.just(EXPECTED_DEPARTMENT_2));
+        Mockito.when(reactiveValueOperations.multiGet(List.of(TEST_DEP_KEY_1, TEST_DEP_KEY_2)))
+                .thenReturn(Mono.just(List.of(EXPECTED_DEPARTMENT_1, EXPECTED_DEPARTMENT_2)));
+        Mockito.when(employeeIndexOperations.get(Mockito.anyString(), Mockito.anyString())).thenReturn(Mono.empty());
+        Mockito.when(employeeIndexOperations.size(Mockito.anyString())).thenReturn(Mono.just(0L));
+        Mockito.when(employeeIndexOperations.putAll(Mockito.anyString(), Mockito.anyMap()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(nameIndexOperations.get(Mockito.anyString(), Mockito.anyString())).thenReturn(Mono.empty());
+        Mockito.when(nameIndexOperations.putAll(Mockito.anyString(), Mockito.anyMap())).thenReturn(Mono.just(true));
+        Mockito.when(listingVersionsOperations.get(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.empty());
+        Mockito.when(listingVersionsOperations.putAll(Mockito.anyString(), Mockito.anyMap()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(nameLexIndexOperations.addAll(Mockito.anyString(), Mockito.anyCollection()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<Collection<?>>getArgument(1).size()));
     }
 
 }
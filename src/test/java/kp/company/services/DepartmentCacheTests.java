@@ -0,0 +1,235 @@
+package kp.company.services;
+
+import kp.TestProperties;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.CacheStatistics;
+import kp.company.domain.Department;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveServerCommands;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static kp.TestConstants.*;
+
+/**
+ * The {@link DepartmentCache} tests.
+ */
+class DepartmentCacheTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String KEYSPACE_CHANNEL = "__keyspace@0__:" + TEST_DEP_KEY_1;
+    private static final String HIT_COUNT_ERR_MSG = "Bad hit count";
+    private static final String MISS_COUNT_ERR_MSG = "Bad miss count";
+    private static final String INVALIDATION_COUNT_ERR_MSG = "Bad invalidation count";
+    private static final String COALESCED_COUNT_ERR_MSG = "Bad coalesced count";
+    private static final String FLAGS_ERR_MSG = "Bad notification flags check";
+    private static final String NOTIFY_KEYSPACE_EVENTS_PARAM = "notify-keyspace-events";
+    private static final long TIMEOUT_MILLIS = 5_000;
+    private static final int HOT_KEY_CALLER_COUNT = 50;
+
+    private ReactiveRedisOperations<@NonNull String, @NonNull Department> reactiveRedisOperations;
+    private ReactiveValueOperations<@NonNull String, @NonNull Department> reactiveValueOperations;
+
+    /**
+     * Executed before each test.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+
+        reactiveRedisOperations = Mockito.mock(ReactiveRedisOperations.class);
+        reactiveValueOperations = Mockito.mock(ReactiveValueOperations.class);
+        Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(reactiveValueOperations);
+        Mockito.when(reactiveValueOperations.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(EXPECTED_DEPARTMENT_1));
+    }
+
+    /**
+     * Should read the {@link Department} from Redis once and then from the cache.
+     */
+    @Test
+    void shouldCacheDepartmentAfterFirstRead() {
+        // GIVEN
+        final DepartmentCache departmentCache = createDepartmentCache(false);
+        // WHEN
+        final Department first = departmentCache.get(TEST_DEP_KEY_1).block();
+        final Department second = departmentCache.get(TEST_DEP_KEY_1).block();
+        // THEN
+        Assertions.assertEquals(EXPECTED_DEPARTMENT_1, first);
+        Assertions.assertEquals(EXPECTED_DEPARTMENT_1, second);
+        Mockito.verify(reactiveValueOperations, Mockito.times(1)).get(TEST_DEP_KEY_1);
+        final CacheStatistics statistics = departmentCache.statistics();
+        Assertions.assertEquals(1, statistics.hitCount(), HIT_COUNT_ERR_MSG);
+        Assertions.assertEquals(1, statistics.missCount(), MISS_COUNT_ERR_MSG);
+        logger.info("shouldCacheDepartmentAfterFirstRead():");
+    }
+
+    /**
+     * Should invalidate the cached {@link Department} on the keyspace notification.
+     */
+    @Test
+    void shouldInvalidateDepartmentOnKeyspaceEvent() {
+        // GIVEN
+        final DepartmentCache departmentCache = createDepartmentCache(false);
+        departmentCache.get(TEST_DEP_KEY_1).block();
+        // WHEN
+        departmentCache.handleKeyspaceEvent(KEYSPACE_CHANNEL);
+        departmentCache.get(TEST_DEP_KEY_1).block();
+        // THEN
+        Mockito.verify(reactiveValueOperations, Mockito.times(2)).get(TEST_DEP_KEY_1);
+        Assertions.assertEquals(1, departmentCache.statistics().invalidationCount(), INVALIDATION_COUNT_ERR_MSG);
+        logger.info("shouldInvalidateDepartmentOnKeyspaceEvent():");
+    }
+
+    /**
+     * Should not cache the {@link Department} read while it was invalidated.
+     */
+    @Test
+    void shouldNotCacheDepartmentInvalidatedDuringRead() {
+        // GIVEN
+        final DepartmentCache departmentCache = createDepartmentCache(false);
+        Mockito.when(reactiveValueOperations.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(EXPECTED_DEPARTMENT_1)
+                .doOnSubscribe(_ -> departmentCache.handleKeyspaceEvent(KEYSPACE_CHANNEL)));
+        // WHEN
+        departmentCache.get(TEST_DEP_KEY_1).block();
+        departmentCache.get(TEST_DEP_KEY_1).block();
+        // THEN
+        Mockito.verify(reactiveValueOperations, Mockito.times(2)).get(TEST_DEP_KEY_1);
+        logger.info("shouldNotCacheDepartmentInvalidatedDuringRead():");
+    }
+
+    /**
+     * Should bypass the cache while the listener of the keyspace notifications is not subscribed.
+     */
+    @Test
+    void shouldBypassCacheWithoutListenerSubscription() {
+        // GIVEN
+        final DepartmentCache departmentCache = createDepartmentCache(true);
+        // WHEN
+        departmentCache.get(TEST_DEP_KEY_1).block();
+        departmentCache.get(TEST_DEP_KEY_1).block();
+        // THEN
+        Mockito.verify(reactiveValueOperations, Mockito.times(2)).get(TEST_DEP_KEY_1);
+        Assertions.assertFalse(departmentCache.statistics().coherent());
+        logger.info("shouldBypassCacheWithoutListenerSubscription():");
+    }
+
+    /**
+     * Should read the hot {@link Department} from Redis once for the concurrent callers.
+     */
+    @Test
+    void shouldCoalesceConcurrentReadsOfHotKey() {
+        // GIVEN
+        final DepartmentCache departmentCache = createDepartmentCache(false);
+        final Sinks.One<Department> readSink = Sinks.one();
+        Mockito.when(reactiveValueOperations.get(TEST_DEP_KEY_1)).thenReturn(readSink.asMono());
+        // WHEN
+        IntStream.range(0, HOT_KEY_CALLER_COUNT).forEach(_ -> departmentCache.get(TEST_DEP_KEY_1).subscribe());
+        readSink.tryEmitValue(EXPECTED_DEPARTMENT_1).orThrow();
+        // THEN
+        Mockito.verify(reactiveValueOperations, Mockito.times(1)).get(TEST_DEP_KEY_1);
+        Assertions.assertEquals(HOT_KEY_CALLER_COUNT - 1, departmentCache.statistics().singleFlight().coalescedCount(),
+                COALESCED_COUNT_ERR_MSG);
+        Assertions.assertEquals(EXPECTED_DEPARTMENT_1, departmentCache.get(TEST_DEP_KEY_1).block());
+        Mockito.verify(reactiveValueOperations, Mockito.times(1)).get(TEST_DEP_KEY_1);
+        logger.info("shouldCoalesceConcurrentReadsOfHotKey():");
+    }
+
+    /**
+     * Should not subscribe the listener and keep bypassing the cache when the server has the keyspace
+     * notifications disabled.
+     */
+    @Test
+    void shouldBypassCacheWhenNotificationsAreDisabledOnServer() {
+        // GIVEN
+        final ReactiveRedisConnectionFactory connectionFactory = Mockito.mock(ReactiveRedisConnectionFactory.class);
+        final ReactiveRedisConnection connection = Mockito.mock(ReactiveRedisConnection.class);
+        final ReactiveServerCommands serverCommands = Mockito.mock(ReactiveServerCommands.class);
+        final Properties properties = new Properties();
+        properties.setProperty(NOTIFY_KEYSPACE_EVENTS_PARAM, "");
+        Mockito.when(connectionFactory.getReactiveConnection()).thenReturn(connection);
+        Mockito.when(connection.serverCommands()).thenReturn(serverCommands);
+        Mockito.when(connection.closeLater()).thenReturn(Mono.empty());
+        Mockito.when(serverCommands.getConfig(NOTIFY_KEYSPACE_EVENTS_PARAM)).thenReturn(Mono.just(properties));
+        final DepartmentCache departmentCache = createDepartmentCache(true, connectionFactory);
+        // WHEN
+        departmentCache.startListener();
+        // THEN
+        try {
+            Mockito.verify(serverCommands, Mockito.timeout(TIMEOUT_MILLIS)).getConfig(NOTIFY_KEYSPACE_EVENTS_PARAM);
+            departmentCache.get(TEST_DEP_KEY_1).block();
+            departmentCache.get(TEST_DEP_KEY_1).block();
+            Mockito.verify(reactiveValueOperations, Mockito.times(2)).get(TEST_DEP_KEY_1);
+            Assertions.assertFalse(departmentCache.statistics().coherent());
+        } finally {
+            departmentCache.destroy();
+        }
+        logger.info("shouldBypassCacheWhenNotificationsAreDisabledOnServer():");
+    }
+
+    /**
+     * Should check the flags of 'notify-keyspace-events'.
+     */
+    @Test
+    void shouldCheckNotificationFlags() {
+        // GIVEN
+        final String hashFlags = "Kg$hxe";
+        // WHEN
+        // THEN
+        Assertions.assertTrue(DepartmentCache.hasNotificationFlags("Kg$hxe", hashFlags), FLAGS_ERR_MSG);
+        Assertions.assertTrue(DepartmentCache.hasNotificationFlags("AK", hashFlags), FLAGS_ERR_MSG);
+        Assertions.assertTrue(DepartmentCache.hasNotificationFlags("xeK$hg", hashFlags), FLAGS_ERR_MSG);
+        Assertions.assertFalse(DepartmentCache.hasNotificationFlags("", hashFlags), FLAGS_ERR_MSG);
+        Assertions.assertFalse(DepartmentCache.hasNotificationFlags("AE", hashFlags), FLAGS_ERR_MSG);
+        Assertions.assertFalse(DepartmentCache.hasNotificationFlags("Kg$xe", hashFlags), FLAGS_ERR_MSG);
+        logger.info("shouldCheckNotificationFlags():");
+    }
+
+    /**
+     * Creates the {@link DepartmentCache}.
+     * <p>
+     * The listener is never started.
+     * </p>
+     *
+     * @param listenerEnabled the flag enabling the listener
+     * @return the {@link DepartmentCache}
+     */
+    private DepartmentCache createDepartmentCache(boolean listenerEnabled) {
+        return createDepartmentCache(listenerEnabled, Mockito.mock(ReactiveRedisConnectionFactory.class));
+    }
+
+    /**
+     * Creates the {@link DepartmentCache} with the {@link ReactiveRedisConnectionFactory}.
+     *
+     * @param listenerEnabled   the flag enabling the listener
+     * @param connectionFactory the {@link ReactiveRedisConnectionFactory}
+     * @return the {@link DepartmentCache}
+     */
+    @SuppressWarnings("unchecked")
+    private DepartmentCache createDepartmentCache(boolean listenerEnabled,
+                                                  ReactiveRedisConnectionFactory connectionFactory) {
+
+        final CompanyProperties companyProperties = TestProperties.create(
+                Map.of("company.cache.listener-enabled", listenerEnabled));
+        final DepartmentStore departmentStore = new DepartmentStore(reactiveRedisOperations,
+                Mockito.mock(ReactiveHashOperations.class), Mockito.mock(ReactiveListOperations.class),
+                companyProperties);
+        return new DepartmentCache(departmentStore, connectionFactory, companyProperties);
+    }
+}
@@ -0,0 +1,228 @@
+package kp.company.services;
+
+import kp.TestProperties;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.Department;
+import kp.company.domain.Employee;
+import kp.company.domain.EmployeePage;
+import kp.company.services.DepartmentStore.EmployeeFilter;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static kp.Constants.*;
+import static kp.TestConstants.*;
+
+/**
+ * The {@link DepartmentStore} tests for the 'hash' layout.
+ */
+class DepartmentStoreTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String EMPLOYEES_KEY = DEP_EMPLOYEES_KEY_FUN.apply(TEST_DEP_KEY_1);
+    private static final String EMPLOYEES_TEMPORARY_KEY = DEP_MIGRATION_KEY_FUN.apply(EMPLOYEES_KEY);
+    private static final String WRONG_TYPE_MSG = "WRONGTYPE Operation against a key holding the wrong kind of value";
+    private static final String DEPARTMENT_ERR_MSG = "Bad department";
+    private static final String MIGRATION_COUNT_ERR_MSG = "Bad migration count";
+
+    private ReactiveRedisOperations<@NonNull String, @NonNull Department> departmentOperations;
+    private ReactiveValueOperations<@NonNull String, @NonNull Department> valueOperations;
+    private ReactiveHashOperations<String, String, String> fieldOperations;
+    private ReactiveListOperations<String, Employee> employeeListOperations;
+    private DepartmentStore departmentStore;
+
+    /**
+     * Executed before each test.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+
+        departmentOperations = Mockito.mock(ReactiveRedisOperations.class);
+        valueOperations = Mockito.mock(ReactiveValueOperations.class);
+        fieldOperations = Mockito.mock(ReactiveHashOperations.class);
+        employeeListOperations = Mockito.mock(ReactiveListOperations.class);
+        Mockito.when(departmentOperations.opsForValue()).thenReturn(valueOperations);
+        final CompanyProperties companyProperties = TestProperties.create(Map.of("company.redis.layout", "hash"));
+        departmentStore = new DepartmentStore(departmentOperations, fieldOperations, employeeListOperations,
+                companyProperties);
+    }
+
+    /**
+     * Should read the {@link Department} from its hash and its {@link Employee} list.
+     */
+    @Test
+    void shouldGetDepartmentFromHashAndList() {
+        // GIVEN
+        Mockito.when(fieldOperations.get(TEST_DEP_KEY_1, DEP_NAME_FIELD))
+                .thenReturn(Mono.just(EXPECTED_DEPARTMENT_1.name()));
+        Mockito.when(employeeListOperations.range(EMPLOYEES_KEY, 0, -1))
+                .thenReturn(Flux.fromIterable(EXPECTED_DEPARTMENT_1.employees()));
+        // WHEN
+        final Department department = departmentStore.get(TEST_DEP_KEY_1).block();
+        // THEN
+        Assertions.assertEquals(EXPECTED_DEPARTMENT_1, department, DEPARTMENT_ERR_MSG);
+        Mockito.verifyNoInteractions(valueOperations);
+        logger.info("shouldGetDepartmentFromHashAndList():");
+    }
+
+    /**
+     * Should read the {@link Department} not yet migrated from its string value when the hash read fails
+     * with WRONGTYPE.
+     */
+    @Test
+    void shouldGetDepartmentNotYetMigratedFromStringValue() {
+        // GIVEN
+        Mockito.when(fieldOperations.get(TEST_DEP_KEY_1, DEP_NAME_FIELD))
+                .thenReturn(Mono.error(new InvalidDataAccessApiUsageException(WRONG_TYPE_MSG)));
+        Mockito.when(employeeListOperations.range(EMPLOYEES_KEY, 0, -1)).thenReturn(Flux.empty());
+        Mockito.when(valueOperations.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(EXPECTED_DEPARTMENT_1));
+        // WHEN
+        final Department department = departmentStore.get(TEST_DEP_KEY_1).block();
+        // THEN
+        Assertions.assertEquals(EXPECTED_DEPARTMENT_1, department, DEPARTMENT_ERR_MSG);
+        logger.info("shouldGetDepartmentNotYetMigratedFromStringValue():");
+    }
+
+    /**
+     * Should read only the {@link Employee}s of the page with LRANGE.
+     */
+    @Test
+    void shouldGetEmployeePageWithRange() {
+        // GIVEN
+        final List<Employee> employees = EXPECTED_DEPARTMENT_1.employees();
+        Mockito.when(fieldOperations.hasKey(TEST_DEP_KEY_1, DEP_NAME_FIELD)).thenReturn(Mono.just(true));
+        Mockito.when(employeeListOperations.size(EMPLOYEES_KEY)).thenReturn(Mono.just((long) employees.size()));
+        Mockito.when(employeeListOperations.range(EMPLOYEES_KEY, 1, 1))
+                .thenReturn(Flux.fromIterable(employees.subList(1, 2)));
+        // WHEN
+        final EmployeePage employeePage = departmentStore
+                .getEmployeePage(TEST_DEP_KEY_1, EmployeeFilter.NONE, 1, 1).block();
+        // THEN
+        Assertions.assertNotNull(employeePage, EMP_LIST_NULL_ERR_MSG);
+        Assertions.assertEquals(employees.size(), employeePage.total(), EMP_LIST_SIZE_ERR_MSG);
+        Assertions.assertEquals(employees.subList(1, 2), employeePage.employees(), EMP_LIST_CONTENT_ERR_MSG);
+        Mockito.verify(employeeListOperations, Mockito.never()).range(EMPLOYEES_KEY, 0, -1);
+        logger.info("shouldGetEmployeePageWithRange():");
+    }
+
+    /**
+     * Should get the filtered page of {@link Employee}s without the total and without LLEN.
+     */
+    @Test
+    void shouldGetFilteredEmployeePageWithoutTotal() {
+        // GIVEN
+        final List<Employee> employees = EXPECTED_DEPARTMENT_1.employees();
+        final Employee expectedEmployee = employees.get(1);
+        final EmployeeFilter filter = new EmployeeFilter(expectedEmployee.firstName(), "");
+        Mockito.when(fieldOperations.hasKey(TEST_DEP_KEY_1, DEP_NAME_FIELD)).thenReturn(Mono.just(true));
+        Mockito.when(employeeListOperations.range(EMPLOYEES_KEY, 0, EMPLOYEE_RANGE_CHUNK - 1))
+                .thenReturn(Flux.fromIterable(employees));
+        // WHEN
+        final EmployeePage employeePage = departmentStore.getEmployeePage(TEST_DEP_KEY_1, filter, 0, 1).block();
+        // THEN
+        Assertions.assertNotNull(employeePage, EMP_LIST_NULL_ERR_MSG);
+        Assertions.assertNull(employeePage.total(), EMP_LIST_SIZE_ERR_MSG);
+        Assertions.assertEquals(List.of(expectedEmployee), employeePage.employees(), EMP_LIST_CONTENT_ERR_MSG);
+        Mockito.verify(employeeListOperations, Mockito.never()).size(EMPLOYEES_KEY);
+        logger.info("shouldGetFilteredEmployeePageWithoutTotal():");
+    }
+
+    /**
+     * Should read the filtered {@link Employee}s chunk by chunk and stop reading when the page is complete.
+     */
+    @Test
+    void shouldFindFilteredEmployeesChunkByChunk() {
+        // GIVEN
+        final List<Employee> firstChunk = IntStream.range(0, (int) EMPLOYEE_RANGE_CHUNK)
+                .mapToObj(Employee::fromIndex).toList();
+        final Employee expectedEmployee = firstChunk.get(firstChunk.size() - 1);
+        final EmployeeFilter filter = new EmployeeFilter(expectedEmployee.firstName().toLowerCase(Locale.ROOT), "");
+        Mockito.when(fieldOperations.hasKey(TEST_DEP_KEY_1, DEP_NAME_FIELD)).thenReturn(Mono.just(true));
+        Mockito.when(employeeListOperations.range(EMPLOYEES_KEY, 0, EMPLOYEE_RANGE_CHUNK - 1))
+                .thenReturn(Flux.fromIterable(firstChunk));
+        // WHEN
+        final List<Employee> employees = departmentStore.findEmployees(TEST_DEP_KEY_1, filter, 0, 1)
+                .collectList().block();
+        // THEN
+        Assertions.assertEquals(List.of(expectedEmployee), employees, EMP_LIST_CONTENT_ERR_MSG);
+        Mockito.verify(employeeListOperations, Mockito.never())
+                .range(EMPLOYEES_KEY, EMPLOYEE_RANGE_CHUNK, 2 * EMPLOYEE_RANGE_CHUNK - 1);
+        logger.info("shouldFindFilteredEmployeesChunkByChunk():");
+    }
+
+    /**
+     * Should write the {@link Employee} list under the temporary key and rename it before the hash
+     * of the {@link Department} is written.
+     */
+    @Test
+    void shouldWriteEmployeeListBeforeHash() {
+        // GIVEN
+        mockHashWrites();
+        // WHEN
+        departmentStore.putAll(List.of(Map.entry(TEST_DEP_KEY_1, EXPECTED_DEPARTMENT_1))).block();
+        // THEN
+        final InOrder inOrder = Mockito.inOrder(employeeListOperations, departmentOperations, fieldOperations);
+        inOrder.verify(employeeListOperations).delete(EMPLOYEES_TEMPORARY_KEY);
+        inOrder.verify(employeeListOperations)
+                .rightPushAll(EMPLOYEES_TEMPORARY_KEY, EXPECTED_DEPARTMENT_1.employees());
+        inOrder.verify(departmentOperations).rename(EMPLOYEES_TEMPORARY_KEY, EMPLOYEES_KEY);
+        inOrder.verify(fieldOperations).put(TEST_DEP_KEY_1, DEP_NAME_FIELD, EXPECTED_DEPARTMENT_1.name());
+        Mockito.verify(employeeListOperations, Mockito.never()).delete(EMPLOYEES_KEY);
+        logger.info("shouldWriteEmployeeListBeforeHash():");
+    }
+
+    /**
+     * Should migrate the string value to the hash written under the temporary key and renamed.
+     */
+    @Test
+    void shouldMigrateStringValueToHash() {
+        // GIVEN
+        final String migrationKey = DEP_MIGRATION_KEY_FUN.apply(TEST_DEP_KEY_1);
+        mockHashWrites();
+        Mockito.when(departmentOperations.scan(Mockito.any(ScanOptions.class))).thenReturn(Flux.just(TEST_DEP_KEY_1));
+        Mockito.when(valueOperations.get(TEST_DEP_KEY_1)).thenReturn(Mono.just(EXPECTED_DEPARTMENT_1));
+        // WHEN
+        final Long count = departmentStore.migrate().block();
+        // THEN
+        Assertions.assertEquals(1L, count, MIGRATION_COUNT_ERR_MSG);
+        final InOrder inOrder = Mockito.inOrder(fieldOperations, departmentOperations);
+        inOrder.verify(departmentOperations).rename(EMPLOYEES_TEMPORARY_KEY, EMPLOYEES_KEY);
+        inOrder.verify(fieldOperations).put(migrationKey, DEP_NAME_FIELD, EXPECTED_DEPARTMENT_1.name());
+        inOrder.verify(departmentOperations).rename(migrationKey, TEST_DEP_KEY_1);
+        logger.info("shouldMigrateStringValueToHash():");
+    }
+
+    /**
+     * Mocks the writes of the 'hash' layout.
+     */
+    private void mockHashWrites() {
+
+        Mockito.when(employeeListOperations.delete(Mockito.anyString())).thenReturn(Mono.just(true));
+        Mockito.when(employeeListOperations.rightPushAll(Mockito.anyString(), Mockito.<List<Employee>>any()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<Employee>>getArgument(1).size()));
+        Mockito.when(fieldOperations.put(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(departmentOperations.rename(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.just(true));
+    }
+}
@@ -0,0 +1,106 @@
+package kp.company.services;
+
+import kp.company.domain.SingleFlightStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link SingleFlight} tests.
+ */
+class SingleFlightTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String TEST_KEY = "key";
+    private static final String TEST_VALUE = "value";
+    private static final int CALLER_COUNT = 100;
+    private static final String READ_COUNT_ERR_MSG = "Bad read count";
+    private static final String VALUES_ERR_MSG = "Bad values";
+    private static final String CALL_COUNT_ERR_MSG = "Bad call count";
+    private static final String COALESCED_COUNT_ERR_MSG = "Bad coalesced count";
+    private static final String IN_FLIGHT_COUNT_ERR_MSG = "Bad in-flight count";
+
+    /**
+     * Should share one read among the callers arriving before its completion
+     * and remove the read on its completion.
+     */
+    @Test
+    void shouldCoalesceConcurrentCallsForSameKey() {
+        // GIVEN
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(true);
+        final Sinks.One<String> readSink = Sinks.one();
+        final AtomicInteger readCount = new AtomicInteger();
+        final List<String> values = new CopyOnWriteArrayList<>();
+        // WHEN
+        IntStream.range(0, CALLER_COUNT).forEach(_ -> singleFlight.execute(TEST_KEY, _ -> {
+            readCount.incrementAndGet();
+            return readSink.asMono();
+        }).subscribe(values::add));
+        final SingleFlightStatistics inFlightStatistics = singleFlight.statistics();
+        readSink.tryEmitValue(TEST_VALUE).orThrow();
+        // THEN
+        Assertions.assertEquals(1, readCount.get(), READ_COUNT_ERR_MSG);
+        Assertions.assertEquals(1, inFlightStatistics.inFlightCount(), IN_FLIGHT_COUNT_ERR_MSG);
+        Assertions.assertEquals(CALLER_COUNT, values.size(), VALUES_ERR_MSG);
+        final SingleFlightStatistics statistics = singleFlight.statistics();
+        Assertions.assertEquals(CALLER_COUNT, statistics.callCount(), CALL_COUNT_ERR_MSG);
+        Assertions.assertEquals(CALLER_COUNT - 1, statistics.coalescedCount(), COALESCED_COUNT_ERR_MSG);
+        Assertions.assertEquals(0, statistics.inFlightCount(), IN_FLIGHT_COUNT_ERR_MSG);
+        logger.info("shouldCoalesceConcurrentCallsForSameKey():");
+    }
+
+    /**
+     * Should start the fresh read after the completion of the previous one.
+     */
+    @Test
+    void shouldStartFreshReadAfterCompletion() {
+        // GIVEN
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(true);
+        final AtomicInteger readCount = new AtomicInteger();
+        // WHEN
+        IntStream.range(0, 2).forEach(_ -> singleFlight.execute(TEST_KEY, _ -> Mono.fromSupplier(() -> {
+            readCount.incrementAndGet();
+            return TEST_VALUE;
+        })).block());
+        // THEN
+        Assertions.assertEquals(2, readCount.get(), READ_COUNT_ERR_MSG);
+        Assertions.assertEquals(0, singleFlight.statistics().coalescedCount(), COALESCED_COUNT_ERR_MSG);
+        logger.info("shouldStartFreshReadAfterCompletion():");
+    }
+
+    /**
+     * Should start the fresh read after the in-flight read was forgotten.
+     */
+    @Test
+    void shouldStartFreshReadAfterForget() {
+        // GIVEN
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(true);
+        final Sinks.One<String> readSink = Sinks.one();
+        final AtomicInteger readCount = new AtomicInteger();
+        singleFlight.execute(TEST_KEY, _ -> {
+            readCount.incrementAndGet();
+            return readSink.asMono();
+        }).subscribe();
+        // WHEN
+        singleFlight.forget(TEST_KEY);
+        final String value = singleFlight.execute(TEST_KEY, _ -> {
+            readCount.incrementAndGet();
+            return Mono.just(TEST_VALUE);
+        }).block();
+        readSink.tryEmitValue(TEST_VALUE).orThrow();
+        // THEN
+        Assertions.assertEquals(TEST_VALUE, value, VALUES_ERR_MSG);
+        Assertions.assertEquals(2, readCount.get(), READ_COUNT_ERR_MSG);
+        Assertions.assertEquals(0, singleFlight.statistics().inFlightCount(), IN_FLIGHT_COUNT_ERR_MSG);
+        logger.info("shouldStartFreshReadAfterForget():");
+    }
+}
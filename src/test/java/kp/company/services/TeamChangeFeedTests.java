@@ -0,0 +1,196 @@
+package kp.company.services;
+
+import kp.TestProperties;
+import kp.company.configuration.properties.CompanyProperties;
+import kp.company.domain.ScoreIncrement;
+import kp.company.domain.Team;
+import kp.company.domain.TeamChange;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription.ChannelMessage;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link TeamChangeFeed} tests.
+ */
+class TeamChangeFeedTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final TeamChange TEST_CHANGE_1A = new TeamChange(1, 2L, 10d, 1d);
+    private static final TeamChange TEST_CHANGE_2 = new TeamChange(2, 1L, 20d, 5d);
+    private static final TeamChange TEST_CHANGE_1B = new TeamChange(1, 0L, 30d, 20d);
+    private static final TeamChange EXPECTED_CONFLATED_CHANGE_1 = new TeamChange(1, 0L, 30d, 21d);
+    private static final String CHANGES_ERR_MSG = "Bad team changes";
+    private static final String COMPLETED_ERR_MSG = "Bad completion";
+
+    private ReactiveRedisOperations<@NonNull String, @NonNull TeamChange[]> teamChangeOperations;
+    private ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+    private Sinks.Many<ChannelMessage<String, TeamChange[]>> channelSink;
+
+    /**
+     * Executed before each test.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+
+        teamChangeOperations = Mockito.mock(ReactiveRedisOperations.class);
+        reactiveZSetOperations = Mockito.mock(ReactiveZSetOperations.class);
+        channelSink = Sinks.many().multicast().onBackpressureBuffer();
+        Mockito.doReturn(channelSink.asFlux()).when(teamChangeOperations).listenToChannel(TEAM_CHANGES_CHANNEL);
+    }
+
+    /**
+     * Should conflate the changes of the same team while the subscriber is not requesting them.
+     */
+    @Test
+    void shouldConflateChangesForSlowSubscriber() {
+        // GIVEN
+        final TeamChangeFeed teamChangeFeed = createTeamChangeFeed(Integer.MAX_VALUE);
+        final CollectingSubscriber subscriber = new CollectingSubscriber();
+        teamChangeFeed.changes().subscribe(subscriber);
+        // WHEN
+        emit(TEST_CHANGE_1A, TEST_CHANGE_2);
+        emit(TEST_CHANGE_1B);
+        subscriber.request(Long.MAX_VALUE);
+        // THEN
+        Assertions.assertEquals(List.of(EXPECTED_CONFLATED_CHANGE_1, TEST_CHANGE_2), subscriber.teamChanges,
+                CHANGES_ERR_MSG);
+        subscriber.dispose();
+        logger.info("shouldConflateChangesForSlowSubscriber():");
+    }
+
+    /**
+     * Should complete the subscriber that fell behind by too many teams without affecting the other subscriber.
+     */
+    @Test
+    void shouldCompleteSubscriberFallenBehind() {
+        // GIVEN
+        final TeamChangeFeed teamChangeFeed = createTeamChangeFeed(1);
+        final CollectingSubscriber slowSubscriber = new CollectingSubscriber();
+        final CollectingSubscriber fastSubscriber = new CollectingSubscriber();
+        teamChangeFeed.changes().subscribe(slowSubscriber);
+        teamChangeFeed.changes().subscribe(fastSubscriber);
+        fastSubscriber.request(Long.MAX_VALUE);
+        // WHEN
+        emit(TEST_CHANGE_1A, TEST_CHANGE_2);
+        // THEN
+        Assertions.assertTrue(slowSubscriber.completed.get(), COMPLETED_ERR_MSG);
+        Assertions.assertFalse(fastSubscriber.completed.get(), COMPLETED_ERR_MSG);
+        Assertions.assertEquals(List.of(TEST_CHANGE_1A, TEST_CHANGE_2), fastSubscriber.teamChanges, CHANGES_ERR_MSG);
+        fastSubscriber.dispose();
+        logger.info("shouldCompleteSubscriberFallenBehind():");
+    }
+
+    /**
+     * Should publish the applied increments with the ranks and the scores read from Redis.
+     */
+    @Test
+    void shouldPublishChangesWithRanksAndScores() {
+        // GIVEN
+        final TeamChangeFeed teamChangeFeed = createTeamChangeFeed(Integer.MAX_VALUE);
+        final Team team1 = new Team(TEST_CHANGE_1B.teamId());
+        Mockito.when(reactiveZSetOperations.reverseRank(TEAMS_KEY, team1))
+                .thenReturn(Mono.just(TEST_CHANGE_1B.rank()));
+        Mockito.when(reactiveZSetOperations.score(TEAMS_KEY, team1))
+                .thenReturn(Mono.just(List.of(TEST_CHANGE_1B.score())));
+        Mockito.when(teamChangeOperations.convertAndSend(Mockito.eq(TEAM_CHANGES_CHANNEL), Mockito.any()))
+                .thenReturn(Mono.just(1L));
+        // WHEN
+        teamChangeFeed.publish(List.of(new ScoreIncrement(team1.id(), TEST_CHANGE_1B.delta()))).block();
+        // THEN
+        final ArgumentCaptor<TeamChange[]> captor = ArgumentCaptor.forClass(TeamChange[].class);
+        Mockito.verify(teamChangeOperations).convertAndSend(Mockito.eq(TEAM_CHANGES_CHANNEL), captor.capture());
+        Assertions.assertEquals(List.of(TEST_CHANGE_1B), List.of(captor.getValue()), CHANGES_ERR_MSG);
+        logger.info("shouldPublishChangesWithRanksAndScores():");
+    }
+
+    /**
+     * Should not read the ranks and the scores after the PUBLISH reached no subscriber
+     * while the probing PUBLISH reaches no subscriber either.
+     */
+    @Test
+    void shouldSkipRanksWithoutSubscribers() {
+        // GIVEN
+        final TeamChangeFeed teamChangeFeed = createTeamChangeFeed(Integer.MAX_VALUE);
+        final Team team1 = new Team(TEST_CHANGE_1B.teamId());
+        final List<ScoreIncrement> scoreIncrements = List.of(new ScoreIncrement(team1.id(), TEST_CHANGE_1B.delta()));
+        Mockito.when(reactiveZSetOperations.reverseRank(TEAMS_KEY, team1))
+                .thenReturn(Mono.just(TEST_CHANGE_1B.rank()));
+        Mockito.when(reactiveZSetOperations.score(TEAMS_KEY, team1))
+                .thenReturn(Mono.just(List.of(TEST_CHANGE_1B.score())));
+        Mockito.when(teamChangeOperations.convertAndSend(Mockito.eq(TEAM_CHANGES_CHANNEL), Mockito.any()))
+                .thenReturn(Mono.just(0L));
+        teamChangeFeed.publish(scoreIncrements).block();
+        // WHEN
+        teamChangeFeed.publish(scoreIncrements).block();
+        // THEN
+        Mockito.verify(reactiveZSetOperations, Mockito.times(1)).reverseRank(TEAMS_KEY, team1);
+        Mockito.verify(teamChangeOperations).convertAndSend(TEAM_CHANGES_CHANNEL, new TeamChange[0]);
+        logger.info("shouldSkipRanksWithoutSubscribers():");
+    }
+
+    /**
+     * Emits one channel message with the {@link TeamChange}s.
+     *
+     * @param teamChanges the {@link TeamChange}s
+     */
+    private void emit(TeamChange... teamChanges) {
+        channelSink.tryEmitNext(new ChannelMessage<>(TEAM_CHANGES_CHANNEL, teamChanges)).orThrow();
+    }
+
+    /**
+     * Creates the {@link TeamChangeFeed}.
+     *
+     * @param maxConflatedTeams the maximum number of conflated changes
+     * @return the {@link TeamChangeFeed}
+     */
+    private TeamChangeFeed createTeamChangeFeed(int maxConflatedTeams) {
+
+        final CompanyProperties companyProperties = TestProperties.create(
+                Map.of("company.feed.max-conflated-teams", maxConflatedTeams));
+        return new TeamChangeFeed(teamChangeOperations, reactiveZSetOperations, companyProperties);
+    }
+
+    /**
+     * The subscriber collecting the {@link TeamChange}s and requesting nothing until told.
+     */
+    private static class CollectingSubscriber extends BaseSubscriber<TeamChange> {
+        private final List<TeamChange> teamChanges = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // no initial request
+        }
+
+        @Override
+        protected void hookOnNext(TeamChange teamChange) {
+            teamChanges.add(teamChange);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed.set(true);
+        }
+    }
+}
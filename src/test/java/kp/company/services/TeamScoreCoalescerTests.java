@@ -0,0 +1,204 @@
+package kp.company.services;
+
+import kp.TestProperties;
+import kp.company.domain.ScoreIncrement;
+import kp.company.domain.ScoreIngestionStatistics;
+import kp.company.domain.Team;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static kp.Constants.*;
+
+/**
+ * The {@link TeamScoreCoalescer} tests.
+ */
+class TeamScoreCoalescerTests {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final Team TEST_TEAM_1 = new Team(1);
+    private static final Team TEST_TEAM_2 = new Team(2);
+    private static final List<ScoreIncrement> TEST_SCORE_INCREMENTS = List.of(
+            new ScoreIncrement(TEST_TEAM_1.id(), 1d), new ScoreIncrement(TEST_TEAM_1.id(), 2d),
+            new ScoreIncrement(TEST_TEAM_2.id(), 5d), new ScoreIncrement(TEST_TEAM_1.id(), 3d));
+    private static final double EXPECTED_DELTA_1 = 6d;
+    private static final double EXPECTED_DELTA_2 = 5d;
+    private static final String ACCEPTED_ERR_MSG = "Increments not accepted";
+    private static final String REJECTED_ERR_MSG = "Increments not rejected";
+    private static final String APPLIED_COUNT_ERR_MSG = "Bad applied count";
+    private static final String COMMAND_COUNT_ERR_MSG = "Bad command count";
+    private static final String PENDING_COUNT_ERR_MSG = "Bad pending count";
+    private static final String REJECTED_COUNT_ERR_MSG = "Bad rejected count";
+    private static final String FAILED_COUNT_ERR_MSG = "Bad failed count";
+    private static final String COALESCING_RATIO_ERR_MSG = "Bad coalescing ratio";
+    private static final String COMMAND_SENT_ERR_MSG = "Command was not sent";
+    private static final String FLUSH_INTERVAL = "10ms";
+    private static final String DESTROY_DONE_ERR_MSG = "Destroy completed before the flush in progress";
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final long DESTROY_WAIT_MILLIS = 200;
+
+    private ReactiveZSetOperations<String, Team> reactiveZSetOperations;
+    private TeamChangeFeed teamChangeFeed;
+    private ListingVersions listingVersions;
+
+    /**
+     * Executed before each test.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+
+        reactiveZSetOperations = Mockito.mock(ReactiveZSetOperations.class);
+        Mockito.when(reactiveZSetOperations.incrementScore(Mockito.eq(TEAMS_KEY), Mockito.any(Team.class),
+                Mockito.anyDouble())).thenAnswer(invocation -> Mono.just(invocation.<Double>getArgument(2)));
+        teamChangeFeed = Mockito.mock(TeamChangeFeed.class);
+        listingVersions = Mockito.mock(ListingVersions.class);
+        Mockito.when(listingVersions.bump(Mockito.any())).thenReturn(Mono.empty());
+    }
+
+    /**
+     * Should coalesce the increments of the same {@link Team} into one ZINCRBY command
+     * and offer the applied increments to the {@link TeamChangeFeed}.
+     * The version of the {@link Team}s listing should be replaced once per flush with applied increments.
+     */
+    @Test
+    void shouldCoalesceIncrementsOfSameTeam() {
+        // GIVEN
+        final TeamScoreCoalescer teamScoreCoalescer = createTeamScoreCoalescer(TEST_SCORE_INCREMENTS.size());
+        // WHEN
+        final boolean accepted = teamScoreCoalescer.submit(TEST_SCORE_INCREMENTS);
+        teamScoreCoalescer.flush().block();
+        // THEN
+        Assertions.assertTrue(accepted, ACCEPTED_ERR_MSG);
+        Mockito.verify(reactiveZSetOperations).incrementScore(TEAMS_KEY, TEST_TEAM_1, EXPECTED_DELTA_1);
+        Mockito.verify(reactiveZSetOperations).incrementScore(TEAMS_KEY, TEST_TEAM_2, EXPECTED_DELTA_2);
+        final ScoreIngestionStatistics statistics = teamScoreCoalescer.statistics();
+        Assertions.assertEquals(TEST_SCORE_INCREMENTS.size(), statistics.appliedCount(), APPLIED_COUNT_ERR_MSG);
+        Assertions.assertEquals(2, statistics.commandCount(), COMMAND_COUNT_ERR_MSG);
+        Assertions.assertEquals(0, statistics.pendingCount(), PENDING_COUNT_ERR_MSG);
+        Assertions.assertEquals(2d, statistics.coalescingRatio(), COALESCING_RATIO_ERR_MSG);
+        Mockito.verify(teamChangeFeed).offer(Mockito.argThat(scoreIncrements -> scoreIncrements.size() == 2
+                && scoreIncrements.containsAll(List.of(new ScoreIncrement(TEST_TEAM_1.id(), EXPECTED_DELTA_1),
+                new ScoreIncrement(TEST_TEAM_2.id(), EXPECTED_DELTA_2)))));
+        teamScoreCoalescer.flush().block();
+        Mockito.verify(listingVersions).bump(ListingVersions.Listing.TEAMS);
+        logger.info("shouldCoalesceIncrementsOfSameTeam():");
+    }
+
+    /**
+     * Should reject the increments when the pending increments reached their bound.
+     */
+    @Test
+    void shouldRejectIncrementsAbovePendingBound() {
+        // GIVEN
+        final TeamScoreCoalescer teamScoreCoalescer = createTeamScoreCoalescer(TEST_SCORE_INCREMENTS.size());
+        teamScoreCoalescer.submit(TEST_SCORE_INCREMENTS);
+        // WHEN
+        final boolean accepted = teamScoreCoalescer.submit(TEST_SCORE_INCREMENTS);
+        // THEN
+        Assertions.assertFalse(accepted, REJECTED_ERR_MSG);
+        Assertions.assertEquals(TEST_SCORE_INCREMENTS.size(), teamScoreCoalescer.statistics().rejectedCount(),
+                REJECTED_COUNT_ERR_MSG);
+        teamScoreCoalescer.flush().block();
+        Assertions.assertTrue(teamScoreCoalescer.submit(TEST_SCORE_INCREMENTS), ACCEPTED_ERR_MSG);
+        logger.info("shouldRejectIncrementsAbovePendingBound():");
+    }
+
+    /**
+     * Should requeue the increments of the failed ZINCRBY command and apply them with the next flush.
+     */
+    @Test
+    void shouldRequeueIncrementsOfFailedCommand() {
+        // GIVEN
+        final TeamScoreCoalescer teamScoreCoalescer = createTeamScoreCoalescer(TEST_SCORE_INCREMENTS.size());
+        Mockito.when(reactiveZSetOperations.incrementScore(TEAMS_KEY, TEST_TEAM_2, EXPECTED_DELTA_2))
+                .thenReturn(Mono.error(new IllegalStateException("Redis unavailable")))
+                .thenReturn(Mono.just(EXPECTED_DELTA_2));
+        teamScoreCoalescer.submit(TEST_SCORE_INCREMENTS);
+        // WHEN
+        teamScoreCoalescer.flush().block();
+        // THEN
+        Assertions.assertEquals(1, teamScoreCoalescer.statistics().failedCount(), FAILED_COUNT_ERR_MSG);
+        Assertions.assertEquals(1, teamScoreCoalescer.statistics().pendingCount(), PENDING_COUNT_ERR_MSG);
+        teamScoreCoalescer.flush().block();
+        Assertions.assertEquals(0, teamScoreCoalescer.statistics().pendingCount(), PENDING_COUNT_ERR_MSG);
+        Mockito.verify(reactiveZSetOperations, Mockito.times(2))
+                .incrementScore(TEAMS_KEY, TEST_TEAM_2, EXPECTED_DELTA_2);
+        logger.info("shouldRequeueIncrementsOfFailedCommand():");
+    }
+
+    /**
+     * Should let the flush in progress complete on shutdown instead of cancelling it, so its increments
+     * are applied once and not lost.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void shouldAwaitFlushInProgressOnDestroy() throws Exception {
+        // GIVEN
+        final TeamScoreCoalescer teamScoreCoalescer = createTeamScoreCoalescer(Map.of(
+                "company.scores.max-pending-increments", TEST_SCORE_INCREMENTS.size(),
+                "company.scores.flush-interval", FLUSH_INTERVAL));
+        final Sinks.One<Double> commandSink = Sinks.one();
+        final CountDownLatch commandLatch = new CountDownLatch(1);
+        Mockito.when(reactiveZSetOperations.incrementScore(TEAMS_KEY, TEST_TEAM_2, EXPECTED_DELTA_2))
+                .thenAnswer(_ -> {
+                    commandLatch.countDown();
+                    return commandSink.asMono();
+                });
+        teamScoreCoalescer.submit(List.of(new ScoreIncrement(TEST_TEAM_2.id(), EXPECTED_DELTA_2)));
+        teamScoreCoalescer.startFlusher();
+        Assertions.assertTrue(commandLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), COMMAND_SENT_ERR_MSG);
+        // WHEN
+        final CompletableFuture<Void> destroyFuture = CompletableFuture.runAsync(teamScoreCoalescer::destroy);
+        Assertions.assertThrows(TimeoutException.class,
+                () -> destroyFuture.get(DESTROY_WAIT_MILLIS, TimeUnit.MILLISECONDS), DESTROY_DONE_ERR_MSG);
+        commandSink.tryEmitValue(EXPECTED_DELTA_2).orThrow();
+        destroyFuture.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // THEN
+        Mockito.verify(reactiveZSetOperations).incrementScore(TEAMS_KEY, TEST_TEAM_2, EXPECTED_DELTA_2);
+        final ScoreIngestionStatistics statistics = teamScoreCoalescer.statistics();
+        Assertions.assertEquals(1, statistics.appliedCount(), APPLIED_COUNT_ERR_MSG);
+        Assertions.assertEquals(0, statistics.pendingCount(), PENDING_COUNT_ERR_MSG);
+        logger.info("shouldAwaitFlushInProgressOnDestroy():");
+    }
+
+    /**
+     * Creates the {@link TeamScoreCoalescer}.
+     * <p>
+     * The flusher is never started, the tests flush explicitly.
+     * </p>
+     *
+     * @param maxPendingIncrements the maximum number of pending increments
+     * @return the {@link TeamScoreCoalescer}
+     */
+    private TeamScoreCoalescer createTeamScoreCoalescer(long maxPendingIncrements) {
+        return createTeamScoreCoalescer(Map.of("company.scores.max-pending-increments", maxPendingIncrements));
+    }
+
+    /**
+     * Creates the {@link TeamScoreCoalescer} with the given properties.
+     *
+     * @param properties the properties
+     * @return the {@link TeamScoreCoalescer}
+     */
+    private TeamScoreCoalescer createTeamScoreCoalescer(Map<String, Object> properties) {
+
+        return new TeamScoreCoalescer(reactiveZSetOperations, teamChangeFeed, listingVersions,
+                TestProperties.create(properties));
+    }
+}